@@ -0,0 +1,158 @@
+package com.carbonzero.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 결정적인 합성 카탈로그 생성기. 같은 seed 와 크기로 만들면 항상 같은 카테고리와 상품이 나온다.
+ * 상품 이름은 한글과 영문 단어를 섞고, 가격과 탄소 배출량은 오른쪽 꼬리가 긴 로그 정규 분포를 따른다.
+ */
+final class CatalogueGenerator {
+
+    static final String[] KOREAN_ADJECTIVES = {"친환경", "유기농", "무향", "저자극", "대용량", "리필", "천연", "순한",
+        "프리미엄", "데일리", "촉촉한", "산뜻한", "재생", "생분해", "무첨가"};
+    static final String[] KOREAN_NOUNS = {"샴푸", "린스", "바디워시", "칫솔", "치약", "세제", "섬유유연제", "수세미",
+        "텀블러", "빨대", "물티슈", "비누", "로션", "선크림", "주방세제", "행주", "랩", "지퍼백", "기저귀", "생리대"};
+    static final String[] ENGLISH_ADJECTIVES = {"Organic", "Bamboo", "Natural", "Eco", "Green", "Pure", "Fresh",
+        "Gentle", "Recycled", "Zero"};
+    static final String[] ENGLISH_NOUNS = {"Shampoo", "Toothbrush", "Soap", "Tumbler", "Straw", "Detergent", "Lotion",
+        "Cleanser", "Sponge", "Wrap"};
+    static final String[] BRANDS = {"P&G", "LG생활건강", "아모레퍼시픽", "애경", "유한킴벌리", "피죤", "Dr.Bronner's",
+        "Lush", "Aesop", "이솝", "닥터브로너스", "러쉬", "슈가버블", "에코버", "Method", "Seventh Generation",
+        "무인양품", "다이소", "풀무원", "CJ라이온"};
+    static final String[] CATEGORY_ROOTS = {"패션의류/잡화", "뷰티", "출산/유아동", "식품", "주방용품", "생활용품",
+        "홈인테리어", "가전디지털", "스포츠/레저", "반려동물용품"};
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final long seed;
+
+    CatalogueGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 루트 10 개, 루트마다 중분류 5 개, 중분류마다 소분류 4 개인 카테고리 트리. 아이디는 1 부터 부모가 먼저 나온다.
+     */
+    List<CategoryRow> categories() {
+        List<CategoryRow> categories = new ArrayList<>();
+        long id = 1;
+        for (String root : CATEGORY_ROOTS) {
+            long rootId = id++;
+            categories.add(new CategoryRow(rootId, root, null));
+            for (int i = 1; i <= 5; i++) {
+                long middleId = id++;
+                categories.add(new CategoryRow(middleId, root + " " + i, rootId));
+                for (int j = 1; j <= 4; j++) {
+                    categories.add(new CategoryRow(id++, root + " " + i + "-" + j, middleId));
+                }
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * 아이디가 id 인 상품. 다른 상품과 상관없이 아이디만으로 정해지므로 원하는 범위만 따로 만들 수 있다.
+     * 상품은 소분류 카테고리에만 속한다.
+     */
+    ProductRow product(long id, List<CategoryRow> categories) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + id);
+
+        String name = random.nextInt(4) == 0
+            ? pick(random, ENGLISH_ADJECTIVES) + " " + pick(random, ENGLISH_NOUNS) + " " + (100 + random.nextInt(900))
+            : pick(random, KOREAN_ADJECTIVES) + " " + pick(random, KOREAN_NOUNS) + " " + (100 + random.nextInt(900)) + "ml";
+
+        // 루트 하나는 자신과 중분류 5 개, 소분류 20 개로 26 칸을 차지하고, 중분류 하나는 자신과 소분류 4 개로 5 칸을 차지한다.
+        int leaf = random.nextInt(CATEGORY_ROOTS.length * 5 * 4);
+        int middle = leaf / 4;
+        long categoryId = categories.get(middle / 5 * 26 + 1 + middle % 5 * 5 + 1 + leaf % 4).id;
+
+        long price = Math.max(500, Math.round(Math.exp(9.6 + 0.8 * gaussian(random)) / 100) * 100);
+        int carbonEmissions = (int) Math.min(5000, Math.round(Math.exp(4.5 + 1.0 * gaussian(random))));
+        boolean isEcoFriendly = random.nextInt(10) < 3;
+        boolean isActive = random.nextInt(50) != 0;
+
+        int imageCount = random.nextInt(4);
+        List<String> imageLink = new ArrayList<>(imageCount);
+        for (int i = 1; i <= imageCount; i++) {
+            imageLink.add("https://cdn.carbonzero.com/products/" + id + "/" + i + ".jpg");
+        }
+
+        LocalDateTime createAt = EPOCH.plusMinutes(id);
+        return new ProductRow(id, name, pick(random, BRANDS), price,
+            name + " 상품 설명입니다. " + pick(random, KOREAN_ADJECTIVES) + " 제품으로 환경 부담을 줄였습니다.",
+            isActive, isEcoFriendly, carbonEmissions, categoryId, createAt,
+            createAt.plusDays(random.nextInt(30)), imageLink);
+    }
+
+    /**
+     * 검색어로 쓸 단어. 생성기가 쓰는 단어에서 고르므로 항상 결과가 있다.
+     */
+    static String keyword(SplittableRandom random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return pick(random, KOREAN_NOUNS);
+            case 1:
+                return pick(random, KOREAN_ADJECTIVES) + " " + pick(random, KOREAN_NOUNS);
+            default:
+                return pick(random, ENGLISH_NOUNS);
+        }
+    }
+
+    /**
+     * 표준 정규 분포를 따르는 난수 (Box-Muller 변환).
+     */
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static String pick(SplittableRandom random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    static final class CategoryRow {
+        final long id;
+        final String name;
+        final Long parentId;
+
+        CategoryRow(long id, String name, Long parentId) {
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+        }
+    }
+
+    static final class ProductRow {
+        final long id;
+        final String name;
+        final String brand;
+        final long price;
+        final String description;
+        final boolean isActive;
+        final boolean isEcoFriendly;
+        final int carbonEmissions;
+        final long categoryId;
+        final LocalDateTime createAt;
+        final LocalDateTime updateAt;
+        final List<String> imageLink;
+
+        ProductRow(long id, String name, String brand, long price, String description, boolean isActive,
+            boolean isEcoFriendly, int carbonEmissions, long categoryId, LocalDateTime createAt,
+            LocalDateTime updateAt, List<String> imageLink) {
+            this.id = id;
+            this.name = name;
+            this.brand = brand;
+            this.price = price;
+            this.description = description;
+            this.isActive = isActive;
+            this.isEcoFriendly = isEcoFriendly;
+            this.carbonEmissions = carbonEmissions;
+            this.categoryId = categoryId;
+            this.createAt = createAt;
+            this.updateAt = updateAt;
+            this.imageLink = imageLink;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.carbonzero.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.carbonzero.benchmark.CatalogueGenerator.CategoryRow;
+import com.carbonzero.benchmark.CatalogueGenerator.ProductRow;
+
+/**
+ * 합성 카탈로그를 JDBC 배치로 데이터베이스에 넣는다. 스키마는 Hibernate 가 만든 것을 그대로 쓴다.
+ */
+final class CatalogueSeeder {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogueGenerator generator;
+
+    CatalogueSeeder(JdbcTemplate jdbcTemplate, CatalogueGenerator generator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.generator = generator;
+    }
+
+    void seed(int size) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2020, 1, 1, 0, 0));
+
+        List<CategoryRow> categories = generator.categories();
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (CategoryRow category : categories) {
+            categoryRows.add(new Object[] {category.id, now, now, true, category.name, category.parentId});
+        }
+        jdbcTemplate.batchUpdate("insert into category (id, create_at, update_at, is_active, name, parent_id)"
+            + " values (?, ?, ?, ?, ?, ?)", categoryRows);
+
+        List<Object[]> productRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> imageRows = new ArrayList<>(BATCH_SIZE * 2);
+        for (long id = 1; id <= size; id++) {
+            ProductRow product = generator.product(id, categories);
+            productRows.add(new Object[] {product.id, Timestamp.valueOf(product.createAt),
+                Timestamp.valueOf(product.updateAt), product.name, product.brand, product.price, product.description,
+                product.isActive, product.isEcoFriendly, product.carbonEmissions, product.categoryId});
+            for (String link : product.imageLink) {
+                imageRows.add(new Object[] {product.id, link});
+            }
+
+            if (productRows.size() == BATCH_SIZE || id == size) {
+                jdbcTemplate.batchUpdate("insert into product (id, create_at, update_at, name, brand, price,"
+                    + " description, is_active, is_eco_friendly, carbon_emissions, category_id)"
+                    + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", productRows);
+                jdbcTemplate.batchUpdate("insert into product_image_link (product_id, image_link) values (?, ?)",
+                    imageRows);
+                productRows.clear();
+                imageRows.clear();
+            }
+        }
+
+        // 시퀀스와 IDENTITY 가 이미 넣은 아이디와 겹치지 않도록 뒤로 민다.
+        jdbcTemplate.execute("alter sequence product_seq restart with " + (size + 1));
+        jdbcTemplate.execute("alter table category alter column id restart with " + (categories.size() + 1));
+        jdbcTemplate.execute("analyze");
+    }
+}
@@ -0,0 +1,49 @@
+package com.carbonzero.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.dto.CategoryResponseData;
+import com.carbonzero.mapper.CategoryMapper;
+
+/**
+ * 카테고리 트리를 재귀적으로 응답 dto 로 바꾸는 비용. 카테고리 500 개(10 x 7 x 6)짜리 트리를 사용한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoryConversionBenchmark {
+
+    private CategoryMapper categoryMapper;
+    private List<Category> roots;
+
+    @Setup
+    public void setUp() {
+        categoryMapper = Mappers.getMapper(CategoryMapper.class);
+        roots = Fixtures.categoryTree(10, 7, 6);
+    }
+
+    @Benchmark
+    public List<CategoryResponseData> toResponseData() {
+        return roots.stream()
+            .map(categoryMapper::toResponseData)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.carbonzero.benchmark;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.ReflectionUtils;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+
+/**
+ * 벤치마크용 데이터. 실제 상품 등록 화면에서 들어오는 크기를 흉내 낸다.
+ */
+final class Fixtures {
+
+    private static final LocalDateTime CREATE_AT = LocalDateTime.of(2021, 6, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static Category category(long id, String name) {
+        return Category.builder()
+            .id(id)
+            .name(name)
+            .isActive(true)
+            .subCategoryList(new ArrayList<>())
+            .build();
+    }
+
+    static Product product(long id, Category category) {
+        Product product = Product.builder()
+            .id(id)
+            .name("헤드앤숄더 시트러스 레몬 샴푸 " + id)
+            .brand("P&G")
+            .price(17500L + id)
+            .description("미세 클렌징 성분으로 과도한 두피 유분을 제거하고 상쾌한 시트러스 향으로 마무리하는 샴푸입니다.")
+            .isActive(true)
+            .isEcoFriendly(id % 2 == 0)
+            .carbonEmissions((int) (100 + id % 50))
+            .category(category)
+            .imageLink(List.of(
+                "https://cdn.carbonzero.com/products/" + id + "/main.jpg",
+                "https://cdn.carbonzero.com/products/" + id + "/detail-1.jpg",
+                "https://cdn.carbonzero.com/products/" + id + "/detail-2.jpg"))
+            .build();
+        // 감사 필드는 저장할 때 채워지므로 직접 넣는다.
+        setField(product, "createAt", CREATE_AT);
+        setField(product, "updateAt", CREATE_AT.plusDays(id));
+        return product;
+    }
+
+    static List<Product> products(int size) {
+        Category category = category(1L, "샴푸/린스");
+        List<Product> products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            products.add(product(id, category));
+        }
+        return products;
+    }
+
+    /**
+     * 각 단계의 자식 수를 곱해 가며 만든 카테고리 트리의 루트 목록.
+     * 예를 들어 {10, 7, 6} 이면 10 + 70 + 420 = 500 개의 카테고리가 만들어진다.
+     */
+    static List<Category> categoryTree(int... fanOuts) {
+        List<Category> roots = new ArrayList<>();
+        long[] nextId = {1};
+        for (int i = 0; i < fanOuts[0]; i++) {
+            roots.add(categoryTree(fanOuts, 1, nextId));
+        }
+        return roots;
+    }
+
+    private static Category categoryTree(int[] fanOuts, int depth, long[] nextId) {
+        Category category = category(nextId[0]++, "카테고리 " + nextId[0]);
+        if (depth < fanOuts.length) {
+            for (int i = 0; i < fanOuts[depth]; i++) {
+                category.getSubCategoryList().add(categoryTree(fanOuts, depth + 1, nextId));
+            }
+        }
+        return category;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,74 @@
+package com.carbonzero.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.mapper.ProductMapper;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+
+/**
+ * 상품 엔티티를 응답 dto 로 바꾸는 비용.
+ * 예전에 ProductController.create 가 쓰던 Dozer 의 리플렉션 매핑과 MapStruct 가 생성한 ProductMapper 를 비교한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+    private Mapper mapper;
+    private ProductMapper productMapper;
+    private Product product;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        // App 에 등록되어 있던 매퍼와 같은 설정
+        mapper = DozerBeanMapperBuilder.buildDefault();
+        productMapper = Mappers.getMapper(ProductMapper.class);
+        product = Fixtures.product(1L, Fixtures.category(1L, "샴푸/린스"));
+        page = Fixtures.products(20);
+    }
+
+    @Benchmark
+    public ProductResponseData dozerMap() {
+        return mapper.map(product, ProductResponseData.class);
+    }
+
+    @Benchmark
+    public ProductResponseData mapStructMap() {
+        return productMapper.toResponseData(product);
+    }
+
+    @Benchmark
+    public List<ProductResponseData> dozerMapPage() {
+        return page.stream()
+            .map(product -> mapper.map(product, ProductResponseData.class))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ProductResponseData> mapStructMapPage() {
+        return page.stream()
+            .map(productMapper::toResponseData)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,118 @@
+package com.carbonzero.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.carbonzero.App;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.ProductQueryRepository;
+import com.carbonzero.repository.ProductRepository;
+
+/**
+ * 상품 목록 한 페이지를 읽는 비용.
+ * 엔티티를 불러와 응답 dto 로 바꾸던 방식과 ProductQueryRepository 의 생성자 표현식 조회를 비교한다.
+ * 엔티티 방식은 예전 요청처럼 읽기 전용이 아닌 트랜잭션에서 불러오므로 변경 감지용 스냅샷과 지연 로딩 컬렉션까지 만든다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm(연산당 바이트)으로 비교하며, 같은 JVM 에서 도는 H2 의 할당도 들어 있다.
+ * 앞쪽 PAGES 개 페이지만 읽어 OFFSET 으로 건너뛰는 행이 결과를 좌우하지 않게 한다.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhInclude=ProductReadBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductReadBenchmark {
+
+    private static final long SEED = 20210601L;
+    private static final int SIZE = 10_000;
+    private static final int PAGES = 10;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductQueryRepository productQueryRepository;
+    private ProductMapper productMapper;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(App.class)
+            .run("--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:product-read;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+
+        new CatalogueSeeder(context.getBean(JdbcTemplate.class), new CatalogueGenerator(SEED)).seed(SIZE);
+
+        productRepository = context.getBean(ProductRepository.class);
+        productQueryRepository = context.getBean(ProductQueryRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        random = new SplittableRandom(SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Product 엔티티 한 페이지를 불러와 ProductMapper 로 바꾼다. 이미지 링크는 상품마다 지연 로딩된다.
+     */
+    @Benchmark
+    public List<ProductResponseData> entityPage() {
+        Pageable pageable = pageable();
+        return readWrite.execute(status -> productRepository.findAll(pageable)
+            .map(productMapper::toResponseData)
+            .getContent());
+    }
+
+    /**
+     * ProductQueryRepository 로 응답 dto 한 페이지를 바로 만든다. 이미지 링크는 한 번의 IN 쿼리로 채운다.
+     */
+    @Benchmark
+    public List<ProductResponseData> projectionPage() {
+        Pageable pageable = pageable();
+        return readOnly.execute(status -> productQueryRepository.findAll(pageable).getContent());
+    }
+
+    private Pageable pageable() {
+        return PageRequest.of(random.nextInt(PAGES), pageSize, Sort.by(Sort.Direction.DESC, "id"));
+    }
+}
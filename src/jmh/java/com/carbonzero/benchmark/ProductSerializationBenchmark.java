@@ -0,0 +1,86 @@
+package com.carbonzero.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.mapper.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+
+/**
+ * 상품 응답 직렬화 비용. application.yaml 과 같은 SNAKE_CASE ObjectMapper 와
+ * GET /products 의 PagedResourcesAssembler 감싸기를 20 개짜리 페이지로 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PagedResourcesAssembler<ProductResponseData> assembler;
+    private ProductResponseData product;
+    private Page<ProductResponseData> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .propertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE)
+            .build();
+        // 요청 컨텍스트가 없으므로 링크의 기준 주소를 직접 준다.
+        assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(),
+            UriComponentsBuilder.fromUriString("http://localhost:8080/products").build());
+
+        List<ProductResponseData> content = Fixtures.products(20).stream()
+            .map(Mappers.getMapper(ProductMapper.class)::toResponseData)
+            .collect(Collectors.toList());
+        product = content.get(0);
+        page = new PageImpl<>(content, PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "createAt")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page.getContent());
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<ProductResponseData>> assemblePage() {
+        return assembler.toModel(page);
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(assembler.toModel(page));
+    }
+}
@@ -0,0 +1,86 @@
+package com.carbonzero.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.carbonzero.App;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.search.CountStrategy;
+import com.carbonzero.service.ProductSearchService;
+
+/**
+ * 데이터베이스 검색의 전체 건수 전략별 지연 시간.
+ * EXACT 는 페이지 쿼리 뒤에 count 쿼리를 실행하고, PARALLEL 은 다른 커넥션에서 count 쿼리를 동시에 실행한다.
+ * 검색어가 있으면 두 쿼리 모두 카탈로그를 훑으므로, PARALLEL 의 지연 시간은 두 쿼리의 합 대신 큰 쪽에 가까워야 한다.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhInclude=SearchCountBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchCountBenchmark {
+
+    private static final long SEED = 20210601L;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"EXACT", "PARALLEL"})
+    public CountStrategy strategy;
+
+    private ConfigurableApplicationContext context;
+    private ProductSearchService productSearchService;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(App.class)
+            .run("--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:search-count-" + size + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+
+        new CatalogueSeeder(context.getBean(JdbcTemplate.class), new CatalogueGenerator(SEED)).seed(size);
+
+        productSearchService = context.getBean(ProductSearchService.class);
+        random = new SplittableRandom(SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductResponseData> search() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword(CatalogueGenerator.keyword(random));
+        request.setCountStrategy(strategy);
+        return productSearchService.search(request);
+    }
+}
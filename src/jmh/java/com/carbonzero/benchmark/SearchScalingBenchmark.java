@@ -0,0 +1,167 @@
+package com.carbonzero.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.carbonzero.App;
+import com.carbonzero.category.CategoryClosures;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.SuggestionResponseData;
+import com.carbonzero.recommend.ProductRecommender;
+import com.carbonzero.search.ProductColumns;
+import com.carbonzero.search.ProductSuggester;
+import com.carbonzero.service.ProductSearchService;
+import com.carbonzero.service.ProductServiceImpl;
+
+/**
+ * 카탈로그 크기에 따른 데이터베이스 조회 성능.
+ * MySQL(MariaDB) 호환 모드의 H2 에 결정적인 합성 카탈로그를 size 개 넣고, HTTP 를 거치지 않고 서비스를 직접 호출한다.
+ * 처리량과 함께 SampleTime 모드로 p50/p99 지연 시간을 JSON 결과에 남긴다.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhInclude=SearchScalingBenchmark -PjmhArgs="-p size=10000,100000 -t 8"
+ * </pre>
+ * 동시성은 -t 로 바꾸며, 500 만 개는 -Xmx 를 넉넉히 주어야 한다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class SearchScalingBenchmark {
+
+    private static final long SEED = 20210601L;
+
+    @Param({"10000", "100000", "1000000", "5000000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ProductSearchService productSearchService;
+    private ProductServiceImpl productService;
+    private ProductRecommender productRecommender;
+    private ProductSuggester productSuggester;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 컨트롤러까지 모두 올리되 요청은 보내지 않으므로 포트는 아무 것이나 쓴다.
+        context = new SpringApplicationBuilder(App.class)
+            .run("--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + size + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+
+        new CatalogueSeeder(context.getBean(JdbcTemplate.class), new CatalogueGenerator(SEED)).seed(size);
+
+        // 시작할 때는 비어 있었으므로 카테고리 클로저와 메모리에 올려 두는 구조를 다시 만든다.
+        context.getBean(CategoryClosures.class).backfill();
+        context.getBean(CategoryTreeCache.class).onApplicationReady();
+        productRecommender = context.getBean(ProductRecommender.class);
+        productRecommender.rebuild();
+        productSuggester = context.getBean(ProductSuggester.class);
+        productSuggester.rebuild();
+        context.getBeanProvider(ProductColumns.class).ifAvailable(ProductColumns::rebuild);
+
+        productSearchService = context.getBean(ProductSearchService.class);
+        productService = context.getBean(ProductServiceImpl.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 스레드마다 따로 쓰는 난수. 스레드마다 다른 seed 를 쓰되 실행할 때마다 같은 순서로 요청한다.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new SplittableRandom(SEED + THREADS.incrementAndGet());
+        }
+
+        long productId(int size) {
+            return 1 + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Page<ProductResponseData> search(Requests requests) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword(CatalogueGenerator.keyword(requests.random));
+        request.setPageNumber(requests.random.nextInt(5));
+        return productSearchService.search(request);
+    }
+
+    /**
+     * 검색어 없이 가격대와 친환경 여부로 거르고 정렬하는 검색.
+     */
+    @Benchmark
+    public Page<ProductResponseData> filter(Requests requests) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        long priceFrom = 5_000L * (1 + requests.random.nextInt(6));
+        request.setPriceFrom(priceFrom);
+        request.setPriceTo(priceFrom * 2);
+        request.setIsEcoFriendly(true);
+        request.setSort(requests.random.nextBoolean() ? "price,asc" : "carbonEmissions,desc");
+        request.setPageNumber(requests.random.nextInt(5));
+        return productSearchService.search(request);
+    }
+
+    @Benchmark
+    public Page<ProductResponseData> list(Requests requests) {
+        int pages = Math.max(1, Math.min(size / 20, 500));
+        return productService.getProducts(
+            PageRequest.of(requests.random.nextInt(pages), 20, Sort.by(Sort.Direction.DESC, "createAt")));
+    }
+
+    @Benchmark
+    public ProductResponseData detail(Requests requests) {
+        return productService.getProductDetail(requests.productId(size));
+    }
+
+    @Benchmark
+    public List<ProductResponseData> recommend(Requests requests) {
+        return productRecommender.recommend(requests.productId(size));
+    }
+
+    /**
+     * 검색어를 한 글자씩 입력하는 중의 자동 완성.
+     */
+    @Benchmark
+    public List<SuggestionResponseData> suggest(Requests requests) {
+        String keyword = CatalogueGenerator.keyword(requests.random);
+        return productSuggester.suggest(keyword.substring(0, 1 + requests.random.nextInt(keyword.length())));
+    }
+}
@@ -0,0 +1,131 @@
+package com.carbonzero.cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * 최대 크기를 넘으면 오래 쓰지 않은 항목부터 내보내는 맵.
+ * 조회와 추가는 ConcurrentHashMap 에서 잠금 없이 하고, 조회할 때는 항목의 마지막 사용 시각만 고친다.
+ * 크기를 넘으면 한 스레드가 모든 항목을 훑어 넘친 수보다 maximumSize / 16 개 더 내보내므로 훑는 비용이 여러 번의 추가에 나뉜다.
+ * 내보내는 동안 다른 스레드는 기다리지 않으므로 잠시 최대 크기를 넘을 수 있고, 내보내는 순서는 근사적인 LRU 이다.
+ */
+class ConcurrentLruMap<K, V> {
+
+    private final int maximumSize;
+    private final int batchSize;
+    private final Map<K, Node<V>> nodes = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder evictionCount = new LongAdder();
+
+    ConcurrentLruMap(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.batchSize = maximumSize / 16;
+    }
+
+    /**
+     * @return 값, 없으면 null
+     */
+    V get(K key) {
+        Node<V> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        node.accessed = System.nanoTime();
+        return node.value;
+    }
+
+    void put(K key, V value) {
+        nodes.put(key, new Node<>(value));
+        evictIfFull();
+    }
+
+    /**
+     * 값이 없거나 replace 가 true 를 반환하면 값을 넣는다.
+     * @param replace 현재 값과 새 값을 받아 바꿀지 정하는 함수
+     */
+    void putIf(K key, V value, BiPredicate<V, V> replace) {
+        nodes.compute(key, (k, current) -> current == null || replace.test(current.value, value)
+            ? new Node<>(value) : current);
+        evictIfFull();
+    }
+
+    void remove(K key) {
+        nodes.remove(key);
+    }
+
+    /**
+     * 현재 값이 value 와 같은 객체일 때만 지운다.
+     */
+    void remove(K key, V value) {
+        nodes.computeIfPresent(key, (k, current) -> current.value == value ? null : current);
+    }
+
+    void clear() {
+        nodes.clear();
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void evictIfFull() {
+        if (nodes.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int count = nodes.size() - maximumSize + batchSize;
+            if (count <= batchSize) {
+                return;
+            }
+            // 마지막 사용 시각이 가장 늦은 후보가 맨 앞에 오므로, count 개를 넘으면 앞에서 빼서 가장 이른 count 개를 남긴다.
+            PriorityQueue<Candidate<K, V>> oldest = new PriorityQueue<>(count + 1,
+                Comparator.comparingLong((Candidate<K, V> candidate) -> candidate.accessed).reversed());
+            for (Map.Entry<K, Node<V>> entry : nodes.entrySet()) {
+                oldest.add(new Candidate<>(entry.getKey(), entry.getValue()));
+                if (oldest.size() > count) {
+                    oldest.poll();
+                }
+            }
+            for (Candidate<K, V> candidate : oldest) {
+                if (nodes.remove(candidate.key, candidate.node)) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static class Node<V> {
+        private final V value;
+        private volatile long accessed = System.nanoTime();
+
+        Node(V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * 내보낼 후보. 훑는 동안 사용 시각이 바뀌어도 순서가 흔들리지 않도록 훑을 때의 값을 쓴다.
+     */
+    private static class Candidate<K, V> {
+        private final K key;
+        private final Node<V> node;
+        private final long accessed;
+
+        Candidate(K key, Node<V> node) {
+            this.key = key;
+            this.node = node;
+            this.accessed = node.accessed;
+        }
+    }
+}
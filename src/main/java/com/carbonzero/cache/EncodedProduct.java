@@ -0,0 +1,42 @@
+package com.carbonzero.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.carbonzero.dto.ProductResponseData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+
+/**
+ * 한 수정 시각의 상품을 직렬화한 UTF-8 JSON. 만들어진 뒤에는 바뀌지 않으며 json 배열도 고치면 안 된다.
+ */
+@Getter
+public class EncodedProduct {
+
+    private final Long id;
+    private final LocalDateTime updateAt;
+    private final byte[] json;
+
+    private EncodedProduct(Long id, LocalDateTime updateAt, byte[] json) {
+        this.id = id;
+        this.updateAt = updateAt;
+        this.json = json;
+    }
+
+    public static EncodedProduct of(ObjectMapper objectMapper, ProductResponseData product) {
+        try {
+            return new EncodedProduct(product.getId(), product.getUpdateAt(), objectMapper.writeValueAsBytes(product));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize product " + product.getId(), exception);
+        }
+    }
+
+    /**
+     * 다른 JSON 보다 오래된 수정 시각의 것인지 여부.
+     */
+    boolean isOlderThan(EncodedProduct other) {
+        return updateAt.isBefore(other.updateAt);
+    }
+}
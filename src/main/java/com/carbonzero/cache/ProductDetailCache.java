@@ -0,0 +1,109 @@
+package com.carbonzero.cache;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.dto.CacheStats;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 상품 상세 조회 결과 캐시.
+ * 불러온 상품 상세를 직렬화한 JSON 바이트로 보관하므로 응답할 때 다시 직렬화하지 않고, ProductJsonCache 에 한 번 더 담지 않는다.
+ * 최근에 조회한 순서로 최대 maximumSize 개 안팎을 보관하고, 넘치면 오래 조회하지 않은 상품부터 내보낸다.
+ * 상품이 수정되거나 삭제되면 해당 상품만, 카테고리가 바뀌면 카테고리 이름이 담긴 모든 상품을 비운다.
+ */
+@Component
+public class ProductDetailCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maximumSize;
+    private final ConcurrentLruMap<Long, EncodedProduct> details;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ProductDetailCache(ObjectMapper objectMapper,
+        @Value("${carbonzero.detail-cache.size:10000}") int maximumSize) {
+        this.objectMapper = objectMapper;
+        this.maximumSize = maximumSize;
+        this.details = new ConcurrentLruMap<>(maximumSize);
+    }
+
+    /**
+     * 캐시된 상품 상세를 반환하고, 없으면 loader 로 불러와 직렬화해서 캐시한다.
+     * @param id 상품 아이디
+     * @param loader 캐시에 없을 때 상품 상세를 불러오는 함수
+     */
+    public EncodedProduct get(Long id, Function<Long, ProductResponseData> loader) {
+        EncodedProduct detail = details.get(id);
+        if (detail != null) {
+            hitCount.increment();
+            return detail;
+        }
+        missCount.increment();
+
+        long loadedGeneration = generation.get();
+        detail = EncodedProduct.of(objectMapper, loader.apply(id));
+        details.put(id, detail);
+        // 불러오는 동안 상품이 바뀌었으면 오래된 상세일 수 있으므로 캐시에서 뺀다.
+        if (generation.get() != loadedGeneration) {
+            details.remove(id, detail);
+        }
+        return detail;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+        details.remove(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * 캐시를 모두 비운다. 통계는 유지한다.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        details.clear();
+    }
+
+    public CacheStats getStats() {
+        return CacheStats.of(details.size(), maximumSize, hitCount.sum(), missCount.sum(),
+            details.getEvictionCount());
+    }
+
+    /**
+     * 상품의 수정 시각으로 만든 ETag. 수정 시각이 없으면 null 이다.
+     */
+    public static String eTag(EncodedProduct detail) {
+        Long lastModified = lastModified(detail);
+        if (lastModified == null) {
+            return null;
+        }
+        return "\"" + detail.getId() + "-" + lastModified + "\"";
+    }
+
+    /**
+     * 상품의 수정 시각(epoch millis). 수정 시각이 없으면 null 이다.
+     */
+    public static Long lastModified(EncodedProduct detail) {
+        if (detail.getUpdateAt() == null) {
+            return null;
+        }
+        return detail.getUpdateAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
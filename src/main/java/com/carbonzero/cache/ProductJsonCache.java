@@ -0,0 +1,118 @@
+package com.carbonzero.cache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.dto.CacheStats;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 상품 응답 JSON 캐시.
+ * 상품마다 ProductResponseData 를 직렬화한 UTF-8 JSON 바이트를 수정 시각과 함께 보관하고,
+ * 수정 시각이 같으면 직렬화하지 않고 보관한 바이트를 쓴다. 목록은 상품마다 바이트를 이어 붙여 JSON 배열로 만든다.
+ * 최근에 쓴 순서로 최대 maximumSize 개 안팎을 보관하고, 상품이 수정되거나 삭제되면 해당 상품만 비운다.
+ * JSON 에는 카테고리 이름이 들어 있지만 상품의 수정 시각은 그대로이므로, 카테고리가 바뀌면 모두 비운다.
+ */
+@Component
+public class ProductJsonCache {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final ObjectMapper objectMapper;
+    private final int maximumSize;
+    private final ConcurrentLruMap<Long, EncodedProduct> encoded;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ProductJsonCache(ObjectMapper objectMapper, @Value("${carbonzero.json-cache.size:5000}") int maximumSize) {
+        this.objectMapper = objectMapper;
+        this.maximumSize = maximumSize;
+        this.encoded = new ConcurrentLruMap<>(maximumSize);
+    }
+
+    /**
+     * 상품의 JSON. 보관한 JSON 의 수정 시각이 상품과 같으면 그대로 반환하고, 다르거나 없으면 직렬화해서 보관한다.
+     * 수정 시각이 없는 상품은 보관하지 않는다. 반환한 배열은 고치면 안 된다.
+     * @param product 상품
+     * @return UTF-8 JSON
+     */
+    public byte[] json(ProductResponseData product) {
+        Long id = product.getId();
+        LocalDateTime updateAt = product.getUpdateAt();
+        if (id == null || updateAt == null) {
+            return EncodedProduct.of(objectMapper, product).getJson();
+        }
+
+        EncodedProduct cached = encoded.get(id);
+        if (cached != null && cached.getUpdateAt().equals(updateAt)) {
+            hitCount.increment();
+            return cached.getJson();
+        }
+        missCount.increment();
+
+        // 직렬화하는 동안 더 최근 수정 시각의 JSON 이 들어왔으면 덮어쓰지 않는다.
+        EncodedProduct serialized = EncodedProduct.of(objectMapper, product);
+        encoded.putIf(id, serialized, (current, candidate) -> !candidate.isOlderThan(current));
+        return serialized.getJson();
+    }
+
+    /**
+     * 상품 목록의 JSON 배열. 상품마다 json(product) 를 순서대로 쉼표로 이어 붙인다.
+     * @param products 상품 목록
+     * @return UTF-8 JSON 배열
+     */
+    public byte[] jsonArray(List<ProductResponseData> products) {
+        if (products.isEmpty()) {
+            return EMPTY_ARRAY.clone();
+        }
+
+        byte[][] elements = new byte[products.size()][];
+        int length = products.size() + 1;
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = json(products.get(i));
+            length += elements[i].length;
+        }
+
+        byte[] array = new byte[length];
+        array[0] = '[';
+        int position = 1;
+        for (byte[] element : elements) {
+            System.arraycopy(element, 0, array, position, element.length);
+            position += element.length;
+            array[position++] = ',';
+        }
+        array[length - 1] = ']';
+        return array;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        encoded.remove(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * 캐시를 모두 비운다. 통계는 유지한다.
+     */
+    public void invalidateAll() {
+        encoded.clear();
+    }
+
+    public CacheStats getStats() {
+        return CacheStats.of(encoded.size(), maximumSize, hitCount.sum(), missCount.sum(),
+            encoded.getEvictionCount());
+    }
+}
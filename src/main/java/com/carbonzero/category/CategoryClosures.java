@@ -0,0 +1,74 @@
+package com.carbonzero.category;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carbonzero.domain.CategoryClosure;
+import com.carbonzero.repository.CategoryClosureRepository;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.CategoryRow;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 카테고리 클로저 테이블을 카테고리 쓰기와 함께 갱신한다.
+ */
+@Slf4j
+@Component
+public class CategoryClosures {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+
+    public CategoryClosures(CategoryRepository categoryRepository,
+        CategoryClosureRepository categoryClosureRepository) {
+        this.categoryRepository = categoryRepository;
+        this.categoryClosureRepository = categoryClosureRepository;
+    }
+
+    /**
+     * 새로 저장한 카테고리를 클로저 테이블에 더한다. 카테고리를 저장한 트랜잭션 안에서 호출한다.
+     * @param categoryId 새 카테고리 아이디
+     * @param parentId 상위 카테고리 아이디, 최상위 카테고리이면 null
+     */
+    public void add(Long categoryId, Long parentId) {
+        categoryClosureRepository.addCategory(categoryId, parentId);
+    }
+
+    /**
+     * 클로저 테이블이 비어 있으면 카테고리의 상위 관계로 채운다. 테이블이 없던 데이터베이스를 위한 것이다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (categoryClosureRepository.count() > 0) {
+            return;
+        }
+        List<CategoryRow> rows = categoryRepository.findAllRows();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> parents = new HashMap<>();
+        for (CategoryRow row : rows) {
+            parents.put(row.getId(), row.getParentId());
+        }
+        List<CategoryClosure> closures = new ArrayList<>();
+        for (Long categoryId : parents.keySet()) {
+            int depth = 0;
+            for (Long ancestorId = categoryId; ancestorId != null && depth <= parents.size();
+                ancestorId = parents.get(ancestorId)) {
+                closures.add(new CategoryClosure(ancestorId, categoryId, depth++));
+            }
+        }
+        categoryClosureRepository.saveAll(closures);
+        log.info("카테고리 {} 개의 클로저 {} 행을 채웠습니다.", rows.size(), closures.size());
+    }
+}
@@ -0,0 +1,42 @@
+package com.carbonzero.category;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.carbonzero.dto.CategoryResponseData;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 한 시점의 카테고리 트리. 만들어진 뒤에는 바뀌지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryTree {
+
+    private final List<CategoryResponseData> roots;
+    private final byte[] json;
+    private final Set<Long> activeCategoryIds;
+    // 카테고리마다 자기 자신과 모든 하위 카테고리의 아이디, 비활성 카테고리도 포함한다.
+    private final Map<Long, Set<Long>> subtrees;
+    // 카테고리 아이디별 이름, 비활성 카테고리도 포함한다.
+    private final Map<Long, String> names;
+
+    public boolean isActive(Long categoryId) {
+        return activeCategoryIds.contains(categoryId);
+    }
+
+    public String name(Long categoryId) {
+        return names.get(categoryId);
+    }
+
+    /**
+     * 카테고리와 모든 하위 카테고리의 아이디. 트리에 없는 카테고리는 자기 자신만 담는다.
+     */
+    public Set<Long> subtree(Long categoryId) {
+        Set<Long> subtree = subtrees.get(categoryId);
+        return subtree != null ? subtree : Set.of(categoryId);
+    }
+}
@@ -0,0 +1,145 @@
+package com.carbonzero.category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.dto.CategoryResponseData;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.CategoryRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 카테고리 트리 스냅샷.
+ * 카테고리는 거의 바뀌지 않으므로 한 번의 쿼리로 트리를 만들어 JSON 과 카테고리별 하위 카테고리 목록까지 미리 만들어 두고,
+ * 카테고리 변경이 커밋되면 새 스냅샷으로 통째로 교체한다. 조회는 잠금 없이 현재 스냅샷을 읽는다.
+ * ApplicationReadyEvent 전에 조회하면 그 자리에서 스냅샷을 만든다.
+ */
+@Component
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private volatile CategoryTree tree;
+
+    public CategoryTreeCache(CategoryRepository categoryRepository, ObjectMapper objectMapper) {
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public CategoryTree getTree() {
+        CategoryTree current = tree;
+        return current != null ? current : build();
+    }
+
+    /**
+     * 최상위 활성 카테고리와 그 하위 카테고리 목록.
+     */
+    public List<CategoryResponseData> getCategories() {
+        return getTree().getRoots();
+    }
+
+    /**
+     * 최상위 카테고리 목록을 미리 직렬화한 JSON.
+     */
+    public byte[] getCategoriesJson() {
+        return getTree().getJson();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        rebuild();
+    }
+
+    private synchronized CategoryTree build() {
+        return tree != null ? tree : rebuild();
+    }
+
+    synchronized CategoryTree rebuild() {
+        List<CategoryRow> rows = categoryRepository.findAllRows();
+
+        Map<Long, List<CategoryRow>> children = new HashMap<>();
+        Set<Long> activeCategoryIds = new HashSet<>();
+        List<CategoryRow> roots = new ArrayList<>();
+        for (CategoryRow row : rows) {
+            if (Boolean.TRUE.equals(row.getIsActive())) {
+                activeCategoryIds.add(row.getId());
+            }
+            if (row.getParentId() == null) {
+                if (Boolean.TRUE.equals(row.getIsActive())) {
+                    roots.add(row);
+                }
+            } else {
+                children.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<CategoryResponseData> categories = new ArrayList<>();
+        for (CategoryRow root : roots) {
+            categories.add(convert(root, children));
+        }
+        categories = Collections.unmodifiableList(categories);
+
+        Map<Long, Set<Long>> subtrees = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        for (CategoryRow row : rows) {
+            Set<Long> subtree = new HashSet<>();
+            addSubtree(subtree, row.getId(), children);
+            subtrees.put(row.getId(), Set.copyOf(subtree));
+            names.put(row.getId(), row.getName());
+        }
+
+        try {
+            CategoryTree rebuilt = new CategoryTree(categories, objectMapper.writeValueAsBytes(categories),
+                Set.copyOf(activeCategoryIds), Map.copyOf(subtrees), Collections.unmodifiableMap(names));
+            tree = rebuilt;
+            return rebuilt;
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to serialize category tree", exception);
+        }
+    }
+
+    private void addSubtree(Set<Long> subtree, Long categoryId, Map<Long, List<CategoryRow>> children) {
+        if (!subtree.add(categoryId)) {
+            return;
+        }
+        for (CategoryRow child : children.getOrDefault(categoryId, List.of())) {
+            addSubtree(subtree, child.getId(), children);
+        }
+    }
+
+    private CategoryResponseData convert(CategoryRow row, Map<Long, List<CategoryRow>> children) {
+        List<CategoryResponseData> subCategoryList = new ArrayList<>();
+        for (CategoryRow child : children.getOrDefault(row.getId(), List.of())) {
+            subCategoryList.add(convert(child, children));
+        }
+
+        return CategoryResponseData.builder()
+            .id(row.getId())
+            .name(row.getName())
+            .codeName(row.getName())
+            .isActive(row.getIsActive())
+            .subCategoryList(Collections.unmodifiableList(subCategoryList))
+            .build();
+    }
+}
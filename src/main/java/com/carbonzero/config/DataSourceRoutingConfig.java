@@ -0,0 +1,72 @@
+package com.carbonzero.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.carbonzero.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 읽기 전용 트랜잭션을 복제본으로 보내는 데이터 소스 설정.
+ * carbonzero.datasource.routing-enabled 가 true 일 때만 등록되고, 아니면 Spring Boot 가 spring.datasource 로 만든 데이터 소스 하나를 쓴다.
+ * primary 는 spring.datasource, 복제본은 carbonzero.datasource.replicas 의 Hikari 설정(jdbc-url, username, password 등)으로 만든다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "carbonzero.datasource.routing-enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * JPA 와 JdbcTemplate 이 쓰는 데이터 소스.
+     * Spring Boot 는 데이터 소스 빈이 생길 때마다 유일한 데이터 소스를 찾으므로, 커넥션 풀을 빈으로 따로 등록하지 않고 여기서 만든다.
+     */
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${carbonzero.datasource.sticky-millis:0}") long stickyMillis,
+        @Value("${carbonzero.datasource.health-check-millis:5000}") long healthCheckMillis,
+        @Value("${carbonzero.datasource.validation-timeout-seconds:1}") int validationTimeoutSeconds) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        // 풀이 빈이 아니라서 Actuator 가 Hikari 지표를 등록하지 않으므로 직접 등록한다.
+        meterRegistry.ifAvailable(registry -> primary.setMetricsTrackerFactory(
+            new MicrometerMetricsTrackerFactory(registry)));
+
+        List<HikariConfig> configs = binder
+            .bind("carbonzero.datasource.replicas", Bindable.listOf(HikariConfig.class))
+            .orElseGet(List::of);
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < configs.size(); i++) {
+            HikariConfig config = configs.get(i);
+            if (config.getPoolName() == null) {
+                config.setPoolName("replica-" + i);
+            }
+            // 복제본이 내려가 있어도 기동하고, 상태 확인이 복구를 알아챌 때까지 primary 에서 읽는다.
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(
+                new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new ReplicaRoutingDataSource.Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, stickyMillis, healthCheckMillis,
+            validationTimeoutSeconds);
+    }
+}
@@ -0,0 +1,61 @@
+package com.carbonzero.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.carbonzero.cache.ProductDetailCache;
+import com.carbonzero.cache.ProductJsonCache;
+import com.carbonzero.dto.CacheStats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 애플리케이션 고유 지표.
+ * HTTP 요청, Hikari 커넥션 풀, Hibernate 통계, JVM 지표는 Actuator 가 등록하고,
+ * 여기서는 Actuator 가 모르는 인메모리 캐시 지표만 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 상품 상세 캐시 지표. Micrometer 캐시 지표와 같은 이름(cache.*)을 쓴다.
+     */
+    @Bean
+    public MeterBinder productDetailCacheMetrics(ProductDetailCache productDetailCache) {
+        return registry -> bindCacheMetrics(registry, "product-detail", productDetailCache::getStats);
+    }
+
+    /**
+     * 상품 응답 JSON 캐시 지표.
+     */
+    @Bean
+    public MeterBinder productJsonCacheMetrics(ProductJsonCache productJsonCache) {
+        return registry -> bindCacheMetrics(registry, "product-json", productJsonCache::getStats);
+    }
+
+    private static void bindCacheMetrics(MeterRegistry registry, String name, Supplier<CacheStats> stats) {
+        Tags tags = Tags.of("cache", name);
+        Gauge.builder("cache.size", stats, supplier -> supplier.get().getSize())
+            .tags(tags)
+            .description("캐시된 상품 수")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", stats, supplier -> supplier.get().getHitCount())
+            .tags(tags.and("result", "hit"))
+            .description("캐시에서 찾은 조회 수")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", stats, supplier -> supplier.get().getMissCount())
+            .tags(tags.and("result", "miss"))
+            .description("캐시에 없어서 불러온 조회 수")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", stats, supplier -> supplier.get().getEvictionCount())
+            .tags(tags)
+            .description("크기 제한으로 내보낸 상품 수")
+            .register(registry);
+    }
+}
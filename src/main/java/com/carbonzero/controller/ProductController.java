@@ -1,9 +1,14 @@
 package com.carbonzero.controller;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Callable;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -11,6 +16,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -23,34 +29,92 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.carbonzero.cache.EncodedProduct;
+import com.carbonzero.cache.ProductDetailCache;
+import com.carbonzero.cache.ProductJsonCache;
+import com.carbonzero.category.CategoryTreeCache;
 import com.carbonzero.domain.Product;
+import com.carbonzero.dto.BulkProductResponseData;
+import com.carbonzero.dto.CacheStats;
 import com.carbonzero.dto.CategoryRequest;
+import com.carbonzero.dto.CursorPage;
+import com.carbonzero.dto.EmissionsStatsResponseData;
+import com.carbonzero.dto.ImportJobResponseData;
 import com.carbonzero.dto.ProductRequestData;
 import com.carbonzero.dto.ProductResponseData;
 import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.SuggestionResponseData;
+import com.carbonzero.emissions.CategoryEmissions;
+import com.carbonzero.error.BulkRequestTooLargeException;
+import com.carbonzero.error.ImportJobNotFoundException;
+import com.carbonzero.export.ExportFormat;
+import com.carbonzero.export.ProductExporter;
+import com.carbonzero.ingest.ImportJob;
+import com.carbonzero.ingest.ProductImporter;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.recommend.ProductRecommender;
+import com.carbonzero.search.ProductSuggester;
+import com.carbonzero.service.ProductBulkService;
 import com.carbonzero.service.ProductSearchService;
 import com.carbonzero.service.ProductServiceImpl;
-import com.github.dozermapper.core.Mapper;
+import com.carbonzero.sql.SqlBudget;
 
 @RestController
 @RequestMapping("/products")
 @CrossOrigin
 public class ProductController {
 
-    private final Mapper mapper;
+    private static final String ASYNC_TIMEOUT_INTERCEPTOR = ProductController.class.getName() + ".asyncTimeout";
+
+    private final ProductMapper productMapper;
     private final ProductServiceImpl productServiceImpl;
     private final ProductSearchService productSearchService;
+    private final ProductBulkService productBulkService;
+    private final ProductExporter productExporter;
+    private final ProductImporter productImporter;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ProductRecommender productRecommender;
+    private final ProductSuggester productSuggester;
+    private final CategoryEmissions categoryEmissions;
+    private final ProductDetailCache productDetailCache;
+    private final ProductJsonCache productJsonCache;
     private final PagedResourcesAssembler<ProductResponseData> assembler;
+    private final int bulkMaxItems;
+    private final long exportTimeoutMillis;
 
-    public ProductController(Mapper mapper, ProductServiceImpl productServiceImpl,
-        ProductSearchService productSearchService, PagedResourcesAssembler<ProductResponseData> assembler) {
-        this.mapper = mapper;
+    public ProductController(ProductMapper productMapper, ProductServiceImpl productServiceImpl,
+        ProductSearchService productSearchService, ProductBulkService productBulkService,
+        ProductExporter productExporter, ProductImporter productImporter, CategoryTreeCache categoryTreeCache,
+        ProductRecommender productRecommender, ProductSuggester productSuggester,
+        CategoryEmissions categoryEmissions, ProductDetailCache productDetailCache, ProductJsonCache productJsonCache,
+        PagedResourcesAssembler<ProductResponseData> assembler,
+        @Value("${carbonzero.bulk.max-items:10000}") int bulkMaxItems,
+        @Value("${carbonzero.export.timeout-millis:1800000}") long exportTimeoutMillis) {
+        this.productMapper = productMapper;
         this.productServiceImpl = productServiceImpl;
         this.productSearchService = productSearchService;
+        this.productBulkService = productBulkService;
+        this.productExporter = productExporter;
+        this.productImporter = productImporter;
+        this.categoryTreeCache = categoryTreeCache;
+        this.productRecommender = productRecommender;
+        this.productSuggester = productSuggester;
+        this.categoryEmissions = categoryEmissions;
+        this.productDetailCache = productDetailCache;
+        this.productJsonCache = productJsonCache;
         this.assembler = assembler;
+        this.bulkMaxItems = bulkMaxItems;
+        this.exportTimeoutMillis = exportTimeoutMillis;
     }
 
     /**
@@ -58,6 +122,7 @@ public class ProductController {
      * @param productRequestData
      * @return 생성된 상품 정보
      */
+    @SqlBudget(5)
     @PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_FORM_URLENCODED_VALUE })
     public ResponseEntity<ProductResponseData> create(@RequestBody @Valid ProductRequestData productRequestData) {
 
@@ -72,17 +137,74 @@ public class ProductController {
         HttpHeaders headers = new HttpHeaders();
         headers.setLocation(location);
 
-        ProductResponseData response = mapper.map(createdProduct, ProductResponseData.class);
+        ProductResponseData response = productMapper.toResponseData(createdProduct);
 
         return ResponseEntity
             .created(location)
             .body(response);
     }
 
+    /**
+     * 상품을 일괄 등록한다. 아이디가 있는 상품은 수정하고, 없는 상품은 새로 생성한다.
+     * 한 번에 carbonzero.bulk.max-items 개보다 많이 보내면 413 을 반환한다. 더 많은 상품은 /import 로 가져온다.
+     * @param productRequestDataList 등록할 상품 목록
+     * @return 요청 순서대로 정렬된 상품별 처리 결과
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkProductResponseData> bulk(@RequestBody List<ProductRequestData> productRequestDataList) {
+        if (productRequestDataList.size() > bulkMaxItems) {
+            throw new BulkRequestTooLargeException(productRequestDataList.size(), bulkMaxItems);
+        }
+        return ResponseEntity
+            .ok()
+            .body(productBulkService.upsert(productRequestDataList));
+    }
+
+    /**
+     * 상품 파일을 가져온다. 파일은 백그라운드에서 처리되며 진행 상황은 응답의 Location 에서 조회한다.
+     * @param file ndjson 또는 csv 파일
+     * @param format ndjson 또는 csv
+     * @return 대기 중인 가져오기 작업
+     */
+    @SqlBudget(0)
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponseData> importProducts(@RequestParam MultipartFile file,
+        @RequestParam(defaultValue = "ndjson") String format) throws IOException {
+        ImportJob job = productImporter.submit(ExportFormat.from(format), file);
+
+        URI location = ServletUriComponentsBuilder
+            .fromCurrentRequest()
+            .path("/{id}")
+            .buildAndExpand(job.getId())
+            .toUri();
+
+        return ResponseEntity
+            .accepted()
+            .location(location)
+            .body(ImportJobResponseData.of(job));
+    }
+
+    /**
+     * 상품 가져오기 작업의 진행 상황과 행 오류를 조회한다.
+     * @param id 작업 아이디
+     * @return
+     */
+    @SqlBudget(0)
+    @GetMapping("/import/{id}")
+    public ResponseEntity<ImportJobResponseData> importJob(@PathVariable String id) {
+        ImportJob job = productImporter.getJob(id)
+            .orElseThrow(() -> new ImportJobNotFoundException(id));
+
+        return ResponseEntity
+            .ok()
+            .body(ImportJobResponseData.of(job));
+    }
+
     /**
      * 상품 목록 조회를 요청한다.
      * @return 상품 리스트
      */
+    @SqlBudget(3)
     @GetMapping
     public ResponseEntity<PagedModel<EntityModel<ProductResponseData>>> list(
         @PageableDefault(size = 20, sort = "createAt", direction = Sort.Direction.DESC) Pageable pageable) {
@@ -99,19 +221,92 @@ public class ProductController {
     }
 
     /**
-     * 특정 상품을 조회한다.
+     * 전체 상품을 내보낸다. 상품을 읽는 대로 응답 본문에 바로 쓴다.
+     * 카탈로그가 크면 오래 걸리므로 이 요청만 carbonzero.export.timeout-millis 까지 기다린다.
+     * @param format ndjson 또는 csv
+     * @return
+     */
+    @SqlBudget(0)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+        HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        setAsyncTimeout(request, exportTimeoutMillis);
+
+        return ResponseEntity
+            .ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                .filename("products." + exportFormat.getExtension())
+                .build()
+                .toString())
+            .body(outputStream -> productExporter.export(exportFormat, outputStream));
+    }
+
+    /**
+     * 이 요청의 비동기 처리 시간 제한을 바꾼다. 다른 요청은 spring.mvc.async.request-timeout 을 따른다.
+     * 스트리밍 응답은 핸들러가 반환한 뒤에 비동기 처리를 시작하므로, 시작하기 직전에 시간 제한을 정한다.
+     */
+    private static void setAsyncTimeout(HttpServletRequest request, long timeoutMillis) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ASYNC_TIMEOUT_INTERCEPTOR,
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                    ((AsyncWebRequest) webRequest).setTimeout(timeoutMillis);
+                }
+            });
+    }
+
+    /**
+     * 상품 목록을 커서 기반으로 조회한다. 최신순(createAt,id 내림차순)으로 정렬된다.
+     * @param cursor 이전 응답의 next_cursor, 첫 페이지이면 생략한다.
+     * @param size 페이지 크기
+     * @return 상품 리스트와 다음 페이지 커서
+     */
+    @SqlBudget(2)
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ProductResponseData>> scroll(
+        @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size) {
+
+        ProductSearchRequest productSearchRequest = new ProductSearchRequest();
+        productSearchRequest.setSort("createAt,desc");
+        productSearchRequest.setPageSize(size);
+        productSearchRequest.setCursor(cursor);
+
+        return ResponseEntity
+            .ok()
+            .body(productSearchService.scroll(productSearchRequest));
+    }
+
+    /**
+     * 특정 상품을 조회한다. 응답에는 수정 시각으로 만든 ETag 와 Last-Modified 가 담기며,
+     * If-None-Match 나 If-Modified-Since 가 일치하면 본문 없이 304 를 반환한다. 본문은 미리 직렬화해 둔 JSON 을 그대로 내려준다.
      * @param id 상품 아이디
      * @return
      */
+    @SqlBudget(2)
     @GetMapping("{id}")
-    public ResponseEntity<ProductResponseData> detail(@PathVariable Long id) {
-        Product product = productServiceImpl.getProduct(id);
+    public ResponseEntity<byte[]> detail(@PathVariable Long id) {
+        EncodedProduct response = productDetailCache.get(id, productServiceImpl::getProductDetail);
 
-        ProductResponseData response = ProductResponseData.convertToProductResponseData(product);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        Long lastModified = ProductDetailCache.lastModified(response);
+        if (lastModified != null) {
+            builder.eTag(ProductDetailCache.eTag(response)).lastModified(lastModified);
+        }
+        return builder.body(response.getJson());
+    }
 
+    /**
+     * 상품 상세 캐시의 적중, 실패, 내보낸 횟수를 조회한다.
+     * @return
+     */
+    @SqlBudget(0)
+    @GetMapping("/detail-cache/stats")
+    public ResponseEntity<CacheStats> detailCacheStats() {
         return ResponseEntity
             .ok()
-            .body(response);
+            .body(productDetailCache.getStats());
     }
 
     /**
@@ -119,6 +314,7 @@ public class ProductController {
      * @param productSearchRequest
      * @return
      */
+    @SqlBudget(3)
     @PostMapping("/search")
     public ResponseEntity<?> search(@RequestBody ProductSearchRequest productSearchRequest) {
         return ResponseEntity
@@ -126,18 +322,32 @@ public class ProductController {
             .body(productSearchService.search(productSearchRequest));
     }
 
+    /**
+     * 상품을 커서 기반으로 검색한다.
+     * @param productSearchRequest 검색 조건, 다음 페이지는 이전 응답의 next_cursor 를 cursor 에 담아 요청한다.
+     * @return 상품 리스트와 다음 페이지 커서
+     */
+    @SqlBudget(2)
+    @PostMapping("/search/scroll")
+    public ResponseEntity<CursorPage<ProductResponseData>> searchScroll(@RequestBody ProductSearchRequest productSearchRequest) {
+        return ResponseEntity
+            .ok()
+            .body(productSearchService.scroll(productSearchRequest));
+    }
+
     /**
      * 상품 정보를 업데이트한다.
      * @param id, productRequestData
      * @return 업데이트 결과
      */
+    @SqlBudget(5)
     @PatchMapping("{id}")
     public ResponseEntity<ProductResponseData> update(@PathVariable Long id, @RequestBody @Valid ProductRequestData productRequestData) {
         Product updatedProduct = productServiceImpl.updateProduct(id, productRequestData);
 
         return ResponseEntity
                 .ok()
-                .body(ProductResponseData.convertToProductResponseData(updatedProduct));
+                .body(productMapper.toResponseData(updatedProduct));
     }
 
     /**
@@ -145,6 +355,7 @@ public class ProductController {
      * @param id
      * @return
      */
+    @SqlBudget(5)
     @DeleteMapping("{id}")
     public ResponseEntity delete(@PathVariable Long id) {
         productServiceImpl.deleteProduct(id);
@@ -154,22 +365,62 @@ public class ProductController {
     }
 
     /**
-     * 추천 상품을 불러온다.
+     * 추천 상품을 불러온다. 상품마다 미리 직렬화해 둔 JSON 을 이어 붙여 배열로 내려준다.
      * @param id
+     * @param excludeCurrent 기준 상품을 추천에서 제외할지 여부, 생략하면 carbonzero.recommend.exclude-current 를 따른다.
      * @return
      */
+    @SqlBudget(2)
     @GetMapping("/recommend/{id}")
-    public ResponseEntity<?> recommend(@PathVariable Long id) {
-        return ResponseEntity.ok().body(productServiceImpl.recommend(id));
+    public ResponseEntity<byte[]> recommend(@PathVariable Long id,
+        @RequestParam(name = "exclude_current", required = false) Boolean excludeCurrent) {
+        List<ProductResponseData> recommendations = excludeCurrent == null
+            ? productRecommender.recommend(id)
+            : productRecommender.recommend(id, excludeCurrent);
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(productJsonCache.jsonArray(recommendations));
     }
 
     /**
-     * 카테고리를 모두 불러온다.
+     * 입력 중인 검색어로 시작하는 상품명과 브랜드를 불러온다.
+     * @param q 입력 중인 검색어
+     * @param size 최대 후보 수, 생략하면 carbonzero.suggest.size 만큼 반환한다.
+     * @return 상품이 많은 순서로 정렬된 자동 완성 후보
+     */
+    @SqlBudget(0)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponseData>> suggest(@RequestParam String q,
+        @RequestParam(required = false) Integer size) {
+        List<SuggestionResponseData> suggestions = size == null
+            ? productSuggester.suggest(q)
+            : productSuggester.suggest(q, size);
+        return ResponseEntity.ok().body(suggestions);
+    }
+
+    /**
+     * 카테고리를 모두 불러온다. 미리 직렬화해 둔 카테고리 트리를 그대로 내려준다.
      * @return
      */
+    @SqlBudget(0)
     @GetMapping("/categories")
-    public ResponseEntity<?> categories() {
-        return ResponseEntity.ok().body(productServiceImpl.getCategories());
+    public ResponseEntity<byte[]> categories() {
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(categoryTreeCache.getCategoriesJson());
+    }
+
+    /**
+     * 카테고리와 하위 카테고리에 속한 판매 중인 상품의 탄소 배출량 통계를 불러온다.
+     * @param id 카테고리 아이디
+     * @return 탄소 배출량과 가격 단위당 탄소 배출량의 상품 수, 평균, 최솟값, 최댓값, p50/p90/p99
+     */
+    @SqlBudget(0)
+    @GetMapping("/categories/{id}/emissions-stats")
+    public ResponseEntity<EmissionsStatsResponseData> emissionsStats(@PathVariable Long id) {
+        return ResponseEntity.ok().body(categoryEmissions.stats(id));
     }
 
     /**
@@ -177,6 +428,7 @@ public class ProductController {
      * @param categoryRequest
      * @return
      */
+    @SqlBudget(4)
     @PostMapping("/category")
     public ResponseEntity<?> createCategory(@RequestBody CategoryRequest categoryRequest) {
         return ResponseEntity.ok().body(productServiceImpl.createCategory(categoryRequest));
@@ -0,0 +1,285 @@
+package com.carbonzero.datasource;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지는 primary 로 보내는 데이터 소스.
+ * 트랜잭션 매니저는 읽기 전용 여부를 정하기 전에 커넥션을 얻으므로, 첫 SQL 을 실행할 때 커넥션을 얻어서 그때 보낼 곳을 정한다.
+ * 복제본은 돌아가며 고르고, 상태 확인에 실패한 복제본은 다시 성공할 때까지 건너뛴다. 쓸 수 있는 복제본이 없으면 primary 에서 읽는다.
+ * stickyMillis 가 0 보다 크면 쓰기 트랜잭션이 커밋된 뒤 그 시간 동안 모든 읽기를 primary 로 보내서 복제 지연 중에도 방금 쓴 값을 읽는다.
+ * 읽기-쓰기 트랜잭션이라도 INSERT, UPDATE 같은 변경 문을 실행하지 않았으면 쓰기로 보지 않는다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Set<String> WRITE_KEYWORDS = Set.of("insert", "update", "delete", "merge", "replace",
+        "upsert", "create", "alter", "drop", "truncate", "rename", "grant", "revoke");
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long stickyNanos;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledThreadPoolExecutor healthChecker;
+    private volatile long stickyUntil = System.nanoTime();
+
+    /**
+     * @param primary 쓰기와 읽기-쓰기 트랜잭션을 받는 데이터 소스
+     * @param replicas 읽기 전용 트랜잭션을 받는 복제본
+     * @param stickyMillis 쓰기 후 primary 에서 읽을 시간, 0 이면 쓰지 않는다.
+     * @param healthCheckMillis 복제본 상태 확인 주기, 0 이면 커넥션을 못 얻었을 때만 복제본을 제외한다.
+     * @param validationTimeoutSeconds 상태 확인에서 커넥션 응답을 기다릴 시간
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long stickyMillis,
+        long healthCheckMillis, int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMillis);
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        if (healthCheckMillis > 0 && !this.replicas.isEmpty()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-health-");
+            threadFactory.setDaemon(true);
+            this.healthChecker = new ScheduledThreadPoolExecutor(1, threadFactory);
+            this.healthChecker.scheduleWithFixedDelay(this::checkReplicas, healthCheckMillis, healthCheckMillis,
+                TimeUnit.MILLISECONDS);
+        } else {
+            this.healthChecker = null;
+        }
+        setTargetDataSource(new Router());
+        afterPropertiesSet();
+    }
+
+    /**
+     * 모든 복제본에 커넥션을 얻어 응답하는지 확인한다.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException exception) {
+                replica.markDown(exception);
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 상태 확인을 멈추고 primary 와 복제본 커넥션 풀을 닫는다.
+     */
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        close("primary", primary);
+        for (Replica replica : replicas) {
+            close(replica.getName(), replica.getDataSource());
+        }
+    }
+
+    private void close(String name, DataSource dataSource) {
+        if (dataSource instanceof Closeable) {
+            try {
+                ((Closeable)dataSource).close();
+            } catch (Exception exception) {
+                log.warn("데이터 소스 {} 을(를) 닫지 못했습니다.", name, exception);
+            }
+        }
+    }
+
+    /**
+     * 커넥션을 가져올 복제본을 고른다.
+     * @return 복제본, primary 에서 처리해야 하면 null
+     */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        if (System.nanoTime() - stickyUntil < 0 || replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 읽기-쓰기 트랜잭션에서 변경 문을 실행하고 커밋하면 stickyMillis 동안 읽기를 primary 로 보낸다.
+     */
+    private Connection trackWrites(Connection connection) {
+        if (stickyNanos <= 0 || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        WriteTracker tracker = new WriteTracker();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                if (tracker.written) {
+                    stickyUntil = System.nanoTime() + stickyNanos;
+                }
+            }
+        });
+        return tracker.proxy(connection, Connection.class, null);
+    }
+
+    /**
+     * SQL 이 데이터나 스키마를 바꾸는 문인지 여부. 앞의 주석과 공백은 건너뛴다.
+     */
+    static boolean isWrite(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String statement = sql.stripLeading();
+        while (statement.startsWith("/*") && statement.contains("*/")) {
+            statement = statement.substring(statement.indexOf("*/") + 2).stripLeading();
+        }
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return WRITE_KEYWORDS.contains(statement.substring(0, end).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 커넥션을 얻는 시점의 트랜잭션에 따라 primary 나 복제본의 커넥션을 준다.
+     */
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Replica replica = route();
+            if (replica == null) {
+                return trackWrites(primary.getConnection());
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException exception) {
+                replica.markDown(exception);
+                return primary.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Replica replica = route();
+            if (replica == null) {
+                return trackWrites(primary.getConnection(username, password));
+            }
+            try {
+                return replica.getDataSource().getConnection(username, password);
+            } catch (SQLException exception) {
+                replica.markDown(exception);
+                return primary.getConnection(username, password);
+            }
+        }
+    }
+
+    /**
+     * 커넥션과 그 커넥션으로 만든 Statement 를 감싸서 변경 문을 실행했는지 기록한다.
+     * PreparedStatement 는 준비할 때의 SQL 로, Statement 는 실행하거나 배치에 더할 때의 SQL 로 판단한다.
+     */
+    private static class WriteTracker {
+        private volatile boolean written;
+
+        @SuppressWarnings("unchecked")
+        <T> T proxy(T target, Class<T> type, String sql) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> invoke(target, method, args, sql));
+        }
+
+        private Object invoke(Object target, Method method, Object[] args, String sql) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("addBatch")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                if (isWrite(executed)) {
+                    written = true;
+                }
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+
+            if (result instanceof CallableStatement) {
+                return proxy((CallableStatement) result, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy((PreparedStatement) result, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return proxy((Statement) result, Statement.class, null);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 읽기 전용 트랜잭션을 받는 복제본.
+     */
+    @Getter
+    public static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("복제본 {} 이(가) 복구되어 다시 읽기를 받습니다.", name);
+            }
+            healthy = true;
+        }
+
+        private void markDown(SQLException exception) {
+            if (healthy) {
+                log.warn("복제본 {} 에 연결하지 못해 primary 에서 읽습니다.", name, exception);
+            }
+            healthy = false;
+        }
+    }
+}
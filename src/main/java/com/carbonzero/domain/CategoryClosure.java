@@ -0,0 +1,47 @@
+package com.carbonzero.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카테고리 계층의 클로저 테이블. 모든 (상위 카테고리, 하위 카테고리) 쌍을 한 행씩 담고, 자기 자신과의 쌍은 depth 0 이다.
+ * 하위 카테고리 전체를 재귀 쿼리 없이 (ancestor_id, descendant_id) 기본 키 범위로 찾는다.
+ */
+@Entity
+@Table(name = "CATEGORY_CLOSURE")
+@IdClass(CategoryClosure.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
@@ -5,12 +5,16 @@ import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.OneToOne;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,8 +27,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product extends BaseTime {
+    // IDENTITY 는 INSERT 마다 키를 돌려받아야 해서 JDBC 배치가 꺼지므로 시퀀스에서 50개씩 미리 할당받는다.
+    // 시퀀스는 V1 이 만들고, IDENTITY 로 채워진 기존 데이터베이스에서는 V4 가 기존 최대 아이디 다음부터 만든다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "PRODUCT_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -43,9 +50,10 @@ public class Product extends BaseTime {
 
     @ElementCollection
     @Column(length = 1000)
+    @BatchSize(size = 100)
     private List<String> imageLink;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Category category;
 
     private Boolean isEcoFriendly;
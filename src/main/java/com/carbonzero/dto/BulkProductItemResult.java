@@ -0,0 +1,38 @@
+package com.carbonzero.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 등록 요청의 상품 하나에 대한 처리 결과.
+ * index 는 요청 배열에서의 위치이고, 실패하면 id 는 null 이며 message 에 사유가 담긴다.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkProductItemResult {
+
+    public enum Status {
+        CREATED, UPDATED, FAILED
+    }
+
+    private final int index;
+    private final Long id;
+    private final Status status;
+    private final String message;
+
+    public static BulkProductItemResult created(int index, Long id) {
+        return new BulkProductItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static BulkProductItemResult updated(int index, Long id) {
+        return new BulkProductItemResult(index, id, Status.UPDATED, null);
+    }
+
+    public static BulkProductItemResult failed(int index, String message) {
+        return new BulkProductItemResult(index, null, Status.FAILED, message);
+    }
+
+    public boolean isFailed() {
+        return status == Status.FAILED;
+    }
+}
@@ -0,0 +1,23 @@
+package com.carbonzero.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 등록 결과. results 는 요청 배열과 같은 순서이다.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkProductResponseData {
+    private final int total;
+    private final int succeeded;
+    private final int failed;
+    private final List<BulkProductItemResult> results;
+
+    public static BulkProductResponseData of(List<BulkProductItemResult> results) {
+        int failed = (int) results.stream().filter(BulkProductItemResult::isFailed).count();
+        return new BulkProductResponseData(results.size(), results.size() - failed, failed, results);
+    }
+}
@@ -0,0 +1,24 @@
+package com.carbonzero.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캐시 통계. 요청 수가 0 이면 적중률은 0 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStats {
+    private final int size;
+    private final int maximumSize;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final double hitRate;
+
+    public static CacheStats of(int size, int maximumSize, long hitCount, long missCount, long evictionCount) {
+        long requestCount = hitCount + missCount;
+        double hitRate = requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        return new CacheStats(size, maximumSize, hitCount, missCount, evictionCount, hitRate);
+    }
+}
@@ -0,0 +1,18 @@
+package com.carbonzero.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커서 기반 페이지. 전체 건수 대신 다음 페이지를 요청할 커서를 돌려준다.
+ * 마지막 페이지이면 nextCursor 는 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final int size;
+}
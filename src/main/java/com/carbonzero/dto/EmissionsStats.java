@@ -0,0 +1,23 @@
+package com.carbonzero.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 값 분포의 요약. 상품이 없으면 count 만 담는다.
+ * 최솟값, 최댓값, 분위수는 스케치의 추정치라서 carbonzero.emissions.relative-accuracy 만큼 오차가 있다.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmissionsStats {
+    private final long count;
+    private final Double mean;
+    private final Double min;
+    private final Double max;
+    private final Double p50;
+    private final Double p90;
+    private final Double p99;
+}
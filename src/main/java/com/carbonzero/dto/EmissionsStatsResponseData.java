@@ -0,0 +1,17 @@
+package com.carbonzero.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 카테고리와 하위 카테고리에 속한 판매 중인 상품의 탄소 배출량 통계.
+ * carbonEmissionsPerPriceUnit 은 가격 priceUnit 원당 탄소 배출량의 분포이다.
+ */
+@Getter
+@AllArgsConstructor
+public class EmissionsStatsResponseData {
+    private final Long categoryId;
+    private final long priceUnit;
+    private final EmissionsStats carbonEmissions;
+    private final EmissionsStats carbonEmissionsPerPriceUnit;
+}
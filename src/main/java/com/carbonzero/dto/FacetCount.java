@@ -0,0 +1,18 @@
+package com.carbonzero.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 패싯 값 하나의 상품 수. 카테고리 패싯만 아이디를 담는다.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetCount {
+    private final Long id;
+    private final String value;
+    private final long count;
+}
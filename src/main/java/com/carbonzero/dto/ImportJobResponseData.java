@@ -0,0 +1,59 @@
+package com.carbonzero.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.carbonzero.export.ExportFormat;
+import com.carbonzero.ingest.ImportJob;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 상품 가져오기 작업의 진행 상황. progress 는 읽은 바이트 수로 계산한 0 부터 1 사이의 값이다.
+ */
+@Getter
+@Builder
+public class ImportJobResponseData {
+    private final String id;
+    private final ImportJob.Status status;
+    private final ExportFormat format;
+    private final String message;
+    private final long totalBytes;
+    private final long readBytes;
+    private final double progress;
+    private final long processedRows;
+    private final long succeededRows;
+    private final long failedRows;
+    private final List<ImportJob.RowError> errors;
+    private final LocalDateTime createAt;
+    private final LocalDateTime startAt;
+    private final LocalDateTime finishAt;
+
+    public static ImportJobResponseData of(ImportJob job) {
+        long readBytes = job.getReadBytes().get();
+        double progress = 0;
+        if (job.getStatus() == ImportJob.Status.COMPLETED) {
+            progress = 1;
+        } else if (job.getTotalBytes() > 0) {
+            progress = Math.min(1, (double) readBytes / job.getTotalBytes());
+        }
+
+        return ImportJobResponseData.builder()
+            .id(job.getId())
+            .status(job.getStatus())
+            .format(job.getFormat())
+            .message(job.getMessage())
+            .totalBytes(job.getTotalBytes())
+            .readBytes(readBytes)
+            .progress(progress)
+            .processedRows(job.getProcessedRows().get())
+            .succeededRows(job.getSucceededRows().get())
+            .failedRows(job.getFailedRows().get())
+            .errors(job.getErrors())
+            .createAt(job.getCreateAt())
+            .startAt(job.getStartAt())
+            .finishAt(job.getFinishAt())
+            .build();
+    }
+}
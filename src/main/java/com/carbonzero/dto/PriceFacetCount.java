@@ -0,0 +1,15 @@
+package com.carbonzero.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 가격대 하나의 상품 수. from 이상 to 미만이고, 첫 가격대의 from 과 마지막 가격대의 to 는 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class PriceFacetCount {
+    private final Long from;
+    private final Long to;
+    private final long count;
+}
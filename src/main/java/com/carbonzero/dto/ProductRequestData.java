@@ -5,38 +5,31 @@ import java.util.List;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
-import com.github.dozermapper.core.Mapping;
-
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 @Builder
 public class ProductRequestData {
+    // 일괄 등록에서만 사용한다. 값이 있으면 해당 상품을 수정한다.
+    private Long id;
+
     @NotBlank
-    @Mapping("name")
     private String name;
 
     @NotBlank
-    @Mapping("brand")
     private String brand;
 
     @NotNull
-    @Mapping("price")
     private Long price;
 
-    @Mapping("description")
     private String description;
 
-    @Mapping("imageLink")
     private List<String> imageLink;
 
-    @Mapping("categoryId")
     private Long categoryId;
 
-    @Mapping("isEcoFriendly")
     private Boolean isEcoFriendly;
 
-    @Mapping("carbonEmissions")
     private Integer carbonEmissions;
 }
@@ -3,9 +3,6 @@ package com.carbonzero.dto;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import com.carbonzero.domain.Product;
-import com.github.dozermapper.core.Mapping;
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,55 +13,46 @@ import lombok.Setter;
 @NoArgsConstructor @AllArgsConstructor
 public class ProductResponseData {
 
-    @Mapping("id")
     private Long id;
 
-    @Mapping("createAt")
     private LocalDateTime createAt;
 
-    @Mapping("updateAt")
     private LocalDateTime updateAt;
 
-    @Mapping("isActive")
     private boolean isActive;
 
-    @Mapping("name")
     private String name;
 
-    @Mapping("brand")
     private String brand;
 
-    @Mapping("price")
     private Long price;
 
-    @Mapping("description")
     private String description;
 
-    @Mapping("imageLink")
     private List<String> imageLink;
 
-    @Mapping("category")
     private String category;
 
-    @Mapping("isEcoFriendly")
     private Boolean isEcoFriendly;
 
-    @Mapping("carbonEmissions")
     private Integer carbonEmissions;
 
-    public static ProductResponseData convertToProductResponseData(Product product){
-        return ProductResponseData.builder()
-                .id(product.getId())
-                .createAt(product.getCreateAt())
-                .updateAt(product.getUpdateAt())
-                .name(product.getName())
-                .brand(product.getBrand())
-                .price(product.getPrice())
-                .description(product.getDescription())
-                .imageLink(product.getImageLink())
-                .category(product.getCategory().getName())
-                .isEcoFriendly(product.getIsEcoFriendly())
-                .carbonEmissions(product.getCarbonEmissions())
-                .build();
+    /**
+     * 조회 전용 쿼리의 생성자 표현식에서 사용한다. 이미지 링크는 따로 채운다.
+     */
+    public ProductResponseData(Long id, LocalDateTime createAt, LocalDateTime updateAt, Boolean isActive,
+        String name, String brand, Long price, String description, String category, Boolean isEcoFriendly,
+        Integer carbonEmissions) {
+        this.id = id;
+        this.createAt = createAt;
+        this.updateAt = updateAt;
+        this.isActive = Boolean.TRUE.equals(isActive);
+        this.name = name;
+        this.brand = brand;
+        this.price = price;
+        this.description = description;
+        this.category = category;
+        this.isEcoFriendly = isEcoFriendly;
+        this.carbonEmissions = carbonEmissions;
     }
 }
@@ -1,5 +1,10 @@
 package com.carbonzero.dto;
 
+import java.util.Set;
+
+import com.carbonzero.search.CountStrategy;
+import com.carbonzero.search.Facet;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,8 +20,13 @@ public class ProductSearchRequest {
     private Long priceTo = Long.MAX_VALUE;
     private String brand;
     private String description;
+    private Boolean isActive;
+    private Boolean isEcoFriendly;
     private String sort = "id,desc";
     private int pageSize = 20;
     private int pageNumber = 0;
+    private String cursor;
+    private CountStrategy countStrategy;
+    private Set<Facet> facets;
 
 }
@@ -0,0 +1,32 @@
+package com.carbonzero.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 영속성 컨텍스트와 분리된 상품의 읽기 전용 사본.
+ * 인메모리 색인들이 트랜잭션 밖에서 상품 정보를 참조할 때 사용한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ProductSnapshot {
+
+    private final Long id;
+    private final String name;
+    private final String brand;
+    private final Long price;
+    private final String description;
+    private final Boolean isActive;
+    private final List<String> imageLink;
+    private final Long categoryId;
+    private final String categoryName;
+    private final Boolean isEcoFriendly;
+    private final Integer carbonEmissions;
+    private final LocalDateTime createAt;
+    private final LocalDateTime updateAt;
+}
@@ -0,0 +1,21 @@
+package com.carbonzero.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색 결과의 패싯별 상품 수. 요청하지 않은 패싯은 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchFacets {
+    private final List<FacetCount> category;
+    private final List<FacetCount> brand;
+    private final List<PriceFacetCount> price;
+    private final List<FacetCount> ecoFriendly;
+}
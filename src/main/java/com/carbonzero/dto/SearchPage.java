@@ -0,0 +1,37 @@
+package com.carbonzero.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 검색 결과 페이지. 전체 건수를 상한까지만 센 경우 totalCapped 가 true 이다.
+ * 패싯을 요청하면 facets 에 패싯별 상품 수를 담는다.
+ */
+public class SearchPage<T> extends PageImpl<T> {
+
+    private final boolean totalCapped;
+    private final SearchFacets facets;
+
+    public SearchPage(List<T> content, Pageable pageable, long total, boolean totalCapped) {
+        this(content, pageable, total, totalCapped, null);
+    }
+
+    public SearchPage(List<T> content, Pageable pageable, long total, boolean totalCapped, SearchFacets facets) {
+        super(content, pageable, total);
+        this.totalCapped = totalCapped;
+        this.facets = facets;
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public SearchFacets getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,17 @@
+package com.carbonzero.dto;
+
+import com.carbonzero.search.SuggestionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 자동 완성 후보. count 는 이 이름이나 브랜드를 쓰는 판매 중인 상품 수이다.
+ */
+@Getter
+@AllArgsConstructor
+public class SuggestionResponseData {
+    private final String text;
+    private final SuggestionType type;
+    private final int count;
+}
@@ -0,0 +1,315 @@
+package com.carbonzero.emissions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.category.CategoryTree;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.EmissionsStats;
+import com.carbonzero.dto.EmissionsStatsResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangeBuffer;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.CategoryRow;
+import com.carbonzero.repository.ProductColumnRow;
+import com.carbonzero.repository.ProductRepository;
+
+/**
+ * 카테고리별 탄소 배출량 통계.
+ * 카테고리마다 직접 속한 상품의 스케치와, 하위 카테고리까지 합친 스케치를 메모리에 둔다.
+ * 상품 변경이 커밋되면 상품의 카테고리와 모든 상위 카테고리의 스케치만 고치고,
+ * 카테고리 구조가 바뀌면 직접 속한 상품의 스케치를 모든 상위 카테고리로 다시 합친다. 통계 조회는 데이터베이스에 접근하지 않는다.
+ * 처음 스케치를 만들기를 마칠 때까지는 요청한 카테고리와 하위 카테고리의 상품을 저장소에서 읽어 그 자리에서 요약한다.
+ */
+@Component
+public class CategoryEmissions {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final double relativeAccuracy;
+    private final long priceUnit;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+
+    // 카테고리 아이디와 상위 카테고리 아이디, 최상위 카테고리는 null 이다.
+    private Map<Long, Long> parents = new HashMap<>();
+    private Map<Long, Sketches> own = new HashMap<>();
+    private Map<Long, Sketches> subtree = new HashMap<>();
+    private Map<Long, Counted> products = new HashMap<>();
+
+    public CategoryEmissions(ProductRepository productRepository, CategoryRepository categoryRepository,
+        CategoryTreeCache categoryTreeCache,
+        @Value("${carbonzero.emissions.relative-accuracy:0.01}") double relativeAccuracy,
+        @Value("${carbonzero.emissions.price-unit:10000}") long priceUnit) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryTreeCache = categoryTreeCache;
+        this.relativeAccuracy = relativeAccuracy;
+        this.priceUnit = priceUnit;
+    }
+
+    /**
+     * 카테고리와 하위 카테고리에 속한 판매 중인 상품의 탄소 배출량 통계.
+     * @param categoryId 카테고리 아이디
+     * @return 상품 수, 평균, 최솟값, 최댓값, 분위수
+     */
+    public EmissionsStatsResponseData stats(Long categoryId) {
+        CategoryTree tree = categoryTreeCache.getTree();
+        if (!tree.isActive(categoryId)) {
+            throw new CategoryNotFoundException(categoryId);
+        }
+        if (!changes.isReady()) {
+            return stats(categoryId, load(tree.subtree(categoryId)));
+        }
+
+        lock.readLock().lock();
+        try {
+            Sketches sketches = subtree.get(categoryId);
+            return stats(categoryId, sketches != null ? sketches : new Sketches(relativeAccuracy));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 처음 스케치를 만들기를 마쳤는지 여부.
+     */
+    public boolean isReady() {
+        return changes.isReady();
+    }
+
+    /**
+     * 저장소의 모든 카테고리와 상품으로 스케치를 새로 만든다.
+     * 상품을 읽는 동안 커밋된 상품 변경은 모아 두었다가 새 스케치로 바꿀 때 다시 적용하고,
+     * 카테고리 변경은 다시 만들기를 마친 뒤에 반영한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changes.start();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Long> newParents = loadParents();
+        Map<Long, Sketches> newOwn = new HashMap<>();
+        Map<Long, Counted> newProducts = new HashMap<>();
+        for (ProductColumnRow row : productRepository.findAllColumnRows()) {
+            Counted counted = counted(row.getCategoryId(), row.getCarbonEmissions(), row.getPrice(),
+                row.getIsActive());
+            if (counted != null) {
+                newProducts.put(row.getId(), counted);
+                newOwn.computeIfAbsent(counted.categoryId, id -> new Sketches(relativeAccuracy)).add(counted, 1);
+            }
+        }
+        Map<Long, Sketches> newSubtree = mergeSubtrees(newParents, newOwn);
+
+        lock.writeLock().lock();
+        try {
+            parents = newParents;
+            own = newOwn;
+            subtree = newSubtree;
+            products = newProducts;
+            changes.finish().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 카테고리 구조가 바뀌면 하위 카테고리까지 합친 스케치를 다시 합친다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        Map<Long, Long> newParents = loadParents();
+
+        lock.writeLock().lock();
+        try {
+            parents = newParents;
+            subtree = mergeSubtrees(newParents, own);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 변경이 커밋되면 이전 값을 빼고 새 값을 더한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            changes.add(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.getProduct();
+        Counted counted = event.isDeleted() ? null
+            : counted(product.getCategoryId(), product.getCarbonEmissions(), product.getPrice(),
+                product.getIsActive());
+
+        Counted previous = counted == null ? products.remove(product.getId())
+            : products.put(product.getId(), counted);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (counted != null) {
+            apply(counted, 1);
+        }
+    }
+
+    /**
+     * 카테고리들에 직접 속한 상품을 저장소에서 읽어 스케치 하나로 요약한다.
+     */
+    private Sketches load(Set<Long> categoryIds) {
+        Sketches sketches = new Sketches(relativeAccuracy);
+        for (ProductColumnRow row : productRepository.findColumnRowsByCategoryIdIn(categoryIds)) {
+            Counted counted = counted(row.getCategoryId(), row.getCarbonEmissions(), row.getPrice(),
+                row.getIsActive());
+            if (counted != null) {
+                sketches.add(counted, 1);
+            }
+        }
+        return sketches;
+    }
+
+    private Map<Long, Long> loadParents() {
+        Map<Long, Long> loaded = new HashMap<>();
+        for (CategoryRow row : categoryRepository.findAllRows()) {
+            loaded.put(row.getId(), row.getParentId());
+        }
+        return loaded;
+    }
+
+    /**
+     * 상품의 카테고리와 모든 상위 카테고리의 스케치에 값을 더하거나 뺀다.
+     */
+    private void apply(Counted counted, int sign) {
+        own.computeIfAbsent(counted.categoryId, id -> new Sketches(relativeAccuracy)).add(counted, sign);
+        for (Long categoryId : path(parents, counted.categoryId)) {
+            subtree.computeIfAbsent(categoryId, id -> new Sketches(relativeAccuracy)).add(counted, sign);
+        }
+    }
+
+    /**
+     * 카테고리마다 직접 속한 상품의 스케치와 모든 하위 카테고리의 스케치를 합친다.
+     */
+    private Map<Long, Sketches> mergeSubtrees(Map<Long, Long> parents, Map<Long, Sketches> own) {
+        Map<Long, Sketches> merged = new HashMap<>();
+        for (Map.Entry<Long, Sketches> entry : own.entrySet()) {
+            for (Long categoryId : path(parents, entry.getKey())) {
+                merged.computeIfAbsent(categoryId, id -> new Sketches(relativeAccuracy)).merge(entry.getValue());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 카테고리부터 최상위 카테고리까지의 아이디. 구조가 잘못되어 순환하더라도 카테고리 수만큼만 올라간다.
+     */
+    private static List<Long> path(Map<Long, Long> parents, Long categoryId) {
+        List<Long> path = new ArrayList<>();
+        for (Long current = categoryId; current != null && path.size() <= parents.size();
+            current = parents.get(current)) {
+            path.add(current);
+        }
+        return path;
+    }
+
+    /**
+     * 판매 중이고 카테고리와 탄소 배출량이 있는 상품만 센다.
+     */
+    private Counted counted(Long categoryId, Integer carbonEmissions, Long price, Boolean isActive) {
+        if (categoryId == null || carbonEmissions == null || !Boolean.TRUE.equals(isActive)) {
+            return null;
+        }
+        Double perPrice = price != null && price > 0 ? (double) carbonEmissions * priceUnit / price : null;
+        return new Counted(categoryId, carbonEmissions, perPrice);
+    }
+
+    private EmissionsStatsResponseData stats(Long categoryId, Sketches sketches) {
+        return new EmissionsStatsResponseData(categoryId, priceUnit,
+            stats(sketches.emissions), stats(sketches.emissionsPerPrice));
+    }
+
+    private static EmissionsStats stats(QuantileSketch sketch) {
+        if (sketch.isEmpty()) {
+            return new EmissionsStats(0, null, null, null, null, null, null);
+        }
+        return new EmissionsStats(sketch.getCount(), sketch.getSum() / sketch.getCount(),
+            sketch.quantile(0), sketch.quantile(1),
+            sketch.quantile(0.5), sketch.quantile(0.9), sketch.quantile(0.99));
+    }
+
+    /**
+     * 스케치에 더한 상품 하나의 값. 바뀌거나 지워질 때 같은 값을 뺀다.
+     */
+    private static class Counted {
+        private final Long categoryId;
+        private final double emissions;
+        private final Double emissionsPerPrice;
+
+        Counted(Long categoryId, double emissions, Double emissionsPerPrice) {
+            this.categoryId = categoryId;
+            this.emissions = emissions;
+            this.emissionsPerPrice = emissionsPerPrice;
+        }
+    }
+
+    /**
+     * 탄소 배출량과 가격 단위당 탄소 배출량의 스케치.
+     */
+    private static class Sketches {
+        private final QuantileSketch emissions;
+        private final QuantileSketch emissionsPerPrice;
+
+        Sketches(double relativeAccuracy) {
+            this.emissions = new QuantileSketch(relativeAccuracy);
+            this.emissionsPerPrice = new QuantileSketch(relativeAccuracy);
+        }
+
+        void add(Counted counted, int sign) {
+            if (sign > 0) {
+                emissions.add(counted.emissions);
+            } else {
+                emissions.remove(counted.emissions);
+            }
+            if (counted.emissionsPerPrice != null) {
+                if (sign > 0) {
+                    emissionsPerPrice.add(counted.emissionsPerPrice);
+                } else {
+                    emissionsPerPrice.remove(counted.emissionsPerPrice);
+                }
+            }
+        }
+
+        void merge(Sketches other) {
+            emissions.merge(other.emissions);
+            emissionsPerPrice.merge(other.emissionsPerPrice);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.carbonzero.emissions;
+
+/**
+ * 상대 오차가 보장되는 분위수 스케치.
+ * 값을 로그 눈금 버킷에 세므로 분위수 추정치와 실제 값의 차이는 실제 값의 relativeAccuracy 배를 넘지 않는다.
+ * 버킷 수만 더하고 빼므로 값을 지울 수 있고, 같은 정확도의 스케치끼리는 버킷 수를 더해서 합칠 수 있다.
+ * 동기화하지 않으므로 사용하는 쪽에서 잠가야 한다.
+ */
+public class QuantileSketch {
+
+    // 이보다 절댓값이 작은 값은 0 으로 센다.
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positive;
+    private final Buckets negative;
+    private long zeroCount;
+    private long count;
+    private double sum;
+
+    /**
+     * @param relativeAccuracy 분위수 추정치의 최대 상대 오차, 0 과 1 사이
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.positive = new Buckets();
+        this.negative = new Buckets();
+    }
+
+    private QuantileSketch(QuantileSketch source) {
+        this.relativeAccuracy = source.relativeAccuracy;
+        this.gamma = source.gamma;
+        this.logGamma = source.logGamma;
+        this.positive = source.positive.copy();
+        this.negative = source.negative.copy();
+        this.zeroCount = source.zeroCount;
+        this.count = source.count;
+        this.sum = source.sum;
+    }
+
+    public void add(double value) {
+        update(value, 1);
+    }
+
+    /**
+     * 앞서 더한 값을 뺀다. 더하지 않은 값을 빼면 분위수가 맞지 않는다.
+     */
+    public void remove(double value) {
+        update(value, -1);
+    }
+
+    /**
+     * 다른 스케치의 값을 모두 더한다.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracy");
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+    }
+
+    public QuantileSketch copy() {
+        return new QuantileSketch(this);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * q 분위수의 추정치. 작은 값부터 q * (count - 1) 번째 값이 속한 버킷의 대표값이다.
+     * @param q 0 이상 1 이하의 분위
+     * @return 추정치, 비어 있으면 NaN
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = q * (count - 1);
+
+        long seen = 0;
+        for (int i = negative.length() - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                return -value(negative.offset + i);
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < positive.length(); i++) {
+            seen += positive.counts[i];
+            if (seen > rank) {
+                return value(positive.offset + i);
+            }
+        }
+        return value(positive.offset + positive.length() - 1);
+    }
+
+    private void update(double value, long delta) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Cannot count " + value);
+        }
+        if (value >= MIN_INDEXABLE) {
+            positive.add(index(value), delta);
+        } else if (value <= -MIN_INDEXABLE) {
+            negative.add(index(-value), delta);
+        } else {
+            zeroCount += delta;
+        }
+        count += delta;
+        sum += delta * value;
+    }
+
+    /**
+     * gamma^(i-1) 보다 크고 gamma^i 이하인 값은 i 번 버킷에 센다.
+     */
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * 버킷의 대표값. 버킷의 어느 값과도 상대 오차가 relativeAccuracy 이하다.
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * 연속된 버킷 번호의 수. counts[i] 는 offset + i 번 버킷의 값 수이다.
+     */
+    private static class Buckets {
+        private long[] counts = new long[0];
+        private int offset;
+
+        void add(int index, long delta) {
+            ensure(index, index);
+            counts[index - offset] += delta;
+        }
+
+        void merge(Buckets other) {
+            if (other.length() == 0) {
+                return;
+            }
+            ensure(other.offset, other.offset + other.length() - 1);
+            for (int i = 0; i < other.length(); i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+
+        Buckets copy() {
+            Buckets copy = new Buckets();
+            copy.counts = counts.clone();
+            copy.offset = offset;
+            return copy;
+        }
+
+        int length() {
+            return counts.length;
+        }
+
+        private void ensure(int from, int to) {
+            if (counts.length == 0) {
+                counts = new long[Math.max(16, to - from + 1)];
+                offset = from;
+                return;
+            }
+            int low = Math.min(from, offset);
+            int high = Math.max(to, offset + counts.length - 1);
+            if (low == offset && high == offset + counts.length - 1) {
+                return;
+            }
+            // 자주 늘리지 않도록 모자란 쪽으로 여유를 더 둔다.
+            int length = Math.max(high - low + 1, counts.length * 2);
+            int newOffset = low < offset ? high - length + 1 : low;
+            long[] grown = new long[length];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.carbonzero.error;
+
+public class BulkRequestTooLargeException extends RuntimeException {
+    public BulkRequestTooLargeException(int size, int maxItems) {
+        super("Too many products in bulk request: " + size + ", max items: " + maxItems);
+    }
+}
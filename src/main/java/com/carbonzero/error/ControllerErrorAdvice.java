@@ -34,6 +34,48 @@ public class ControllerErrorAdvice {
         return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
     }
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(CategoryNotFoundException.class)
+    public ErrorResponse handleCategoryNotFound(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ErrorResponse handleImportJobNotFound(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ErrorResponse handleImportQueueFull(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ErrorResponse handleIndexNotReady(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    @ExceptionHandler(BulkRequestTooLargeException.class)
+    public ErrorResponse handleBulkRequestTooLarge(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ErrorResponse handleInvalidCursor(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(UnsupportedFormatException.class)
+    public ErrorResponse handleUnsupportedFormat(Exception exception, WebRequest request) {
+        return new ErrorResponse(new Date(), exception.getMessage(), request.getDescription(false));
+    }
+
     @ResponseBody
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ConstraintViolationException.class)
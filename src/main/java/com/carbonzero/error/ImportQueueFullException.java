@@ -0,0 +1,7 @@
+package com.carbonzero.error;
+
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException(int capacity) {
+        super("Too many import jobs in progress, queue capacity: " + capacity);
+    }
+}
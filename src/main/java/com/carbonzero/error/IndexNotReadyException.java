@@ -0,0 +1,7 @@
+package com.carbonzero.error;
+
+public class IndexNotReadyException extends RuntimeException {
+    public IndexNotReadyException(String name) {
+        super("Index is not ready yet, try again later: " + name);
+    }
+}
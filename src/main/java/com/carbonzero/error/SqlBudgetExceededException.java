@@ -0,0 +1,7 @@
+package com.carbonzero.error;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
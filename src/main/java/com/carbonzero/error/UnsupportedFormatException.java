@@ -0,0 +1,7 @@
+package com.carbonzero.error;
+
+public class UnsupportedFormatException extends RuntimeException {
+    public UnsupportedFormatException(String format) {
+        super("Unsupported format: " + format);
+    }
+}
@@ -0,0 +1,13 @@
+package com.carbonzero.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 카테고리가 생성되거나 바뀌었음을 알리는 이벤트.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
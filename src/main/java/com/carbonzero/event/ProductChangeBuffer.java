@@ -0,0 +1,52 @@
+package com.carbonzero.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인메모리 색인을 저장소에서 다시 만드는 동안 커밋된 상품 변경을 모아 둔다.
+ * 다시 만들기 시작한 뒤 커밋된 변경은 읽은 결과에 들어 있을 수도 없을 수도 있으므로, 새 색인으로 바꿀 때 모두 다시 적용한다.
+ * 색인의 변경 적용은 상품 아이디로 이전 값을 지우고 새 값을 넣으므로 같은 변경을 두 번 적용해도 결과가 같다.
+ * 색인의 잠금 안에서 쓰고, 준비 여부만 잠금 없이 읽는다.
+ */
+public class ProductChangeBuffer {
+
+    private List<ProductChangedEvent> pending;
+    private volatile boolean ready;
+
+    /**
+     * 다시 만들기를 시작한다. 이후의 변경은 finish 까지 모아 둔다.
+     */
+    public void start() {
+        if (pending == null) {
+            pending = new ArrayList<>();
+        }
+    }
+
+    /**
+     * 다시 만드는 중이면 변경을 모아 둔다.
+     */
+    public void add(ProductChangedEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * 다시 만들기를 마치고 그동안 모은 변경을 반환한다. 이후로 색인은 준비된 상태이다.
+     * @return 새 색인에 다시 적용할 변경, 커밋된 순서이다.
+     */
+    public List<ProductChangedEvent> finish() {
+        List<ProductChangedEvent> events = pending != null ? pending : List.of();
+        pending = null;
+        ready = true;
+        return events;
+    }
+
+    /**
+     * 처음 만들기를 마쳤는지 여부. 그 전에는 색인이 비어 있으므로 저장소에서 답해야 한다.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+}
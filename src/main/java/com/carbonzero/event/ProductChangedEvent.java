@@ -0,0 +1,42 @@
+package com.carbonzero.event;
+
+import com.carbonzero.dto.ProductSnapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품이 생성, 수정, 삭제되었음을 알리는 이벤트.
+ * 트랜잭션이 커밋된 뒤 인메모리 색인들이 이 이벤트를 받아 갱신된다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final ProductSnapshot product;
+
+    public Long getProductId() {
+        return product.getId();
+    }
+
+    public boolean isDeleted() {
+        return type == Type.DELETED;
+    }
+
+    public static ProductChangedEvent created(ProductSnapshot product) {
+        return new ProductChangedEvent(Type.CREATED, product);
+    }
+
+    public static ProductChangedEvent updated(ProductSnapshot product) {
+        return new ProductChangedEvent(Type.UPDATED, product);
+    }
+
+    public static ProductChangedEvent deleted(ProductSnapshot product) {
+        return new ProductChangedEvent(Type.DELETED, product);
+    }
+}
@@ -0,0 +1,75 @@
+package com.carbonzero.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.carbonzero.dto.ProductResponseData;
+
+/**
+ * RFC 4180 형식의 CSV 로 쓴다. 첫 줄은 헤더이고, 이미지 링크는 '|' 로 이어 한 칸에 담는다.
+ */
+class CsvProductWriter implements ProductWriter {
+
+    static final List<String> HEADER = List.of("id", "name", "brand", "price", "description", "category",
+        "is_eco_friendly", "carbon_emissions", "is_active", "image_link", "create_at", "update_at");
+
+    static final String IMAGE_LINK_SEPARATOR = "|";
+
+    private final Writer writer;
+
+    CsvProductWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writeRow(HEADER.toArray());
+    }
+
+    @Override
+    public void write(ProductResponseData product) throws IOException {
+        writeRow(
+            product.getId(),
+            product.getName(),
+            product.getBrand(),
+            product.getPrice(),
+            product.getDescription(),
+            product.getCategory(),
+            product.getIsEcoFriendly(),
+            product.getCarbonEmissions(),
+            product.isActive(),
+            product.getImageLink() == null ? null : String.join(IMAGE_LINK_SEPARATOR, product.getImageLink()),
+            product.getCreateAt(),
+            product.getUpdateAt());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,42 @@
+package com.carbonzero.export;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.carbonzero.error.UnsupportedFormatException;
+
+/**
+ * 상품 내보내기와 가져오기 파일 형식.
+ */
+public enum ExportFormat {
+    NDJSON(new MediaType("application", "x-ndjson")),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 대소문자를 구분하지 않고 형식 이름을 해석한다.
+     */
+    public static ExportFormat from(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new UnsupportedFormatException(name);
+    }
+}
@@ -0,0 +1,38 @@
+package com.carbonzero.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.carbonzero.dto.ProductResponseData;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 한 줄에 상품 하나씩 JSON 으로 쓴다. 필드 이름은 API 응답과 같은 규칙을 따른다.
+ */
+class NdjsonProductWriter implements ProductWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonProductWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 상품마다 소켓으로 내보내지 않고 생성기의 버퍼가 찰 때 내보낸다.
+        this.writer = objectMapper.writerFor(ProductResponseData.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(ProductResponseData product) throws IOException {
+        writer.writeValue(generator, product);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
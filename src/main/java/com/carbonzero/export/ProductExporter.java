@@ -0,0 +1,68 @@
+package com.carbonzero.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.carbonzero.repository.ProductQueryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 전체 상품 내보내기.
+ * 스크롤 쿼리에서 상품이 도착하는 대로 출력 스트림에 쓰므로 카탈로그 크기와 상관없이 메모리 사용량이 일정하다.
+ */
+@Component
+public class ProductExporter {
+
+    private final ProductQueryRepository productQueryRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public ProductExporter(ProductQueryRepository productQueryRepository, ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        @Value("${carbonzero.export.fetch-size:1000}") int fetchSize) {
+        this.productQueryRepository = productQueryRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 모든 상품을 아이디 순서로 출력 스트림에 쓴다. 출력 스트림은 닫지 않는다.
+     * 응답 스트림에 쓰는 동안 호출되므로 요청 스레드의 트랜잭션과 상관없이 스스로 읽기 전용 트랜잭션을 연다.
+     * @param format 내보내기 형식
+     * @param outputStream 출력 스트림
+     */
+    public void export(ExportFormat format, OutputStream outputStream) throws IOException {
+        ProductWriter writer = writer(format, outputStream);
+        try {
+            transactionTemplate.executeWithoutResult(status -> productQueryRepository.streamAll(fetchSize, product -> {
+                try {
+                    writer.write(product);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        writer.flush();
+    }
+
+    private ProductWriter writer(ExportFormat format, OutputStream outputStream) throws IOException {
+        switch (format) {
+            case CSV:
+                return new CsvProductWriter(outputStream);
+            case NDJSON:
+            default:
+                return new NdjsonProductWriter(objectMapper, outputStream);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.carbonzero.export;
+
+import java.io.IOException;
+
+import com.carbonzero.dto.ProductResponseData;
+
+/**
+ * 상품을 하나씩 출력 스트림에 쓴다.
+ */
+interface ProductWriter {
+
+    void write(ProductResponseData product) throws IOException;
+
+    /**
+     * 버퍼에 남은 내용을 내보낸다. 출력 스트림은 닫지 않는다.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.carbonzero.ingest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽은 바이트 수를 작업 진행 상황에 더한다.
+ */
+class CountingInputStream extends FilterInputStream {
+
+    private final ImportJob job;
+
+    CountingInputStream(InputStream in, ImportJob job) {
+        super(in);
+        this.job = job;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            job.addReadBytes(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count = super.read(b, off, len);
+        if (count > 0) {
+            job.addReadBytes(count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        job.addReadBytes(skipped);
+        return skipped;
+    }
+}
@@ -0,0 +1,155 @@
+package com.carbonzero.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.carbonzero.dto.ProductRequestData;
+
+/**
+ * RFC 4180 형식의 CSV 를 읽는다. 첫 줄은 헤더이며 행 번호는 헤더를 뺀 레코드 순서이다.
+ * 열 이름은 내보내기와 같고 카테고리는 category_id 열로 지정한다. 이미지 링크는 '|' 로 구분한다.
+ * 알 수 없는 열은 무시한다.
+ */
+class CsvProductRowReader implements ProductRowReader {
+
+    static final String IMAGE_LINK_SEPARATOR = "\\|";
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long rowNumber;
+    private int next = -2;
+
+    CsvProductRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+        rowNumber++;
+
+        try {
+            return ImportRow.of(rowNumber, ProductRequestData.builder()
+                .id(value(record, "id", Long::valueOf))
+                .name(value(record, "name", Function.identity()))
+                .brand(value(record, "brand", Function.identity()))
+                .price(value(record, "price", Long::valueOf))
+                .description(value(record, "description", Function.identity()))
+                .categoryId(value(record, "category_id", Long::valueOf))
+                .isEcoFriendly(value(record, "is_eco_friendly", CsvProductRowReader::parseBoolean))
+                .carbonEmissions(value(record, "carbon_emissions", Integer::valueOf))
+                .imageLink(value(record, "image_link", link -> Arrays.asList(link.split(IMAGE_LINK_SEPARATOR))))
+                .build());
+        } catch (IllegalArgumentException exception) {
+            return ImportRow.failed(rowNumber, exception.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private <T> T value(List<String> record, String column, Function<String, T> parser) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(record.get(index));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException(column + ": invalid value '" + record.get(index) + "'");
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    /**
+     * 레코드 하나를 읽는다. 따옴표 안의 쉼표와 줄바꿈은 값에 포함된다.
+     * @return 레코드의 값 목록, 파일 끝이면 null
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field at row " + (rowNumber + 1));
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                values.add(value.toString());
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (next != -2) {
+            int c = next;
+            next = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (next == -2) {
+            next = reader.read();
+        }
+        return next;
+    }
+}
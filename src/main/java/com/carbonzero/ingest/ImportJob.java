@@ -0,0 +1,102 @@
+package com.carbonzero.ingest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.carbonzero.export.ExportFormat;
+
+import lombok.Getter;
+
+/**
+ * 상품 가져오기 작업의 진행 상황.
+ * 행 오류는 maxErrors 개까지만 보관하고 그 뒤로는 개수만 센다.
+ */
+@Getter
+public class ImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @Getter
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ExportFormat format;
+    private final long totalBytes;
+    private final int maxErrors;
+    private final LocalDateTime createAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime startAt;
+    private volatile LocalDateTime finishAt;
+
+    private final AtomicLong readBytes = new AtomicLong();
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong succeededRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+
+    public ImportJob(ExportFormat format, long totalBytes, int maxErrors) {
+        this.format = format;
+        this.totalBytes = totalBytes;
+        this.maxErrors = maxErrors;
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    void start() {
+        startAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.message = message;
+        finishAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void addReadBytes(long bytes) {
+        readBytes.addAndGet(bytes);
+    }
+
+    void succeeded() {
+        processedRows.incrementAndGet();
+        succeededRows.incrementAndGet();
+    }
+
+    void failed(long row, String message) {
+        processedRows.incrementAndGet();
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
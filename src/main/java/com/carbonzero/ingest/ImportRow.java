@@ -0,0 +1,29 @@
+package com.carbonzero.ingest;
+
+import com.carbonzero.dto.ProductRequestData;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 파일에서 읽은 한 행. 행을 해석하지 못했으면 product 는 null 이고 error 에 사유가 담긴다.
+ */
+@Getter
+@AllArgsConstructor
+class ImportRow {
+    private final long number;
+    private final ProductRequestData product;
+    private final String error;
+
+    static ImportRow of(long number, ProductRequestData product) {
+        return new ImportRow(number, product, null);
+    }
+
+    static ImportRow failed(long number, String error) {
+        return new ImportRow(number, null, error);
+    }
+
+    boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.carbonzero.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.carbonzero.dto.ProductRequestData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * 한 줄에 상품 하나씩 담긴 JSON 을 읽는다. 행 번호는 파일의 줄 번호이고 빈 줄은 건너뛴다.
+ * 줄마다 따로 해석하므로 잘못된 줄이 있어도 다음 줄부터 계속 읽는다.
+ */
+class NdjsonProductRowReader implements ProductRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+
+    NdjsonProductRowReader(ObjectMapper objectMapper, BufferedReader reader) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(ProductRequestData.class);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return ImportRow.of(lineNumber, objectReader.readValue(line));
+        } catch (JsonProcessingException exception) {
+            return ImportRow.failed(lineNumber, exception.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
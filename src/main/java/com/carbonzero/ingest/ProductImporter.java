@@ -0,0 +1,181 @@
+package com.carbonzero.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.dto.BulkProductItemResult;
+import com.carbonzero.dto.ProductRequestData;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.error.ImportQueueFullException;
+import com.carbonzero.export.ExportFormat;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.service.ProductBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상품 파일 가져오기.
+ * 업로드된 파일을 임시 파일로 옮긴 뒤 전용 스레드에서 한 행씩 읽어 chunkSize 개마다 일괄 등록한다.
+ * 한 묶음을 저장해야 다음 묶음을 읽으므로 파일 크기와 상관없이 메모리에는 한 묶음만 올라간다.
+ * 작업은 한 번에 하나씩 실행되고, 대기열이 가득 차면 새 작업을 받지 않는다.
+ */
+@Slf4j
+@Component
+public class ProductImporter {
+
+    private final ProductBulkService productBulkService;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs;
+
+    public ProductImporter(ProductBulkService productBulkService, CategoryRepository categoryRepository,
+        ObjectMapper objectMapper,
+        @Value("${carbonzero.import.chunk-size:1000}") int chunkSize,
+        @Value("${carbonzero.import.max-errors:1000}") int maxErrors,
+        @Value("${carbonzero.import.queue-capacity:4}") int queueCapacity,
+        @Value("${carbonzero.import.retained-jobs:100}") int retainedJobs) {
+        this.productBulkService = productBulkService;
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("product-import-"));
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > retainedJobs && eldest.getValue().isFinished();
+            }
+        };
+    }
+
+    /**
+     * 업로드된 파일을 가져오는 작업을 대기열에 넣는다.
+     * @param format 파일 형식
+     * @param file 업로드된 파일
+     * @return 대기 중인 작업
+     */
+    public ImportJob submit(ExportFormat format, MultipartFile file) throws IOException {
+        // 요청이 끝나면 업로드된 파일이 지워지므로 작업이 끝날 때까지 남아 있을 곳으로 옮긴다.
+        Path path = Files.createTempFile("product-import-", "." + format.getExtension());
+        file.transferTo(path);
+
+        ImportJob job = new ImportJob(format, Files.size(path), maxErrors);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(job, path));
+        } catch (RejectedExecutionException exception) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+            }
+            Files.deleteIfExists(path);
+            throw new ImportQueueFullException(queueCapacity);
+        }
+        return job;
+    }
+
+    public Optional<ImportJob> getJob(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(ImportJob job, Path path) {
+        job.start();
+        try (ProductRowReader reader = reader(job, path)) {
+            Map<Long, Category> categories = categoryRepository.findAllByIsActive(true).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                if (row.isFailed()) {
+                    job.failed(row.getNumber(), row.getError());
+                } else if (!categories.containsKey(row.getProduct().getCategoryId())) {
+                    job.failed(row.getNumber(), new CategoryNotFoundException(row.getProduct().getCategoryId()).getMessage());
+                } else {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        write(job, chunk, categories);
+                        chunk.clear();
+                    }
+                }
+            }
+            write(job, chunk, categories);
+            job.complete();
+        } catch (Exception exception) {
+            log.error("Product import {} failed", job.getId(), exception);
+            job.fail(exception.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException exception) {
+                log.warn("Could not delete import file {}", path, exception);
+            }
+        }
+    }
+
+    private void write(ImportJob job, List<ImportRow> chunk, Map<Long, Category> categories) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<ProductRequestData> products = chunk.stream().map(ImportRow::getProduct).collect(Collectors.toList());
+        for (BulkProductItemResult result : productBulkService.upsert(products, categories).getResults()) {
+            if (result.isFailed()) {
+                job.failed(chunk.get(result.getIndex()).getNumber(), result.getMessage());
+            } else {
+                job.succeeded();
+            }
+        }
+    }
+
+    private ProductRowReader reader(ImportJob job, Path path) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new CountingInputStream(Files.newInputStream(path), job), StandardCharsets.UTF_8));
+        switch (job.getFormat()) {
+            case CSV:
+                return new CsvProductRowReader(reader);
+            case NDJSON:
+            default:
+                return new NdjsonProductRowReader(objectMapper, reader);
+        }
+    }
+}
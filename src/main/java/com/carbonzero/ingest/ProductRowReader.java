@@ -0,0 +1,16 @@
+package com.carbonzero.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 파일에서 상품을 한 행씩 읽는다. 앞으로 읽을 행을 미리 불러오지 않는다.
+ */
+interface ProductRowReader extends Closeable {
+
+    /**
+     * 다음 행을 읽는다.
+     * @return 다음 행, 더 읽을 행이 없으면 null
+     */
+    ImportRow next() throws IOException;
+}
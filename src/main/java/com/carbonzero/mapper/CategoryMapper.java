@@ -0,0 +1,34 @@
+package com.carbonzero.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.dto.CategoryRequest;
+import com.carbonzero.dto.CategoryResponseData;
+
+/**
+ * 카테고리 엔티티와 dto 사이의 변환. 구현체는 컴파일할 때 MapStruct 가 생성한다.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CategoryMapper {
+
+    /**
+     * 하위 카테고리까지 재귀적으로 변환한다.
+     */
+    @Mapping(target = "codeName", source = "name")
+    CategoryResponseData toResponseData(Category category);
+
+    /**
+     * 요청으로 하위 카테고리가 없는 활성 카테고리를 만든다.
+     * @param request 카테고리 요청
+     * @param parentCategory 요청의 parentId 로 불러온 상위 카테고리, 최상위 카테고리이면 null
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "name", source = "request.name")
+    @Mapping(target = "isActive", constant = "true")
+    @Mapping(target = "parentCategory", source = "parentCategory")
+    @Mapping(target = "subCategoryList", expression = "java(new java.util.ArrayList<>())")
+    Category toEntity(CategoryRequest request, Category parentCategory);
+}
@@ -0,0 +1,59 @@
+package com.carbonzero.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductRequestData;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.repository.ProductIndexRow;
+
+/**
+ * 상품 엔티티와 dto 사이의 변환.
+ * 구현체는 컴파일할 때 MapStruct 가 getter/builder 호출로 생성하므로 실행 중에 리플렉션을 쓰지 않는다.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ProductMapper {
+
+    @Mapping(target = "category", source = "category.name")
+    ProductResponseData toResponseData(Product product);
+
+    @Mapping(target = "category", source = "categoryName")
+    ProductResponseData toResponseData(ProductSnapshot snapshot);
+
+    /**
+     * 영속성 컨텍스트와 분리된 사본을 만든다. 이미지 링크는 변경할 수 없는 목록으로 복사한다.
+     */
+    @Mapping(target = "categoryId", source = "category.id")
+    @Mapping(target = "categoryName", source = "category.name")
+    @Mapping(target = "imageLink", qualifiedByName = "immutableCopy")
+    ProductSnapshot toSnapshot(Product product);
+
+    /**
+     * 검색 인덱스용 행으로 사본을 만든다. 행에는 이미지 링크가 없다.
+     */
+    @Mapping(target = "imageLink", ignore = true)
+    ProductSnapshot toSnapshot(ProductIndexRow row);
+
+    /**
+     * 요청으로 활성 상태의 상품을 만든다. 아이디는 저장할 때 정해진다.
+     * @param request 상품 요청
+     * @param category 요청의 categoryId 로 불러온 카테고리
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "name", source = "request.name")
+    @Mapping(target = "isActive", constant = "true")
+    @Mapping(target = "category", source = "category")
+    Product toEntity(ProductRequestData request, Category category);
+
+    @Named("immutableCopy")
+    default List<String> immutableCopy(List<String> imageLink) {
+        return imageLink == null ? List.of() : List.copyOf(imageLink);
+    }
+}
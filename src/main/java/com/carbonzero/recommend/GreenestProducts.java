@@ -0,0 +1,111 @@
+package com.carbonzero.recommend;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.carbonzero.dto.ProductResponseData;
+
+/**
+ * 한 카테고리에서 탄소 배출량이 가장 적은 친환경 상품을 최대 capacity 개까지 정렬해 보관한다.
+ * 가득 차 있지 않으면 카테고리의 모든 추천 대상을 담고 있다는 뜻이다.
+ * 가득 찬 상태에서 상품이 빠지면 바깥의 어떤 상품이 들어와야 하는지 알 수 없으므로,
+ * 다음 조회 때 저장소에서 다시 채우도록 stale 로 표시한다.
+ * 저장소 조회는 잠금 밖에서 하고, 조회하는 동안 변경이 없었을 때만 결과를 보관한다.
+ */
+class GreenestProducts {
+
+    static final Comparator<ProductResponseData> GREENEST_FIRST = Comparator
+        .comparing(ProductResponseData::getCarbonEmissions, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(ProductResponseData::getId);
+
+    private final int capacity;
+    private final TreeSet<ProductResponseData> products = new TreeSet<>(GREENEST_FIRST);
+    private boolean stale = true;
+    // update 를 부를 때마다 하나씩 늘어난다.
+    private long version;
+
+    GreenestProducts(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 배출량이 적은 순서로 상품을 반환한다.
+     * @param size 반환할 최대 상품 수
+     * @param excludedId 결과에서 제외할 상품 아이디, 없으면 null
+     * @param loader stale 상태일 때 카테고리의 상위 capacity 개 상품을 불러오는 함수
+     */
+    List<ProductResponseData> top(int size, Long excludedId, Supplier<List<ProductResponseData>> loader) {
+        long loadedVersion;
+        synchronized (this) {
+            if (!stale) {
+                return top(products, size, excludedId);
+            }
+            loadedVersion = version;
+        }
+
+        List<ProductResponseData> loaded = loader.get();
+
+        synchronized (this) {
+            if (!stale) {
+                return top(products, size, excludedId);
+            }
+            if (version == loadedVersion) {
+                products.clear();
+                products.addAll(loaded);
+                stale = false;
+                return top(products, size, excludedId);
+            }
+        }
+        // 조회하는 동안 변경이 있었으면 보관하지 않고, 다음 조회 때 다시 불러온다.
+        return top(loaded, size, excludedId);
+    }
+
+    private static List<ProductResponseData> top(Collection<ProductResponseData> products, int size,
+        Long excludedId) {
+        return products.stream()
+            .filter(product -> !Objects.equals(product.getId(), excludedId))
+            .limit(size)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 상품 변경을 반영한다.
+     * @param productId 변경된 상품 아이디
+     * @param product 추천 대상이면 새 상품 정보, 추천 대상이 아니거나 삭제되었으면 null
+     */
+    synchronized void update(Long productId, ProductResponseData product) {
+        version++;
+        if (stale) {
+            return;
+        }
+
+        boolean full = products.size() >= capacity;
+        boolean removed = products.removeIf(candidate -> candidate.getId().equals(productId));
+
+        if (!full) {
+            if (product != null) {
+                products.add(product);
+            }
+            return;
+        }
+
+        if (removed) {
+            if (product != null && !products.isEmpty() && GREENEST_FIRST.compare(product, products.last()) <= 0) {
+                products.add(product);
+            } else {
+                stale = true;
+            }
+            return;
+        }
+
+        if (product != null) {
+            products.add(product);
+            products.pollLast();
+        }
+    }
+}
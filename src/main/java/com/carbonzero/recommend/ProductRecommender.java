@@ -0,0 +1,167 @@
+package com.carbonzero.recommend;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.error.ProductNotFoundException;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangeBuffer;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.ProductQueryRepository;
+
+/**
+ * 카테고리별 친환경 추천 상품 엔진.
+ * 상품이 속한 카테고리와 카테고리별 배출량 상위 상품을 메모리에 두고, 상품 변경이 커밋될 때마다 갱신한다.
+ * 추천 조회는 데이터베이스에 접근하지 않는다.
+ * 상품의 카테고리를 처음 불러오기를 마칠 때까지는 기준 상품의 카테고리를 저장소에서 조회한다.
+ */
+@Component
+public class ProductRecommender {
+
+    private final ProductQueryRepository productQueryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ProductMapper productMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int size;
+    private final boolean excludeCurrent;
+
+    private volatile Map<Long, Long> productCategories = new ConcurrentHashMap<>();
+    private final Map<Long, GreenestProducts> categories = new ConcurrentHashMap<>();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+
+    public ProductRecommender(ProductQueryRepository productQueryRepository, CategoryTreeCache categoryTreeCache,
+        ProductMapper productMapper, PlatformTransactionManager transactionManager,
+        @Value("${carbonzero.recommend.size:5}") int size,
+        @Value("${carbonzero.recommend.exclude-current:false}") boolean excludeCurrent) {
+        this.productQueryRepository = productQueryRepository;
+        this.categoryTreeCache = categoryTreeCache;
+        this.productMapper = productMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.size = size;
+        this.excludeCurrent = excludeCurrent;
+    }
+
+    /**
+     * 상품과 같은 카테고리에서 탄소 배출량이 가장 적은 친환경 상품을 추천한다.
+     * @param productId 기준 상품 아이디
+     * @return 추천 상품 목록
+     */
+    public List<ProductResponseData> recommend(Long productId) {
+        return recommend(productId, excludeCurrent);
+    }
+
+    /**
+     * 상품과 같은 카테고리에서 탄소 배출량이 가장 적은 친환경 상품을 추천한다.
+     * @param productId 기준 상품 아이디
+     * @param excludeCurrent 기준 상품을 추천 목록에서 제외할지 여부
+     * @return 추천 상품 목록
+     */
+    public List<ProductResponseData> recommend(Long productId, boolean excludeCurrent) {
+        Long categoryId = categoryId(productId);
+        if (categoryId == null) {
+            throw new ProductNotFoundException(productId);
+        }
+        if (!categoryTreeCache.getTree().isActive(categoryId)) {
+            throw new CategoryNotFoundException(categoryId);
+        }
+
+        return greenest(categoryId).top(size, excludeCurrent ? productId : null,
+            () -> transactionTemplate.execute(status -> productQueryRepository.findGreenest(categoryId, size + 1)));
+    }
+
+    /**
+     * 처음 불러오기를 마쳤는지 여부. 그 전에는 기준 상품의 카테고리를 저장소에서 조회한다.
+     */
+    public boolean isReady() {
+        return changes.isReady();
+    }
+
+    /**
+     * 모든 상품의 카테고리를 새로 불러온다.
+     * 불러오는 동안 커밋된 변경은 모아 두었다가 새 목록으로 바꿀 때 다시 적용한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (changes) {
+            changes.start();
+        }
+
+        Map<Long, Long> loaded = new ConcurrentHashMap<>(productQueryRepository.findAllCategoryIds());
+
+        synchronized (changes) {
+            categories.clear();
+            productCategories = loaded;
+            changes.finish().forEach(this::apply);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (changes) {
+            changes.add(event);
+            apply(event);
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.getProduct();
+        Long categoryId = event.isDeleted() ? null : product.getCategoryId();
+
+        Long previousCategoryId = categoryId == null
+            ? productCategories.remove(product.getId())
+            : productCategories.put(product.getId(), categoryId);
+
+        if (previousCategoryId != null && !previousCategoryId.equals(categoryId)) {
+            greenest(previousCategoryId).update(product.getId(), null);
+        }
+        if (categoryId != null) {
+            ProductResponseData candidate = isCandidate(product)
+                ? productMapper.toResponseData(product)
+                : null;
+            greenest(categoryId).update(product.getId(), candidate);
+        }
+    }
+
+    /**
+     * 추천 상품에 담긴 카테고리 이름이 바뀌었을 수 있으므로, 카테고리가 바뀌면 카테고리별 추천 목록을 다음 조회 때 다시 불러온다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        synchronized (changes) {
+            categories.clear();
+        }
+    }
+
+    private Long categoryId(Long productId) {
+        if (changes.isReady()) {
+            return productCategories.get(productId);
+        }
+        return transactionTemplate.execute(status -> productQueryRepository.findCategoryId(productId).orElse(null));
+    }
+
+    private GreenestProducts greenest(Long categoryId) {
+        // 기준 상품을 제외해도 size 개를 채울 수 있도록 한 개 더 보관한다.
+        return categories.computeIfAbsent(categoryId, id -> new GreenestProducts(size + 1));
+    }
+
+    private boolean isCandidate(ProductSnapshot product) {
+        return Boolean.TRUE.equals(product.getIsActive()) && Boolean.TRUE.equals(product.getIsEcoFriendly());
+    }
+}
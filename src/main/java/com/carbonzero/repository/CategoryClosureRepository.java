@@ -0,0 +1,26 @@
+package com.carbonzero.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.carbonzero.domain.CategoryClosure;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    /**
+     * 새 카테고리를 상위 카테고리의 모든 상위 카테고리와 자기 자신의 하위 카테고리로 등록한다.
+     * 아이디를 select 목록에 바인딩하면 타입을 추론하지 못하는 데이터베이스가 있어서 저장한 카테고리 행에서 읽는다.
+     * @param categoryId 새 카테고리 아이디
+     * @param parentId 상위 카테고리 아이디, 최상위 카테고리이면 null
+     * @return 추가한 행 수
+     */
+    @Modifying
+    @Query(value = "insert into {h-schema}category_closure (ancestor_id, descendant_id, depth)"
+        + " select closure.ancestor_id, category.id, closure.depth + 1"
+        + " from {h-schema}category_closure closure join {h-schema}category category on category.id = :categoryId"
+        + " where closure.descendant_id = :parentId"
+        + " union all select id, id, 0 from {h-schema}category where id = :categoryId", nativeQuery = true)
+    int addCategory(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+}
@@ -1,9 +1,11 @@
 package com.carbonzero.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.carbonzero.domain.Category;
 
@@ -13,4 +15,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByIdAndIsActive(Long categoryId, boolean active);
 
     List<Category> findAllByIsActive(boolean active);
+
+    List<Category> findAllByIdInAndIsActive(Collection<Long> categoryIds, boolean active);
+
+    @Query("select c.id as id, c.name as name, c.isActive as isActive, p.id as parentId"
+        + " from Category c left join c.parentCategory p order by c.id")
+    List<CategoryRow> findAllRows();
 }
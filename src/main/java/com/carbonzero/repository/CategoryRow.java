@@ -0,0 +1,14 @@
+package com.carbonzero.repository;
+
+/**
+ * 카테고리 트리를 만들 때 사용하는 카테고리 한 행.
+ */
+public interface CategoryRow {
+    Long getId();
+
+    String getName();
+
+    Boolean getIsActive();
+
+    Long getParentId();
+}
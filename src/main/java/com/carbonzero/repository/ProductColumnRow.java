@@ -0,0 +1,24 @@
+package com.carbonzero.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 열 기반 상품 스냅샷과 카테고리별 탄소 배출량 통계를 만들 때 사용하는 상품 한 행.
+ */
+public interface ProductColumnRow {
+    Long getId();
+
+    String getBrand();
+
+    Long getPrice();
+
+    Integer getCarbonEmissions();
+
+    LocalDateTime getCreateAt();
+
+    Boolean getIsActive();
+
+    Boolean getIsEcoFriendly();
+
+    Long getCategoryId();
+}
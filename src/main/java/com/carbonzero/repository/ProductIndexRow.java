@@ -0,0 +1,32 @@
+package com.carbonzero.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 인덱스를 만들 때 사용하는 상품 한 행. 이미지 링크는 담지 않는다.
+ */
+public interface ProductIndexRow {
+    Long getId();
+
+    String getName();
+
+    String getBrand();
+
+    Long getPrice();
+
+    String getDescription();
+
+    Boolean getIsActive();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Boolean getIsEcoFriendly();
+
+    Integer getCarbonEmissions();
+
+    LocalDateTime getCreateAt();
+
+    LocalDateTime getUpdateAt();
+}
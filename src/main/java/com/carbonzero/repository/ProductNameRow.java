@@ -0,0 +1,14 @@
+package com.carbonzero.repository;
+
+/**
+ * 자동 완성 사전을 만들 때 사용하는 상품 한 행.
+ */
+public interface ProductNameRow {
+    Long getId();
+
+    String getName();
+
+    String getBrand();
+
+    Boolean getIsActive();
+}
@@ -0,0 +1,233 @@
+package com.carbonzero.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductResponseData;
+
+/**
+ * 조회 전용 상품 쿼리.
+ * 엔티티 대신 생성자 표현식으로 ProductResponseData 를 바로 만들기 때문에
+ * 영속성 컨텍스트에 엔티티와 변경 감지용 스냅샷이 쌓이지 않는다.
+ */
+@Repository
+public class ProductQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 상품 목록 한 페이지를 조회한다.
+     */
+    public Page<ProductResponseData> findAll(Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseData> query = builder.createQuery(ProductResponseData.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(selection(builder, root));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+
+        List<ProductResponseData> content = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        Long total = entityManager.createQuery("select count(p) from Product p", Long.class)
+            .getSingleResult();
+
+        return new PageImpl<>(withImageLinks(content), pageable, total);
+    }
+
+    /**
+     * 특정 상품을 조회한다.
+     */
+    public Optional<ProductResponseData> findById(Long id) {
+        return findAllById(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * 주어진 아이디 순서대로 상품을 조회한다. 존재하지 않는 아이디는 건너뛴다.
+     */
+    public List<ProductResponseData> findAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseData> query = builder.createQuery(ProductResponseData.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(selection(builder, root)).where(root.get("id").in(ids));
+
+        Map<Long, ProductResponseData> products = entityManager.createQuery(query).getResultList().stream()
+            .collect(Collectors.toMap(ProductResponseData::getId, Function.identity()));
+
+        return withImageLinks(ids.stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * 상품이 속한 카테고리 아이디를 조회한다.
+     */
+    public Optional<Long> findCategoryId(Long productId) {
+        return entityManager.createQuery(
+                "select p.category.id from Product p where p.id = :id", Long.class)
+            .setParameter("id", productId)
+            .getResultList().stream()
+            .filter(Objects::nonNull)
+            .findFirst();
+    }
+
+    /**
+     * 카테고리가 지정된 모든 상품의 카테고리 아이디를 조회한다.
+     * @return 상품 아이디별 카테고리 아이디
+     */
+    public Map<Long, Long> findAllCategoryIds() {
+        List<Object[]> rows = entityManager.createQuery(
+                "select p.id, c.id from Product p join p.category c", Object[].class)
+            .getResultList();
+
+        Map<Long, Long> categoryIds = new HashMap<>();
+        for (Object[] row : rows) {
+            categoryIds.put((Long) row[0], (Long) row[1]);
+        }
+        return categoryIds;
+    }
+
+    /**
+     * 카테고리에서 탄소 배출량이 가장 적은 친환경 상품을 조회한다.
+     * 배출량이 같으면 아이디 순서를 따른다.
+     */
+    public List<ProductResponseData> findGreenest(Long categoryId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseData> query = builder.createQuery(ProductResponseData.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(selection(builder, root))
+            .where(builder.isTrue(root.get("isActive")),
+                builder.equal(root.get("category").get("id"), categoryId),
+                builder.isTrue(root.get("isEcoFriendly")))
+            .orderBy(builder.asc(root.get("carbonEmissions")), builder.asc(root.get("id")));
+
+        return withImageLinks(entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList());
+    }
+
+    /**
+     * 모든 상품을 아이디 순서로 하나씩 넘겨준다.
+     * 이미지 링크까지 한 번의 전방향 스크롤 쿼리로 읽고, 같은 상품의 행을 모아 ProductResponseData 로 만든다.
+     * 한 번에 fetchSize 행씩 가져오므로 상품 수와 상관없이 메모리 사용량이 일정하다. 트랜잭션 안에서 호출해야 한다.
+     * 엔티티가 아닌 값만 읽으므로 영속성 컨텍스트에는 아무것도 쌓이지 않는다.
+     * @param fetchSize 드라이버가 한 번에 가져올 행 수
+     * @param action 상품마다 호출할 함수
+     */
+    public void streamAll(int fetchSize, Consumer<ProductResponseData> action) {
+        org.hibernate.query.Query<?> query = entityManager.createQuery(
+                "select p.id, p.createAt, p.updateAt, p.isActive, p.name, p.brand, p.price, p.description,"
+                    + " c.name, p.isEcoFriendly, p.carbonEmissions, link"
+                    + " from Product p left join p.category c left join p.imageLink link order by p.id")
+            .unwrap(org.hibernate.query.Query.class)
+            .setFetchSize(fetchSize)
+            .setReadOnly(true);
+
+        try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            ProductResponseData product = null;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                if (product == null || !product.getId().equals(row[0])) {
+                    if (product != null) {
+                        action.accept(product);
+                    }
+                    product = new ProductResponseData((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2],
+                        (Boolean) row[3], (String) row[4], (String) row[5], (Long) row[6], (String) row[7],
+                        (String) row[8], (Boolean) row[9], (Integer) row[10]);
+                    product.setImageLink(new ArrayList<>());
+                }
+                if (row[11] != null) {
+                    product.getImageLink().add((String) row[11]);
+                }
+            }
+            if (product != null) {
+                action.accept(product);
+            }
+        }
+    }
+
+    /**
+     * 상품들의 이미지 링크를 한 번의 쿼리로 불러와 채운다.
+     */
+    public List<ProductResponseData> withImageLinks(List<ProductResponseData> products) {
+        if (products.isEmpty()) {
+            return products;
+        }
+
+        Map<Long, List<String>> imageLinks = findImageLinks(products.stream()
+            .map(ProductResponseData::getId)
+            .collect(Collectors.toList()));
+
+        products.forEach(product -> product.setImageLink(imageLinks.getOrDefault(product.getId(), new ArrayList<>())));
+        return products;
+    }
+
+    private Map<Long, List<String>> findImageLinks(Collection<Long> productIds) {
+        List<Object[]> rows = entityManager.createQuery(
+                "select p.id, link from Product p join p.imageLink link where p.id in :ids", Object[].class)
+            .setParameter("ids", productIds)
+            .getResultList();
+
+        Map<Long, List<String>> imageLinks = new HashMap<>();
+        for (Object[] row : rows) {
+            imageLinks.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return imageLinks;
+    }
+
+    /**
+     * ProductResponseData 생성자 표현식. 카테고리는 이름만 필요하므로 외부 조인으로 가져온다.
+     */
+    public static CompoundSelection<ProductResponseData> selection(CriteriaBuilder builder, Root<Product> root) {
+        Join<Product, Category> category = root.join("category", JoinType.LEFT);
+        return builder.construct(ProductResponseData.class,
+            root.get("id"),
+            root.get("createAt"),
+            root.get("updateAt"),
+            root.get("isActive"),
+            root.get("name"),
+            root.get("brand"),
+            root.get("price"),
+            root.get("description"),
+            category.get("name"),
+            root.get("isEcoFriendly"),
+            root.get("carbonEmissions"));
+    }
+}
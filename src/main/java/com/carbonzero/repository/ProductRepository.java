@@ -1,8 +1,15 @@
 package com.carbonzero.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.carbonzero.domain.Product;
@@ -10,5 +17,35 @@ import com.carbonzero.domain.Product;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findTop5ByIsActiveAndCategoryIdAndIsEcoFriendlyOrderByCarbonEmissionsAsc(boolean active,Long categoryId,boolean isEcoFriendly);
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "imageLink"})
+    Optional<Product> findById(Long id);
+
+    @Query("select p.id as id, p.name as name, p.brand as brand, p.isActive as isActive from Product p")
+    List<ProductNameRow> findAllNameRows();
+
+    @Query("select p.id as id, p.brand as brand, p.price as price, p.carbonEmissions as carbonEmissions,"
+        + " p.createAt as createAt, p.isActive as isActive, p.isEcoFriendly as isEcoFriendly, c.id as categoryId"
+        + " from Product p left join p.category c")
+    List<ProductColumnRow> findAllColumnRows();
+
+    @Query("select p.id as id, p.name as name, p.brand as brand, p.price as price, p.description as description,"
+        + " p.isActive as isActive, c.id as categoryId, c.name as categoryName, p.isEcoFriendly as isEcoFriendly,"
+        + " p.carbonEmissions as carbonEmissions, p.createAt as createAt, p.updateAt as updateAt"
+        + " from Product p left join p.category c")
+    List<ProductIndexRow> findAllIndexRows();
+
+    // p.category.id 는 조인 없이 상품의 카테고리 외래 키 컬럼과 비교한다.
+    @Query("select p.id as id, p.brand as brand, p.price as price, p.carbonEmissions as carbonEmissions,"
+        + " p.createAt as createAt, p.isActive as isActive, p.isEcoFriendly as isEcoFriendly, p.category.id as categoryId"
+        + " from Product p where p.category.id in :categoryIds")
+    List<ProductColumnRow> findColumnRowsByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
 }
@@ -0,0 +1,17 @@
+package com.carbonzero.search;
+
+/**
+ * 검색 결과의 전체 건수를 구하는 방법.
+ */
+public enum CountStrategy {
+    /** 매 요청마다 count 쿼리를 실행한다. */
+    EXACT,
+    /** 상한까지만 센다. 상한을 넘으면 "1000+" 처럼 표시할 수 있도록 totalCapped 가 true 가 된다. */
+    CAPPED,
+    /** 검색 조건별로 건수를 캐시하고, 상품이 바뀌면 비운다. */
+    CACHED,
+    /** 결과 페이지가 페이지 크기보다 작으면 건수를 계산으로 구하고, 그 외에는 count 쿼리를 실행한다. */
+    SKIP_WHEN_SHORT,
+    /** 페이지 쿼리와 동시에 다른 커넥션에서 count 쿼리를 실행한다. */
+    PARALLEL
+}
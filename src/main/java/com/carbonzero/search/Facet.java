@@ -0,0 +1,15 @@
+package com.carbonzero.search;
+
+/**
+ * 검색 결과와 함께 셀 수 있는 패싯.
+ */
+public enum Facet {
+    /** 카테고리별 상품 수 */
+    CATEGORY,
+    /** 상품이 많은 브랜드부터 carbonzero.search.facets.brand-size 개 */
+    BRAND,
+    /** carbonzero.search.facets.price-buckets 경계로 나눈 가격대별 상품 수 */
+    PRICE,
+    /** 친환경 여부별 상품 수 */
+    ECO_FRIENDLY
+}
@@ -0,0 +1,183 @@
+package com.carbonzero.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.carbonzero.dto.FacetCount;
+import com.carbonzero.dto.PriceFacetCount;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.dto.SearchFacets;
+
+/**
+ * 검색 결과를 훑으면서 요청한 패싯의 상품 수를 모두 센다.
+ * 열 스냅샷은 패싯 값별 상품 수를, 데이터베이스 검색은 요청한 패싯 값으로 묶은 집계 쿼리의 행을,
+ * 인덱스 검색은 일치한 상품을 하나씩 더한다.
+ */
+public class FacetAccumulator {
+
+    private final Set<Facet> facets;
+    private final long[] priceBounds;
+    private final Map<Long, FacetCount> categories = new HashMap<>();
+    private final Map<String, Long> brands = new HashMap<>();
+    private final long[] prices;
+    private long ecoFriendly;
+    private long notEcoFriendly;
+    private long total;
+
+    /**
+     * @param facets 셀 패싯
+     * @param priceBounds 가격대 경계, 엄격하게 증가해야 한다.
+     */
+    public FacetAccumulator(Set<Facet> facets, long[] priceBounds) {
+        checkPriceBounds(priceBounds);
+        this.facets = facets;
+        this.priceBounds = priceBounds.clone();
+        this.prices = new long[priceBounds.length + 1];
+    }
+
+    /**
+     * 가격대 경계가 비어 있지 않고 엄격하게 증가하는지 확인한다.
+     * 그렇지 않으면 가격대가 겹치거나 비어서 상품이 엉뚱한 가격대에 세어진다.
+     */
+    public static void checkPriceBounds(long[] priceBounds) {
+        if (priceBounds == null || priceBounds.length == 0) {
+            throw new IllegalArgumentException("Price buckets must not be empty");
+        }
+        for (int i = 1; i < priceBounds.length; i++) {
+            if (priceBounds[i] <= priceBounds[i - 1]) {
+                throw new IllegalArgumentException(
+                    "Price buckets must be strictly increasing: " + Arrays.toString(priceBounds));
+            }
+        }
+    }
+
+    public boolean contains(Facet facet) {
+        return facets.contains(facet);
+    }
+
+    public long[] getPriceBounds() {
+        return priceBounds.clone();
+    }
+
+    /**
+     * 검색된 상품 수. 패싯을 세면서 함께 세므로 따로 count 쿼리를 실행하지 않아도 된다.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public void add(ProductSnapshot product) {
+        addTotal(1);
+        addCategory(product.getCategoryId(), product.getCategoryName(), 1);
+        addBrand(product.getBrand(), 1);
+        addPrice(priceBucket(product.getPrice()), 1);
+        addEcoFriendly(product.getIsEcoFriendly(), 1);
+    }
+
+    /**
+     * 검색된 상품 수를 더한다. 패싯별로 더하는 값과 따로 센다.
+     */
+    public void addTotal(long count) {
+        total += count;
+    }
+
+    /**
+     * 같은 카테고리의 상품 수를 더한다. 카테고리가 없거나 카테고리 패싯을 요청하지 않았으면 무시한다.
+     */
+    public void addCategory(Long categoryId, String categoryName, long count) {
+        if (facets.contains(Facet.CATEGORY) && categoryId != null) {
+            categories.merge(categoryId, new FacetCount(categoryId, categoryName, count),
+                (left, right) -> new FacetCount(categoryId, categoryName, left.getCount() + right.getCount()));
+        }
+    }
+
+    /**
+     * 같은 브랜드의 상품 수를 더한다. 브랜드가 없거나 브랜드 패싯을 요청하지 않았으면 무시한다.
+     */
+    public void addBrand(String brand, long count) {
+        if (facets.contains(Facet.BRAND) && brand != null) {
+            brands.merge(brand, count, Long::sum);
+        }
+    }
+
+    /**
+     * 같은 가격대의 상품 수를 더한다. 가격이 없거나 가격 패싯을 요청하지 않았으면 무시한다.
+     * @param priceBucket 가격대 번호, 가격이 없으면 null
+     */
+    public void addPrice(Integer priceBucket, long count) {
+        if (facets.contains(Facet.PRICE) && priceBucket != null) {
+            prices[priceBucket] += count;
+        }
+    }
+
+    /**
+     * 친환경 여부가 같은 상품 수를 더한다. 친환경 여부가 없으면 친환경이 아닌 것으로 센다.
+     */
+    public void addEcoFriendly(Boolean isEcoFriendly, long count) {
+        if (facets.contains(Facet.ECO_FRIENDLY)) {
+            if (Boolean.TRUE.equals(isEcoFriendly)) {
+                ecoFriendly += count;
+            } else {
+                notEcoFriendly += count;
+            }
+        }
+    }
+
+    /**
+     * @return 가격이 속한 가격대 번호, 가격이 없으면 null
+     */
+    public Integer priceBucket(Long price) {
+        if (price == null) {
+            return null;
+        }
+        int bucket = 0;
+        while (bucket < priceBounds.length && price >= priceBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * @param brandSize 반환할 최대 브랜드 수
+     */
+    public SearchFacets toFacets(int brandSize) {
+        Comparator<FacetCount> byCount = Comparator.comparingLong(FacetCount::getCount).reversed()
+            .thenComparing(FacetCount::getValue, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        List<FacetCount> category = null;
+        if (facets.contains(Facet.CATEGORY)) {
+            category = categories.values().stream().sorted(byCount).collect(Collectors.toList());
+        }
+
+        List<FacetCount> brand = null;
+        if (facets.contains(Facet.BRAND)) {
+            brand = brands.entrySet().stream()
+                .map(entry -> new FacetCount(null, entry.getKey(), entry.getValue()))
+                .sorted(byCount)
+                .limit(brandSize)
+                .collect(Collectors.toList());
+        }
+
+        List<PriceFacetCount> price = null;
+        if (facets.contains(Facet.PRICE)) {
+            price = new ArrayList<>();
+            for (int i = 0; i < prices.length; i++) {
+                price.add(new PriceFacetCount(i == 0 ? null : priceBounds[i - 1],
+                    i == priceBounds.length ? null : priceBounds[i], prices[i]));
+            }
+        }
+
+        List<FacetCount> eco = null;
+        if (facets.contains(Facet.ECO_FRIENDLY)) {
+            eco = List.of(new FacetCount(null, "true", ecoFriendly), new FacetCount(null, "false", notEcoFriendly));
+        }
+
+        return new SearchFacets(category, brand, price, eco);
+    }
+}
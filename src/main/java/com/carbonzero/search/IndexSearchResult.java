@@ -0,0 +1,16 @@
+package com.carbonzero.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색 인덱스 조회 결과. 요청한 페이지의 상품 아이디와 전체 일치 건수를 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class IndexSearchResult {
+    private final List<Long> productIds;
+    private final long total;
+}
@@ -0,0 +1,72 @@
+package com.carbonzero.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import com.carbonzero.dto.ProductSnapshot;
+
+import lombok.Getter;
+
+/**
+ * 검색 인덱스에 저장되는 상품 문서.
+ * 검색 대상 필드는 미리 정규화해서 보관한다.
+ */
+@Getter
+class IndexedProduct {
+
+    private final ProductSnapshot product;
+    private final String name;
+    private final String brand;
+    private final String description;
+
+    IndexedProduct(ProductSnapshot product) {
+        this.product = product;
+        this.name = normalize(product.getName());
+        this.brand = normalize(product.getBrand());
+        this.description = normalize(product.getDescription());
+    }
+
+    Long getId() {
+        return product.getId();
+    }
+
+    /**
+     * 문서에 포함된 모든 n-gram 을 반환한다.
+     */
+    Set<String> grams(int gramSize) {
+        Set<String> grams = new LinkedHashSet<>();
+        addGrams(grams, name, gramSize);
+        addGrams(grams, brand, gramSize);
+        addGrams(grams, description, gramSize);
+        return grams;
+    }
+
+    boolean matchesKeyword(String keyword) {
+        return contains(name, keyword) || contains(brand, keyword) || contains(description, keyword);
+    }
+
+    static boolean contains(String field, String term) {
+        return field != null && field.contains(term);
+    }
+
+    static void addGrams(Set<String> grams, String text, int gramSize) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + gramSize <= text.length(); i++) {
+            grams.add(text.substring(i, i + gramSize));
+        }
+    }
+
+    /**
+     * 자모가 분리된(NFD) 한글 입력도 같은 음절로 비교되도록 NFC 로 맞추고 소문자로 바꾼다.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+}
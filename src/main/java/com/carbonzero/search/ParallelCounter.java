@@ -0,0 +1,124 @@
+package com.carbonzero.search;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 검색 결과의 전체 건수를 페이지 쿼리와 동시에 센다.
+ * 건수는 전용 스레드에서 새 읽기 전용 트랜잭션, 즉 풀의 다른 커넥션으로 세므로 검색 지연 시간이 두 쿼리의 합 대신 큰 쪽에 가까워진다.
+ * 스레드가 모두 바빠 아직 시작하지 못했거나, 실패했거나, timeout 안에 끝나지 않으면 호출한 트랜잭션에서 직접 센다.
+ * 시간 안에 끝나지 않은 건수는 직접 세기 전에 취소한다. 스레드를 중단시켜도 실행 중인 쿼리는 멈추지 않으므로,
+ * 전용 트랜잭션에도 같은 시간 제한을 두어 드라이버가 쿼리를 취소하고 커넥션을 풀에 돌려주게 한다.
+ * 전용 스레드도 커넥션을 쓰므로 threads 는 커넥션 풀 크기보다 작게 둔다.
+ */
+@Slf4j
+@Component
+public class ParallelCounter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public ParallelCounter(PlatformTransactionManager transactionManager,
+        @Value("${carbonzero.search.parallel-count.threads:4}") int threads,
+        @Value("${carbonzero.search.parallel-count.queue-capacity:100}") int queueCapacity,
+        @Value("${carbonzero.search.parallel-count.timeout-millis:5000}") long timeoutMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // 트랜잭션 시간 제한은 초 단위이고, Hibernate 는 남은 시간을 초 단위로 내림해 쿼리 시간 제한으로 쓰므로 1초를 더한다.
+        this.transactionTemplate.setTimeout((int) TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999) + 1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("search-count-"));
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 전용 스레드에서 건수 세기를 시작한다. 대기열이 가득 차면 시작하지 않고, join 에서 직접 센다.
+     * @param counter 건수를 세는 함수, 전용 스레드의 읽기 전용 트랜잭션 안에서 실행된다.
+     */
+    public Count submit(Supplier<Long> counter) {
+        Count count = new Count();
+        try {
+            count.future = executor.submit(
+                () -> count.claim() ? transactionTemplate.execute(status -> counter.get()) : null);
+        } catch (RejectedExecutionException exception) {
+            count.future = null;
+        }
+        return count;
+    }
+
+    /**
+     * submit 으로 시작한 건수를 기다린다.
+     * @param count submit 의 반환값
+     * @param counter 전용 스레드에서 세지 못했을 때 호출한 스레드에서 건수를 세는 함수
+     */
+    public long join(Count count, Supplier<Long> counter) {
+        // 전용 스레드가 아직 시작하지 않았으면 가져와서 직접 센다.
+        if (count.claim()) {
+            if (count.future != null) {
+                count.future.cancel(false);
+            }
+            return counter.get();
+        }
+        Future<Long> future = count.future;
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the search count", exception);
+        } catch (TimeoutException | CancellationException exception) {
+            // 커넥션을 기다리는 중이면 중단시켜 풀을 비워 둔다.
+            future.cancel(true);
+            return counter.get();
+        } catch (ExecutionException exception) {
+            log.warn("Parallel search count failed, counting on the caller's connection", exception.getCause());
+            return counter.get();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 세기 시작한 건수. 전용 스레드와 호출한 스레드 중 먼저 가져간 쪽이 센다.
+     */
+    public static class Count {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile Future<Long> future;
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * 전용 스레드에서 세던 건수를 취소했는지 여부.
+         */
+        boolean isCancelled() {
+            Future<Long> started = future;
+            return started != null && started.isCancelled();
+        }
+    }
+}
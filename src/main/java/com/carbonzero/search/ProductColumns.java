@@ -0,0 +1,673 @@
+package com.carbonzero.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.category.CategoryTree;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.event.ProductChangeBuffer;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.repository.ProductColumnRow;
+import com.carbonzero.repository.ProductRepository;
+
+/**
+ * 아이디, 가격, 탄소 배출량, 등록일을 기본형 배열에 열로 담은 인메모리 상품 스냅샷.
+ * 열마다 값 순서로 정렬한 행 번호 배열을, 판매 여부, 친환경 여부, 카테고리마다 행 비트셋을 둔다.
+ * 하위 카테고리를 포함하는 카테고리 조건은 카테고리 트리의 하위 카테고리 비트셋을 합쳐서 평가한다.
+ * 검색어 없이 가격 범위, 카테고리, 판매 여부, 친환경 여부로 거르고 정렬하는 검색은
+ * 비트셋 교집합으로 거른 뒤 정렬된 행 번호를 따라가거나 상위 K 개만 골라서 한 페이지를 만들고, 데이터베이스를 훑지 않는다.
+ * 패싯도 같은 비트셋으로 센다. 카테고리와 친환경 여부는 비트셋 교집합의 크기로, 브랜드와 가격대는 일치한 행을 한 번 훑어서 센다.
+ * 처음 만들기를 마칠 때까지는 isReady 가 false 이고, 검색 서비스는 데이터베이스에서 검색한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carbonzero.search.columnar", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+public class ProductColumns {
+
+    /**
+     * 값이 없음을 나타내는 값. 오름차순에서 가장 앞에 온다.
+     */
+    static final long NULL = Long.MIN_VALUE;
+
+    private final ProductRepository productRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Table table = new Table(16);
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+
+    public ProductColumns(ProductRepository productRepository, CategoryTreeCache categoryTreeCache) {
+        this.productRepository = productRepository;
+        this.categoryTreeCache = categoryTreeCache;
+    }
+
+    /**
+     * 열 스냅샷으로 처리할 수 있는 검색인지 확인한다.
+     * 문자열 검색어가 없고, 아이디, 가격, 탄소 배출량, 등록일 중 하나로 정렬해야 한다.
+     */
+    public boolean supports(ProductSearchRequest request, Sort.Order order) {
+        return isBlank(request.getSearchKeyword())
+            && isBlank(request.getProductName())
+            && isBlank(request.getBrand())
+            && isBlank(request.getDescription())
+            && Column.of(order.getProperty()) != null;
+    }
+
+    /**
+     * 검색 조건에 맞는 상품 아이디를 정렬하여 한 페이지만큼 반환한다.
+     * 정렬 값이 같으면 아이디로 순서를 정하고, null 은 오름차순에서 가장 앞에 온다.
+     * 카테고리 조건은 하위 카테고리의 상품까지 포함한다.
+     * @param request 검색 조건, supports 를 만족해야 한다.
+     * @param order 정렬 조건
+     * @param offset 건너뛸 상품 수
+     * @param limit 반환할 최대 상품 수
+     * @return 페이지의 상품 아이디와 전체 일치 건수
+     */
+    public IndexSearchResult search(ProductSearchRequest request, Sort.Order order, long offset, int limit) {
+        return search(request, order, offset, limit, null);
+    }
+
+    /**
+     * 검색 조건에 맞는 상품 아이디를 정렬하여 한 페이지만큼 반환하고, 일치한 상품을 패싯별로 센다.
+     * @param facets 일치한 상품을 더할 패싯, 세지 않으면 null
+     */
+    public IndexSearchResult search(ProductSearchRequest request, Sort.Order order, long offset, int limit,
+        FacetAccumulator facets) {
+        Column column = Column.of(order.getProperty());
+        if (column == null) {
+            throw new IllegalArgumentException("열 스냅샷으로 정렬할 수 없는 필드입니다: " + order.getProperty());
+        }
+
+        CategoryTree tree = categoryTreeCache.getTree();
+        Set<Long> categoryIds = request.getCategoryId() != null ? tree.subtree(request.getCategoryId()) : null;
+
+        lock.readLock().lock();
+        try {
+            return table.search(request, categoryIds, column, order.isAscending(), offset, limit, facets, tree);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return table.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 처음 만들기를 마쳤는지 여부. 그 전에는 스냅샷이 비어 있다.
+     */
+    public boolean isReady() {
+        return changes.isReady();
+    }
+
+    /**
+     * 저장소의 모든 상품으로 스냅샷을 새로 만든다.
+     * 상품을 읽는 동안 커밋된 변경은 모아 두었다가 새 스냅샷으로 바꿀 때 다시 적용한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changes.start();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<ProductColumnRow> rows = productRepository.findAllColumnRows();
+        Table rebuilt = new Table(Math.max(16, rows.size()));
+        for (ProductColumnRow row : rows) {
+            rebuilt.append(row.getId(), row.getBrand(), row.getPrice(), row.getCarbonEmissions(), row.getCreateAt(),
+                row.getIsActive(), row.getIsEcoFriendly(), row.getCategoryId());
+        }
+        rebuilt.sortAll();
+
+        lock.writeLock().lock();
+        try {
+            table = rebuilt;
+            changes.finish().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 변경이 커밋되면 이전 행을 지우고 새 행을 정렬 위치에 끼워 넣는다.
+     * 지운 행이 살아 있는 행보다 많아지면 지운 행을 뺀 새 배열로 옮긴다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            changes.add(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.getProduct();
+        table.remove(product.getId());
+        if (!event.isDeleted()) {
+            int row = table.append(product.getId(), product.getBrand(), product.getPrice(),
+                product.getCarbonEmissions(), product.getCreateAt(), product.getIsActive(), product.getIsEcoFriendly(),
+                product.getCategoryId());
+            table.insert(row);
+        }
+        if (table.rows - table.size > Math.max(table.size, 1024)) {
+            table = table.compact();
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || Strings.isBlank(value);
+    }
+
+    /**
+     * 등록일은 UTC 기준 나노초로 바꿔서 정렬한다.
+     */
+    static long epochNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NULL;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    /**
+     * 정렬할 수 있는 열.
+     */
+    enum Column {
+        ID("id"),
+        PRICE("price"),
+        CARBON_EMISSIONS("carbonEmissions"),
+        CREATE_AT("createAt");
+
+        private final String property;
+
+        Column(String property) {
+            this.property = property;
+        }
+
+        static Column of(String property) {
+            for (Column column : values()) {
+                if (column.property.equals(property)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 열 배열과 비트셋. 행 번호는 한 번 쓰면 다시 쓰지 않고, 지운 행은 live 에서 빼고 정렬 배열에서 지운다.
+     * 브랜드는 처음 나온 순서대로 번호를 매겨 행마다 번호만 담는다.
+     */
+    private static class Table {
+        private static final int COLUMNS = Column.values().length;
+        private static final int NO_BRAND = -1;
+
+        // 할당한 행 수, 지운 행을 포함한다.
+        private int rows;
+        // 살아 있는 행 수, 정렬 배열의 길이다.
+        private int size;
+        private long[][] values;
+        private long[] categoryIds;
+        private int[] brands;
+        private final List<String> brandNames = new ArrayList<>();
+        private final Map<String, Integer> brandCodes = new HashMap<>();
+        private int[][] sorted;
+        private final BitSet live = new BitSet();
+        private final BitSet active = new BitSet();
+        private final BitSet inactive = new BitSet();
+        private final BitSet ecoFriendly = new BitSet();
+        private final BitSet notEcoFriendly = new BitSet();
+        private final Map<Long, BitSet> categories = new HashMap<>();
+
+        Table(int capacity) {
+            this.values = new long[COLUMNS][capacity];
+            this.categoryIds = new long[capacity];
+            this.brands = new int[capacity];
+            this.sorted = new int[COLUMNS][capacity];
+        }
+
+        /**
+         * 행을 배열 끝에 더한다. 정렬 배열에는 insert 나 sortAll 로 넣는다.
+         * @return 더한 행 번호
+         */
+        int append(Long id, String brand, Long price, Integer carbonEmissions, LocalDateTime createAt,
+            Boolean isActive, Boolean isEcoFriendly, Long categoryId) {
+            if (rows == categoryIds.length) {
+                grow(rows * 2);
+            }
+            int row = rows++;
+            values[Column.ID.ordinal()][row] = id;
+            values[Column.PRICE.ordinal()][row] = price == null ? NULL : price;
+            values[Column.CARBON_EMISSIONS.ordinal()][row] = carbonEmissions == null ? NULL : carbonEmissions;
+            values[Column.CREATE_AT.ordinal()][row] = epochNanos(createAt);
+            categoryIds[row] = categoryId == null ? NULL : categoryId;
+            brands[row] = brand == null ? NO_BRAND : brandCodes.computeIfAbsent(brand, key -> {
+                brandNames.add(key);
+                return brandNames.size() - 1;
+            });
+
+            live.set(row);
+            active.set(row, Boolean.TRUE.equals(isActive));
+            inactive.set(row, Boolean.FALSE.equals(isActive));
+            ecoFriendly.set(row, Boolean.TRUE.equals(isEcoFriendly));
+            notEcoFriendly.set(row, Boolean.FALSE.equals(isEcoFriendly));
+            if (categoryId != null) {
+                categories.computeIfAbsent(categoryId, key -> new BitSet()).set(row);
+            }
+            return row;
+        }
+
+        /**
+         * 모든 살아 있는 행을 열마다 정렬한다.
+         */
+        void sortAll() {
+            int[] liveRows = live.stream().toArray();
+            for (Column column : Column.values()) {
+                int[] order = IntStream.of(liveRows).boxed()
+                    .sorted((left, right) -> compareRows(column, left, right))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+                System.arraycopy(order, 0, sorted[column.ordinal()], 0, order.length);
+            }
+            size = liveRows.length;
+        }
+
+        /**
+         * 더한 행을 열마다 정렬 위치에 끼워 넣는다.
+         */
+        void insert(int row) {
+            long id = id(row);
+            for (Column column : Column.values()) {
+                int[] order = sorted[column.ordinal()];
+                int position = lowerBound(column, values[column.ordinal()][row], id);
+                System.arraycopy(order, position, order, position + 1, size - position);
+                order[position] = row;
+            }
+            size++;
+        }
+
+        void remove(Long id) {
+            int position = lowerBound(Column.ID, id, id);
+            if (position == size || id(sorted[Column.ID.ordinal()][position]) != id) {
+                return;
+            }
+            int row = sorted[Column.ID.ordinal()][position];
+            for (Column column : Column.values()) {
+                int[] order = sorted[column.ordinal()];
+                int removed = lowerBound(column, values[column.ordinal()][row], id);
+                System.arraycopy(order, removed + 1, order, removed, size - removed - 1);
+            }
+            size--;
+
+            live.clear(row);
+            active.clear(row);
+            inactive.clear(row);
+            ecoFriendly.clear(row);
+            notEcoFriendly.clear(row);
+            if (categoryIds[row] != NULL) {
+                BitSet category = categories.get(categoryIds[row]);
+                category.clear(row);
+                if (category.isEmpty()) {
+                    categories.remove(categoryIds[row]);
+                }
+            }
+        }
+
+        /**
+         * 살아 있는 행만 아이디 순서로 새 배열에 옮긴다. 정렬 배열은 행 번호만 바꾸므로 다시 정렬하지 않는다.
+         */
+        Table compact() {
+            Table compacted = new Table(Math.max(16, size * 2));
+            int[] moved = new int[rows];
+            int[] byId = sorted[Column.ID.ordinal()];
+            for (int i = 0; i < size; i++) {
+                int row = byId[i];
+                moved[row] = compacted.append(id(row), brand(row), null, null, null, flag(active, inactive, row),
+                    flag(ecoFriendly, notEcoFriendly, row), categoryIds[row] == NULL ? null : categoryIds[row]);
+                for (Column column : Column.values()) {
+                    compacted.values[column.ordinal()][moved[row]] = values[column.ordinal()][row];
+                }
+            }
+            for (Column column : Column.values()) {
+                int[] order = sorted[column.ordinal()];
+                for (int i = 0; i < size; i++) {
+                    compacted.sorted[column.ordinal()][i] = moved[order[i]];
+                }
+            }
+            compacted.size = size;
+            return compacted;
+        }
+
+        IndexSearchResult search(ProductSearchRequest request, Set<Long> categoryIds, Column column,
+            boolean ascending, long offset, int limit, FacetAccumulator facets, CategoryTree tree) {
+            // 가격 범위는 가격순 정렬 배열의 연속 구간이다. 범위가 있으면 가격이 없는 상품은 제외한다.
+            int priceFrom = 0;
+            int priceTo = size;
+            if (request.getPriceFrom() != null || request.getPriceTo() != null) {
+                long lower = request.getPriceFrom() != null ? Math.max(request.getPriceFrom(), NULL + 1) : NULL + 1;
+                priceFrom = lowerBound(Column.PRICE, lower, Long.MIN_VALUE);
+                if (request.getPriceTo() != null) {
+                    priceTo = lowerBound(Column.PRICE, request.getPriceTo(), Long.MAX_VALUE);
+                }
+            }
+            if (priceFrom >= priceTo) {
+                return new IndexSearchResult(List.of(), 0);
+            }
+
+            BitSet matches;
+            if (priceFrom == 0 && priceTo == size) {
+                matches = (BitSet) live.clone();
+            } else {
+                matches = new BitSet(rows);
+                int[] byPrice = sorted[Column.PRICE.ordinal()];
+                for (int i = priceFrom; i < priceTo; i++) {
+                    matches.set(byPrice[i]);
+                }
+            }
+            filter(matches, active, inactive, request.getIsActive());
+            filter(matches, ecoFriendly, notEcoFriendly, request.getIsEcoFriendly());
+            if (categoryIds != null) {
+                matches.and(categoryRows(categoryIds));
+            }
+
+            int total = matches.cardinality();
+            if (facets != null) {
+                countFacets(matches, total, facets, tree);
+            }
+            if (offset >= total || limit <= 0) {
+                return new IndexSearchResult(List.of(), total);
+            }
+            int selected = (int) Math.min(offset + limit, total);
+
+            // 가격순이면 가격 구간 안에서만 따라간다.
+            int from = column == Column.PRICE ? priceFrom : 0;
+            int to = column == Column.PRICE ? priceTo : size;
+            int[] selectedRows = walkCost(selected, to - from, total) <= heapCost(selected, total)
+                ? walk(matches, column, ascending, from, to, selected)
+                : top(matches, column, ascending, selected);
+
+            List<Long> productIds = new ArrayList<>(selected - (int) offset);
+            for (int i = (int) offset; i < selected; i++) {
+                productIds.add(id(selectedRows[i]));
+            }
+            return new IndexSearchResult(productIds, total);
+        }
+
+        /**
+         * 일치한 행을 패싯별로 센다.
+         * 카테고리와 친환경 여부는 미리 만든 비트셋과의 교집합 크기로, 브랜드와 가격대는 일치한 행을 한 번 훑어서 센다.
+         */
+        private void countFacets(BitSet matches, int total, FacetAccumulator facets, CategoryTree tree) {
+            facets.addTotal(total);
+            if (facets.contains(Facet.CATEGORY)) {
+                for (Map.Entry<Long, BitSet> category : categories.entrySet()) {
+                    if (category.getValue().intersects(matches)) {
+                        BitSet rows = (BitSet) category.getValue().clone();
+                        rows.and(matches);
+                        facets.addCategory(category.getKey(), tree.name(category.getKey()), rows.cardinality());
+                    }
+                }
+            }
+            if (facets.contains(Facet.ECO_FRIENDLY)) {
+                BitSet rows = (BitSet) matches.clone();
+                rows.and(ecoFriendly);
+                int count = rows.cardinality();
+                facets.addEcoFriendly(true, count);
+                facets.addEcoFriendly(false, total - count);
+            }
+
+            boolean countBrands = facets.contains(Facet.BRAND);
+            boolean countPrices = facets.contains(Facet.PRICE);
+            if (!countBrands && !countPrices) {
+                return;
+            }
+            long[] priceBounds = facets.getPriceBounds();
+            long[] brandCounts = new long[brandNames.size()];
+            long[] priceCounts = new long[priceBounds.length + 1];
+            long[] prices = values[Column.PRICE.ordinal()];
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                if (countBrands && brands[row] != NO_BRAND) {
+                    brandCounts[brands[row]]++;
+                }
+                if (countPrices && prices[row] != NULL) {
+                    priceCounts[priceBucket(priceBounds, prices[row])]++;
+                }
+            }
+            for (int code = 0; code < brandCounts.length; code++) {
+                if (brandCounts[code] > 0) {
+                    facets.addBrand(brandNames.get(code), brandCounts[code]);
+                }
+            }
+            for (int bucket = 0; bucket < priceCounts.length; bucket++) {
+                facets.addPrice(bucket, priceCounts[bucket]);
+            }
+        }
+
+        /**
+         * 가격보다 작거나 같은 경계의 수. 경계가 엄격하게 증가하므로 가격이 속한 가격대 번호와 같다.
+         */
+        private static int priceBucket(long[] bounds, long price) {
+            int bucket = 0;
+            while (bucket < bounds.length && price >= bounds[bucket]) {
+                bucket++;
+            }
+            return bucket;
+        }
+
+        /**
+         * 정렬 배열을 따라가며 일치하는 행을 count 개 모은다. 일치하는 행이 고르게 퍼져 있으면 count * 구간 / 일치 건수 만큼 읽는다.
+         */
+        private int[] walk(BitSet matches, Column column, boolean ascending, int from, int to, int count) {
+            int[] order = sorted[column.ordinal()];
+            int[] selected = new int[count];
+            int found = 0;
+            for (int i = 0; i < to - from && found < count; i++) {
+                int row = order[ascending ? from + i : to - 1 - i];
+                if (matches.get(row)) {
+                    selected[found++] = row;
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * 일치하는 행만 훑으면서 크기가 count 인 힙에 앞선 행을 남긴다.
+         */
+        private int[] top(BitSet matches, Column column, boolean ascending, int count) {
+            IntBinaryOperator comparator = ascending
+                ? (left, right) -> compareRows(column, left, right)
+                : (left, right) -> compareRows(column, right, left);
+            TopK top = new TopK(count, comparator);
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                top.offer(row);
+            }
+            return top.drain();
+        }
+
+        private static double walkCost(int count, int span, int total) {
+            return (double) count * span / total;
+        }
+
+        private static double heapCost(int count, int total) {
+            return (double) total * (1 + 32 - Integer.numberOfLeadingZeros(count));
+        }
+
+        /**
+         * 카테고리들에 속한 행의 합집합.
+         */
+        private BitSet categoryRows(Set<Long> categoryIds) {
+            if (categoryIds.size() == 1) {
+                return categories.getOrDefault(categoryIds.iterator().next(), new BitSet());
+            }
+            BitSet rows = new BitSet();
+            for (Long categoryId : categoryIds) {
+                BitSet category = categories.get(categoryId);
+                if (category != null) {
+                    rows.or(category);
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * 값이 없는 행은 true 로도 false 로도 거르지 않는다.
+         */
+        private static void filter(BitSet matches, BitSet trueRows, BitSet falseRows, Boolean value) {
+            if (value != null) {
+                matches.and(value ? trueRows : falseRows);
+            }
+        }
+
+        private static Boolean flag(BitSet trueRows, BitSet falseRows, int row) {
+            if (trueRows.get(row)) {
+                return Boolean.TRUE;
+            }
+            return falseRows.get(row) ? Boolean.FALSE : null;
+        }
+
+        /**
+         * (값, 아이디) 가 주어진 값보다 작지 않은 첫 위치.
+         */
+        private int lowerBound(Column column, long value, long id) {
+            int[] order = sorted[column.ordinal()];
+            long[] columnValues = values[column.ordinal()];
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int row = order[middle];
+                if (compare(columnValues[row], id(row), value, id) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int compareRows(Column column, int left, int right) {
+            long[] columnValues = values[column.ordinal()];
+            return compare(columnValues[left], id(left), columnValues[right], id(right));
+        }
+
+        private static int compare(long leftValue, long leftId, long rightValue, long rightId) {
+            int compared = Long.compare(leftValue, rightValue);
+            return compared != 0 ? compared : Long.compare(leftId, rightId);
+        }
+
+        private long id(int row) {
+            return values[Column.ID.ordinal()][row];
+        }
+
+        private String brand(int row) {
+            return brands[row] == NO_BRAND ? null : brandNames.get(brands[row]);
+        }
+
+        private void grow(int capacity) {
+            for (int i = 0; i < COLUMNS; i++) {
+                values[i] = Arrays.copyOf(values[i], capacity);
+                sorted[i] = Arrays.copyOf(sorted[i], capacity);
+            }
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+        }
+    }
+
+    /**
+     * 가장 뒤에 오는 행을 루트에 두는 크기 제한 힙. 앞선 count 개의 행을 정렬 순서대로 꺼낸다.
+     */
+    private static class TopK {
+        private final int[] heap;
+        private final IntBinaryOperator comparator;
+        private int size;
+
+        TopK(int capacity, IntBinaryOperator comparator) {
+            this.heap = new int[capacity];
+            this.comparator = comparator;
+        }
+
+        void offer(int row) {
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(size++);
+            } else if (comparator.applyAsInt(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        int[] drain() {
+            int[] drained = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                drained[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return drained;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (comparator.applyAsInt(heap[index], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (comparator.applyAsInt(heap[child], heap[largest]) > 0) {
+                        largest = child;
+                    }
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int left, int right) {
+            int temporary = heap[left];
+            heap[left] = heap[right];
+            heap[right] = temporary;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.carbonzero.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.error.InvalidCursorException;
+
+import lombok.Getter;
+
+/**
+ * 키셋 페이지네이션 커서. 정렬 조건과 마지막으로 반환한 상품의 정렬 값, 아이디를 담는다.
+ * 클라이언트에게는 내용을 알 수 없는 Base64 문자열로 전달된다.
+ */
+@Getter
+public class ProductCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final Map<String, Class<?>> SORT_FIELDS = Map.of(
+        "id", Long.class,
+        "name", String.class,
+        "brand", String.class,
+        "price", Long.class,
+        "carbonEmissions", Integer.class,
+        "createAt", LocalDateTime.class,
+        "updateAt", LocalDateTime.class
+    );
+
+    private final Sort.Order order;
+    private final Comparable<?> value;
+    private final Long id;
+
+    public ProductCursor(Sort.Order order, Comparable<?> value, Long id) {
+        this.order = order;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * 정렬 조건에 따라 상품의 마지막 위치를 가리키는 커서를 만든다.
+     */
+    public static ProductCursor of(Sort.Order order, ProductSnapshot product) {
+        return new ProductCursor(order, sortValue(order.getProperty(), product), product.getId());
+    }
+
+    /**
+     * 엔티티처럼 정렬 필드를 프로퍼티로 가진 객체의 마지막 위치를 가리키는 커서를 만든다.
+     */
+    public static ProductCursor of(Sort.Order order, Object row) {
+        checkSortField(order.getProperty());
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+        return new ProductCursor(order,
+            (Comparable<?>) wrapper.getPropertyValue(order.getProperty()),
+            (Long) wrapper.getPropertyValue("id"));
+    }
+
+    public static Comparable<?> sortValue(String field, ProductSnapshot product) {
+        switch (field) {
+            case "id":
+                return product.getId();
+            case "name":
+                return product.getName();
+            case "brand":
+                return product.getBrand();
+            case "price":
+                return product.getPrice();
+            case "carbonEmissions":
+                return product.getCarbonEmissions();
+            case "createAt":
+                return product.getCreateAt();
+            case "updateAt":
+                return product.getUpdateAt();
+            default:
+                throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+    }
+
+    public static void checkSortField(String field) {
+        if (!SORT_FIELDS.containsKey(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+    }
+
+    public String encode() {
+        String raw = order.getProperty() + SEPARATOR
+            + order.getDirection().name() + SEPARATOR
+            + id + SEPARATOR
+            + (value == null ? "" : "v" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            String field = parts[0];
+            Class<?> type = SORT_FIELDS.get(field);
+            if (parts.length != 4 || type == null) {
+                throw new InvalidCursorException(cursor);
+            }
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1].toUpperCase(Locale.ROOT));
+            Long id = Long.valueOf(parts[2]);
+            Comparable<?> value = parts[3].isEmpty() ? null : parseValue(type, parts[3].substring(1));
+            return new ProductCursor(new Sort.Order(direction, field), value, id);
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static Comparable<?> parseValue(Class<?> type, String value) {
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,407 @@
+package com.carbonzero.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.event.ProductChangeBuffer;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.ProductIndexRow;
+import com.carbonzero.repository.ProductRepository;
+
+/**
+ * 상품명, 브랜드, 설명을 n-gram 으로 역색인한 인메모리 검색 인덱스.
+ * 한글 상품명은 띄어쓰기가 일정하지 않아 형태소 대신 음절 bigram 을 사용하고,
+ * 후보를 좁힌 뒤 원문 포함 여부로 다시 확인하므로 결과는 LIKE '%kw%' 검색과 같다.
+ * 문서는 이미지 링크 없이 상품의 스칼라 값만 담는다.
+ * 처음 만들기를 마칠 때까지는 isReady 가 false 이고, 검색 서비스는 데이터베이스에서 검색한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carbonzero.search", name = "engine", havingValue = "index")
+public class ProductSearchIndex {
+
+    static final int GRAM_SIZE = 2;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, IndexedProduct> documents = new HashMap<>();
+    private Map<String, Set<Long>> postings = new HashMap<>();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+
+    public ProductSearchIndex(ProductRepository productRepository, ProductMapper productMapper,
+        CategoryTreeCache categoryTreeCache) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.categoryTreeCache = categoryTreeCache;
+    }
+
+    /**
+     * 저장소의 모든 상품으로 인덱스를 새로 만든다.
+     * 엔티티 대신 스칼라 행으로 읽으므로 영속성 컨텍스트에 상품, 카테고리, 이미지 링크가 쌓이지 않는다.
+     * 상품을 읽는 동안 커밋된 변경은 모아 두었다가 새 인덱스로 바꿀 때 다시 적용한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changes.start();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, IndexedProduct> newDocuments = new HashMap<>();
+        Map<String, Set<Long>> newPostings = new HashMap<>();
+
+        for (ProductIndexRow row : productRepository.findAllIndexRows()) {
+            IndexedProduct document = new IndexedProduct(productMapper.toSnapshot(row));
+            newDocuments.put(document.getId(), document);
+            addPostings(newPostings, document);
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+            changes.finish().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 변경이 커밋되면 해당 문서만 다시 색인한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            changes.add(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 처음 만들기를 마쳤는지 여부. 그 전에는 인덱스가 비어 있다.
+     */
+    public boolean isReady() {
+        return changes.isReady();
+    }
+
+    private void apply(ProductChangedEvent event) {
+        IndexedProduct previous = documents.remove(event.getProductId());
+        if (previous != null) {
+            removePostings(postings, previous);
+        }
+        if (!event.isDeleted()) {
+            IndexedProduct document = new IndexedProduct(event.getProduct());
+            documents.put(document.getId(), document);
+            addPostings(postings, document);
+        }
+    }
+
+    /**
+     * 검색 조건에 맞는 상품 아이디를 정렬하여 한 페이지만큼 반환한다.
+     * @param request 검색 조건
+     * @param order 정렬 조건
+     * @param offset 건너뛸 상품 수
+     * @param limit 반환할 최대 상품 수
+     * @return 페이지의 상품 아이디와 전체 일치 건수
+     */
+    public IndexSearchResult search(ProductSearchRequest request, Sort.Order order, long offset, int limit) {
+        return search(request, order, offset, limit, null);
+    }
+
+    /**
+     * 검색 조건에 맞는 상품 아이디를 정렬하여 한 페이지만큼 반환하고, 일치한 상품을 패싯별로 센다.
+     * 일치한 상품을 모두 정렬하지 않고, 훑으면서 건수와 패싯을 세고 크기가 offset + limit 인 힙에 앞쪽 상품만 남긴다.
+     * @param facets 일치한 상품을 더할 패싯, 세지 않으면 null
+     */
+    public IndexSearchResult search(ProductSearchRequest request, Sort.Order order, long offset, int limit,
+        FacetAccumulator facets) {
+        TopK first = new TopK(comparator(order), (int) Math.min(offset + limit, Integer.MAX_VALUE));
+        long total = forEachMatch(request, document -> {
+            if (facets != null) {
+                facets.add(document.getProduct());
+            }
+            first.offer(document);
+        });
+
+        List<IndexedProduct> page = first.drain();
+        List<Long> productIds = page.subList((int) Math.min(offset, page.size()), page.size()).stream()
+            .map(IndexedProduct::getId)
+            .collect(Collectors.toList());
+
+        return new IndexSearchResult(productIds, total);
+    }
+
+    /**
+     * 커서 다음에 오는 상품을 정렬 순서대로 반환한다.
+     * 일치한 상품을 모두 정렬하지 않고, 크기가 limit 인 힙에 커서 다음의 상품 중 앞쪽 limit 개만 남긴다.
+     * @param request 검색 조건
+     * @param cursor 이전 페이지의 마지막 위치, 첫 페이지이면 null
+     * @param order 정렬 조건
+     * @param limit 반환할 최대 상품 수
+     * @return 상품 목록
+     */
+    public List<ProductSnapshot> scroll(ProductSearchRequest request, ProductCursor cursor, Sort.Order order, int limit) {
+        TopK first = new TopK(comparator(order), limit);
+        forEachMatch(request, document -> {
+            if (cursor == null || isAfter(document, cursor, order)) {
+                first.offer(document);
+            }
+        });
+
+        return first.drain().stream()
+            .map(IndexedProduct::getProduct)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 검색 조건에 맞는 문서마다 action 을 실행한다. 읽기 잠금을 잡은 채 실행하므로 action 은 짧아야 한다.
+     * @return 검색 조건에 맞는 문서 수
+     */
+    private long forEachMatch(ProductSearchRequest request, Consumer<IndexedProduct> action) {
+        Set<Long> categoryIds = request.getCategoryId() != null
+            ? categoryTreeCache.getTree().subtree(request.getCategoryId())
+            : null;
+        SearchTerms terms = new SearchTerms(request, categoryIds);
+
+        lock.readLock().lock();
+        try {
+            long matched = 0;
+            for (IndexedProduct document : candidates(terms.all())) {
+                if (terms.matches(document)) {
+                    action.accept(document);
+                    matched++;
+                }
+            }
+            return matched;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 검색어의 n-gram 을 포함하는 문서만 후보로 고른다.
+     * n-gram 보다 짧은 검색어는 후보를 좁히지 못하므로 원문 비교에 맡긴다.
+     */
+    private Collection<IndexedProduct> candidates(List<String> terms) {
+        Set<String> grams = new HashSet<>();
+        for (String term : terms) {
+            IndexedProduct.addGrams(grams, term, GRAM_SIZE);
+        }
+        if (grams.isEmpty()) {
+            return documents.values();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<IndexedProduct> candidates = new ArrayList<>();
+        for (Long id : lists.get(0)) {
+            if (containsAll(lists, id)) {
+                candidates.add(documents.get(id));
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean containsAll(List<Set<Long>> lists, Long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addPostings(Map<String, Set<Long>> postings, IndexedProduct document) {
+        for (String gram : document.grams(GRAM_SIZE)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.getId());
+        }
+    }
+
+    private static void removePostings(Map<String, Set<Long>> postings, IndexedProduct document) {
+        for (String gram : document.grams(GRAM_SIZE)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(document.getId());
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * 정렬 값이 같으면 아이디로 순서를 정한다. null 은 오름차순에서 가장 앞에 온다.
+     */
+    private static Comparator<IndexedProduct> comparator(Sort.Order order) {
+        ProductCursor.checkSortField(order.getProperty());
+        Comparator<IndexedProduct> comparator = (left, right) -> compareKeys(
+            ProductCursor.sortValue(order.getProperty(), left.getProduct()), left.getId(),
+            ProductCursor.sortValue(order.getProperty(), right.getProduct()), right.getId());
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    private static boolean isAfter(IndexedProduct document, ProductCursor cursor, Sort.Order order) {
+        int compared = compareKeys(ProductCursor.sortValue(order.getProperty(), document.getProduct()),
+            document.getId(), cursor.getValue(), cursor.getId());
+        return order.isAscending() ? compared > 0 : compared < 0;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Comparable leftValue, Long leftId, Comparable rightValue, Long rightId) {
+        int compared = Comparator.nullsFirst(Comparator.<Comparable>naturalOrder()).compare(leftValue, rightValue);
+        return compared != 0 ? compared : leftId.compareTo(rightId);
+    }
+
+    /**
+     * 정렬 순서가 가장 뒤인 문서를 머리에 두는 크기 제한 힙. 앞쪽 limit 개의 문서를 정렬 순서대로 꺼낸다.
+     */
+    private static class TopK {
+        private final Comparator<IndexedProduct> comparator;
+        private final PriorityQueue<IndexedProduct> heap;
+        private final int limit;
+
+        TopK(Comparator<IndexedProduct> comparator, int limit) {
+            this.comparator = comparator;
+            this.heap = new PriorityQueue<>(comparator.reversed());
+            this.limit = limit;
+        }
+
+        void offer(IndexedProduct document) {
+            if (heap.size() < limit) {
+                heap.add(document);
+            } else if (limit > 0 && comparator.compare(document, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(document);
+            }
+        }
+
+        List<IndexedProduct> drain() {
+            List<IndexedProduct> drained = new ArrayList<>(heap);
+            drained.sort(comparator);
+            return drained;
+        }
+    }
+
+    /**
+     * 정규화된 검색 조건. 빈 조건은 제외한다.
+     */
+    private static class SearchTerms {
+        private final String keyword;
+        private final String productName;
+        private final String brand;
+        private final String description;
+        private final Long priceFrom;
+        private final Long priceTo;
+        private final Set<Long> categoryIds;
+        private final Boolean isActive;
+        private final Boolean isEcoFriendly;
+
+        SearchTerms(ProductSearchRequest request, Set<Long> categoryIds) {
+            this.keyword = term(request.getSearchKeyword());
+            this.productName = term(request.getProductName());
+            this.brand = term(request.getBrand());
+            this.description = term(request.getDescription());
+            this.priceFrom = request.getPriceFrom();
+            this.priceTo = request.getPriceTo();
+            this.categoryIds = categoryIds;
+            this.isActive = request.getIsActive();
+            this.isEcoFriendly = request.getIsEcoFriendly();
+        }
+
+        List<String> all() {
+            List<String> terms = new ArrayList<>();
+            for (String term : new String[] {keyword, productName, brand, description}) {
+                if (term != null) {
+                    terms.add(term);
+                }
+            }
+            return terms;
+        }
+
+        boolean matches(IndexedProduct document) {
+            if (keyword != null && !document.matchesKeyword(keyword)) {
+                return false;
+            }
+            if (productName != null && !IndexedProduct.contains(document.getName(), productName)) {
+                return false;
+            }
+            if (brand != null && !IndexedProduct.contains(document.getBrand(), brand)) {
+                return false;
+            }
+            if (description != null && !IndexedProduct.contains(document.getDescription(), description)) {
+                return false;
+            }
+            ProductSnapshot product = document.getProduct();
+            if (categoryIds != null
+                && (product.getCategoryId() == null || !categoryIds.contains(product.getCategoryId()))) {
+                return false;
+            }
+            if (isActive != null && !isActive.equals(product.getIsActive())) {
+                return false;
+            }
+            if (isEcoFriendly != null && !isEcoFriendly.equals(product.getIsEcoFriendly())) {
+                return false;
+            }
+            Long price = product.getPrice();
+            if (priceFrom != null && (price == null || price < priceFrom)) {
+                return false;
+            }
+            return priceTo == null || (price != null && price <= priceTo);
+        }
+
+        private static String term(String value) {
+            if (value == null || Strings.isBlank(value)) {
+                return null;
+            }
+            return IndexedProduct.normalize(value);
+        }
+    }
+}
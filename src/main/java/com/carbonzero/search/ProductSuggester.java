@@ -0,0 +1,229 @@
+package com.carbonzero.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.dto.SuggestionResponseData;
+import com.carbonzero.error.IndexNotReadyException;
+import com.carbonzero.event.ProductChangeBuffer;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.repository.ProductNameRow;
+import com.carbonzero.repository.ProductRepository;
+
+/**
+ * 상품명과 브랜드 자동 완성.
+ * 판매 중인 상품의 이름과 브랜드를 압축 트라이에 두고, 상품 변경이 커밋될 때마다 바뀐 후보만 갱신한다.
+ * 이름과 브랜드의 각 단어도 키로 등록하므로 "레몬" 으로 "헤드앤숄더 시트러스 레몬 샴푸" 를 찾는다.
+ * 자동 완성 조회는 데이터베이스에 접근하지 않으며, 처음 사전을 만들기를 마칠 때까지는 IndexNotReadyException 을 던진다.
+ */
+@Component
+public class ProductSuggester {
+
+    private final ProductRepository productRepository;
+    private final int size;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+    private Dictionary dictionary;
+
+    public ProductSuggester(ProductRepository productRepository,
+        @Value("${carbonzero.suggest.size:10}") int size) {
+        this.productRepository = productRepository;
+        this.size = size;
+        this.dictionary = new Dictionary(size);
+    }
+
+    /**
+     * 입력한 접두사로 시작하는 상품명과 브랜드를 상품이 많은 순서로 carbonzero.suggest.size 개까지 반환한다.
+     * @param query 입력 중인 검색어
+     * @return 자동 완성 후보
+     */
+    public List<SuggestionResponseData> suggest(String query) {
+        return suggest(query, size);
+    }
+
+    /**
+     * 입력한 접두사로 시작하는 상품명과 브랜드를 상품이 많은 순서로 반환한다.
+     * @param query 입력 중인 검색어
+     * @param limit 반환할 최대 후보 수, carbonzero.suggest.size 보다 클 수 없다.
+     * @return 자동 완성 후보
+     * @throws IndexNotReadyException 사전을 아직 만들고 있을 때
+     */
+    public List<SuggestionResponseData> suggest(String query, int limit) {
+        if (query == null || Strings.isBlank(query)) {
+            return List.of();
+        }
+        if (!changes.isReady()) {
+            throw new IndexNotReadyException("suggest");
+        }
+        String prefix = normalize(query).stripLeading();
+
+        lock.readLock().lock();
+        try {
+            return dictionary.trie.complete(prefix).stream()
+                .limit(Math.max(1, Math.min(limit, size)))
+                .map(term -> new SuggestionResponseData(term.getText(), term.getType(), term.getCount()))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 처음 사전을 만들기를 마쳤는지 여부.
+     */
+    public boolean isReady() {
+        return changes.isReady();
+    }
+
+    /**
+     * 저장소의 모든 상품으로 사전을 새로 만든다.
+     * 상품을 읽는 동안 커밋된 변경은 모아 두었다가 새 사전으로 바꿀 때 다시 적용한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changes.start();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Dictionary rebuilt = new Dictionary(size);
+        for (ProductNameRow row : productRepository.findAllNameRows()) {
+            if (Boolean.TRUE.equals(row.getIsActive())) {
+                rebuilt.add(row.getId(), row.getName(), row.getBrand(), false);
+            }
+        }
+        rebuilt.trie.refreshAll();
+
+        lock.writeLock().lock();
+        try {
+            dictionary = rebuilt;
+            changes.finish().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 변경이 커밋되면 이전 이름과 브랜드를 빼고 새 이름과 브랜드를 더한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            changes.add(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        ProductSnapshot product = event.getProduct();
+        dictionary.remove(product.getId());
+        if (!event.isDeleted() && Boolean.TRUE.equals(product.getIsActive())) {
+            dictionary.add(product.getId(), product.getName(), product.getBrand(), true);
+        }
+    }
+
+    /**
+     * 소문자 NFC 로 맞추고 연속된 공백을 하나로 줄인다.
+     */
+    static String normalize(String text) {
+        return IndexedProduct.normalize(text).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 후보 하나를 찾을 수 있는 키. 전체 문자열과 두 번째 단어부터 시작하는 모든 뒷부분이다.
+     */
+    static List<String> keys(String key) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            if (i + 1 < key.length()) {
+                keys.add(key.substring(i + 1));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 트라이와 상품별로 등록한 후보. 다시 만들 때는 새 사전을 만든 뒤 통째로 바꾼다.
+     */
+    private static class Dictionary {
+        private final SuggestTrie trie;
+        private final Map<String, SuggestTerm> terms = new HashMap<>();
+        private final Map<Long, List<SuggestTerm>> products = new HashMap<>();
+
+        Dictionary(int size) {
+            this.trie = new SuggestTrie(size);
+        }
+
+        void add(Long productId, String name, String brand, boolean refresh) {
+            List<SuggestTerm> added = new ArrayList<>(2);
+            addTerm(added, SuggestionType.NAME, name, refresh);
+            addTerm(added, SuggestionType.BRAND, brand, refresh);
+            products.put(productId, added);
+        }
+
+        void remove(Long productId) {
+            List<SuggestTerm> removed = products.remove(productId);
+            if (removed == null) {
+                return;
+            }
+            for (SuggestTerm term : removed) {
+                boolean unused = term.decrement() == 0;
+                if (unused) {
+                    terms.remove(term.getType() + ":" + term.getKey());
+                }
+                for (String key : keys(term.getKey())) {
+                    if (unused) {
+                        trie.remove(key, term);
+                    } else {
+                        trie.refresh(key);
+                    }
+                }
+            }
+        }
+
+        private void addTerm(List<SuggestTerm> added, SuggestionType type, String text, boolean refresh) {
+            if (text == null || Strings.isBlank(text)) {
+                return;
+            }
+            String key = normalize(text).strip();
+            SuggestTerm term = terms.get(type + ":" + key);
+            boolean created = term == null;
+            if (created) {
+                term = new SuggestTerm(type, text.strip(), key);
+                terms.put(type + ":" + key, term);
+            }
+            term.increment();
+            added.add(term);
+
+            for (String termKey : keys(key)) {
+                if (created) {
+                    trie.put(termKey, term);
+                }
+                if (refresh) {
+                    trie.refresh(termKey);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.carbonzero.search;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.event.ProductChangedEvent;
+
+/**
+ * 검색 조건별 전체 건수 캐시.
+ * 정렬과 페이지는 건수에 영향을 주지 않으므로 검색 조건만 정규화하여 키로 사용한다.
+ * 상품이 하나라도 바뀌면 모든 건수가 무효가 되므로 전체를 비운다.
+ */
+@Component
+public class SearchCountCache {
+
+    private final Map<String, Long> counts;
+    private long generation;
+
+    public SearchCountCache(@Value("${carbonzero.search.count-cache-size:1000}") int maximumSize) {
+        this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    public long get(ProductSearchRequest request, Supplier<Long> counter) {
+        String key = key(request);
+        long countedGeneration;
+        synchronized (counts) {
+            Long count = counts.get(key);
+            if (count != null) {
+                return count;
+            }
+            countedGeneration = generation;
+        }
+
+        // 세는 동안 상품이 바뀌었으면 오래된 건수가 되므로 캐시하지 않는다.
+        long count = counter.get();
+        synchronized (counts) {
+            if (countedGeneration == generation) {
+                counts.put(key, count);
+            }
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (counts) {
+            generation++;
+            counts.clear();
+        }
+    }
+
+    static String key(ProductSearchRequest request) {
+        return String.join("\u0000",
+            term(request.getSearchKeyword()),
+            term(request.getProductName()),
+            term(request.getBrand()),
+            term(request.getDescription()),
+            String.valueOf(request.getCategoryId()),
+            String.valueOf(request.getPriceFrom()),
+            String.valueOf(request.getPriceTo()),
+            String.valueOf(request.getIsActive()),
+            String.valueOf(request.getIsEcoFriendly()));
+    }
+
+    private static String term(String value) {
+        if (value == null || Strings.isBlank(value)) {
+            return "";
+        }
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,40 @@
+package com.carbonzero.search;
+
+import java.util.Comparator;
+
+import lombok.Getter;
+
+/**
+ * 자동 완성 후보 하나. 같은 이름이나 브랜드를 쓰는 판매 중인 상품 수를 count 로 센다.
+ */
+@Getter
+class SuggestTerm {
+
+    /** 상품이 많은 후보부터, 같으면 짧은 후보부터 보여준다. */
+    static final Comparator<SuggestTerm> RANK = Comparator.comparingInt(SuggestTerm::getCount).reversed()
+        .thenComparingInt(term -> term.getKey().length())
+        .thenComparing(SuggestTerm::getKey)
+        .thenComparing(SuggestTerm::getType);
+
+    private final SuggestionType type;
+    private final String text;
+    private final String key;
+    private int count;
+
+    SuggestTerm(SuggestionType type, String text, String key) {
+        this.type = type;
+        this.text = text;
+        this.key = key;
+    }
+
+    void increment() {
+        count++;
+    }
+
+    /**
+     * @return 남은 상품 수
+     */
+    int decrement() {
+        return --count;
+    }
+}
@@ -0,0 +1,215 @@
+package com.carbonzero.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 자동 완성 후보를 접두사로 찾는 압축 트라이(radix tree).
+ * 분기가 없는 경로는 간선 하나에 문자열로 합쳐 두고, 노드마다 하위 트리의 상위 후보 topSize 개를 미리 정렬해 둔다.
+ * 조회는 접두사 길이만큼만 내려가고, 후보를 더하거나 빼면 그 키가 지나는 노드의 상위 후보만 아래에서부터 다시 계산한다.
+ * 동기화하지 않으므로 호출하는 쪽에서 잠근다.
+ */
+class SuggestTrie {
+
+    private final int topSize;
+    private final Node root = new Node("");
+
+    SuggestTrie(int topSize) {
+        this.topSize = topSize;
+    }
+
+    /**
+     * 접두사로 시작하는 키의 상위 후보를 반환한다.
+     */
+    List<SuggestTerm> complete(String prefix) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(offset));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonLength(child.label, prefix, offset);
+            if (offset + common == prefix.length()) {
+                return child.top;
+            }
+            if (common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            offset += common;
+        }
+        return node.top;
+    }
+
+    /**
+     * 키로 찾을 수 있도록 후보를 더하고 상위 후보를 갱신한다.
+     */
+    void add(String key, SuggestTerm term) {
+        put(key, term);
+        refresh(key);
+    }
+
+    /**
+     * 후보를 더하기만 하고 상위 후보는 갱신하지 않는다. 한꺼번에 더한 뒤 refreshAll 을 호출한다.
+     */
+    void put(String key, SuggestTerm term) {
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.children.get(key.charAt(offset));
+            if (child == null) {
+                child = new Node(key.substring(offset));
+                node.children.put(key.charAt(offset), child);
+                node = child;
+                break;
+            }
+            int common = commonLength(child.label, key, offset);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            offset += common;
+        }
+        if (!node.terms.contains(term)) {
+            node.terms.add(term);
+        }
+    }
+
+    /**
+     * 후보를 빼고, 비거나 분기가 없어진 노드를 정리한 뒤 상위 후보를 갱신한다.
+     */
+    void remove(String key, SuggestTerm term) {
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        node.terms.remove(term);
+
+        if (node != root && node.terms.isEmpty() && node.children.isEmpty()) {
+            Node parent = path.get(path.size() - 2);
+            parent.children.remove(node.label.charAt(0));
+            path.remove(path.size() - 1);
+            node = parent;
+        }
+        if (node != root && node.terms.isEmpty() && node.children.size() == 1) {
+            merge(node);
+        }
+        refresh(path);
+    }
+
+    /**
+     * 후보의 상품 수가 바뀌었을 때 키가 지나는 노드의 상위 후보를 갱신한다.
+     */
+    void refresh(String key) {
+        List<Node> path = path(key);
+        if (path != null) {
+            refresh(path);
+        }
+    }
+
+    /**
+     * 모든 노드의 상위 후보를 다시 계산한다.
+     */
+    void refreshAll() {
+        refreshAll(root);
+    }
+
+    private void refreshAll(Node node) {
+        for (Node child : node.children.values()) {
+            refreshAll(child);
+        }
+        node.top = top(node);
+    }
+
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).top = top(path.get(i));
+        }
+    }
+
+    /**
+     * 노드에서 끝나는 후보와 자식들의 상위 후보 중 상위 topSize 개.
+     * 한 후보가 여러 키로 등록되어 있으면 한 번만 센다.
+     */
+    private List<SuggestTerm> top(Node node) {
+        Set<SuggestTerm> candidates = new HashSet<>(node.terms);
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        return candidates.stream()
+            .sorted(SuggestTerm.RANK)
+            .limit(topSize)
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * @return 루트부터 키가 끝나는 노드까지의 경로, 키가 없으면 null
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.children.get(key.charAt(offset));
+            if (child == null || !key.startsWith(child.label, offset)) {
+                return null;
+            }
+            node = child;
+            offset += child.label.length();
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * 간선을 common 글자에서 나눠 중간 노드를 만든다. 하위 트리가 같으므로 상위 후보도 그대로 쓴다.
+     */
+    private static Node split(Node parent, Node child, int common) {
+        Node middle = new Node(child.label.substring(0, common));
+        child.label = child.label.substring(common);
+        middle.children.put(child.label.charAt(0), child);
+        middle.top = child.top;
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    /**
+     * 후보가 없고 자식이 하나뿐인 노드에 자식을 합친다.
+     */
+    private static void merge(Node node) {
+        Node child = node.children.values().iterator().next();
+        node.label = node.label + child.label;
+        node.children.clear();
+        node.children.putAll(child.children);
+        node.terms.addAll(child.terms);
+        node.top = child.top;
+    }
+
+    private static int commonLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<SuggestTerm> terms = new ArrayList<>(1);
+        private List<SuggestTerm> top = List.of();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.carbonzero.search;
+
+/**
+ * 자동 완성 후보의 출처.
+ */
+public enum SuggestionType {
+    /** 상품명 */
+    NAME,
+    /** 브랜드 */
+    BRAND
+}
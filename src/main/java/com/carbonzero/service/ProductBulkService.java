@@ -0,0 +1,216 @@
+package com.carbonzero.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.BulkProductItemResult;
+import com.carbonzero.dto.BulkProductResponseData;
+import com.carbonzero.dto.ProductRequestData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.error.ProductNotFoundException;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상품 일괄 등록 서비스.
+ * 요청을 chunkSize 개씩 나누어 한 트랜잭션으로 저장하며, 카테고리와 수정할 상품은 묶음마다 한 번에 불러온다.
+ * 상품 하나가 실패해도 나머지 상품은 저장되고, 상품마다 처리 결과를 돌려준다.
+ */
+@Slf4j
+@Service
+public class ProductBulkService {
+
+    static final String CONSTRAINT_VIOLATION_MESSAGE = "Product violates a data constraint";
+    static final String SAVE_FAILED_MESSAGE = "Failed to save product";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductMapper productMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductBulkService(ProductRepository productRepository, CategoryRepository categoryRepository,
+        ProductMapper productMapper, Validator validator, ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        @Value("${carbonzero.bulk.chunk-size:500}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productMapper = productMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 상품을 일괄 등록한다. 아이디가 있는 상품은 수정하고, 없는 상품은 새로 생성한다.
+     * @param requests 등록할 상품 목록
+     * @return 요청 순서대로 정렬된 상품별 처리 결과
+     */
+    public BulkProductResponseData upsert(List<ProductRequestData> requests) {
+        return upsert(requests, null);
+    }
+
+    /**
+     * 이미 불러온 카테고리로 상품을 일괄 등록한다. 묶음마다 카테고리를 조회하지 않는다.
+     * @param requests 등록할 상품 목록
+     * @param categories 아이디별 활성 카테고리, null 이면 묶음마다 저장소에서 조회한다.
+     * @return 요청 순서대로 정렬된 상품별 처리 결과
+     */
+    public BulkProductResponseData upsert(List<ProductRequestData> requests, Map<Long, Category> categories) {
+        BulkProductItemResult[] results = new BulkProductItemResult[requests.size()];
+
+        List<Integer> valid = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            Set<ConstraintViolation<ProductRequestData>> violations = validator.validate(requests.get(index));
+            if (violations.isEmpty()) {
+                valid.add(index);
+            } else {
+                results[index] = BulkProductItemResult.failed(index, violationMessage(violations));
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            write(requests, valid.subList(from, Math.min(from + chunkSize, valid.size())), categories, results);
+        }
+        return BulkProductResponseData.of(Arrays.asList(results));
+    }
+
+    private void write(List<ProductRequestData> requests, List<Integer> indices, Map<Long, Category> categories,
+        BulkProductItemResult[] results) {
+        try {
+            List<BulkProductItemResult> written = transactionTemplate.execute(
+                status -> writeChunk(requests, indices, categories));
+            written.forEach(result -> results[result.getIndex()] = result);
+        } catch (RuntimeException exception) {
+            if (indices.size() == 1) {
+                results[indices.get(0)] = BulkProductItemResult.failed(indices.get(0),
+                    failureMessage(indices.get(0), exception));
+                return;
+            }
+            // 어느 상품 때문에 묶음 전체가 롤백되었는지 알 수 없으므로 하나씩 다시 저장한다.
+            indices.forEach(index -> write(requests, List.of(index), categories, results));
+        }
+    }
+
+    private List<BulkProductItemResult> writeChunk(List<ProductRequestData> requests, List<Integer> indices,
+        Map<Long, Category> loadedCategories) {
+        List<ProductRequestData> chunk = indices.stream().map(requests::get).collect(Collectors.toList());
+
+        Map<Long, Category> categories = loadedCategories != null
+            ? loadedCategories
+            : categoryRepository.findAllByIdInAndIsActive(
+                chunk.stream().map(ProductRequestData::getCategoryId).filter(Objects::nonNull).collect(Collectors.toSet()),
+                true
+            ).stream().collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<Long> productIds = chunk.stream()
+            .map(ProductRequestData::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        Map<Long, Product> products = productIds.isEmpty()
+            ? Map.of()
+            : productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BulkProductItemResult> results = new ArrayList<>();
+        List<Integer> writtenIndices = new ArrayList<>();
+        List<Product> written = new ArrayList<>();
+        List<Boolean> writtenCreated = new ArrayList<>();
+        List<Product> created = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = indices.get(i);
+            ProductRequestData request = chunk.get(i);
+
+            Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                results.add(BulkProductItemResult.failed(index,
+                    new CategoryNotFoundException(request.getCategoryId()).getMessage()));
+                continue;
+            }
+
+            Product source = productMapper.toEntity(request, category);
+
+            if (request.getId() == null) {
+                created.add(source);
+                written.add(source);
+                writtenCreated.add(true);
+            } else {
+                Product product = products.get(request.getId());
+                if (product == null) {
+                    results.add(BulkProductItemResult.failed(index,
+                        new ProductNotFoundException(request.getId()).getMessage()));
+                    continue;
+                }
+                product.changeWith(source);
+                written.add(product);
+                writtenCreated.add(false);
+            }
+            writtenIndices.add(index);
+        }
+
+        productRepository.saveAll(created);
+        // 수정 시각과 아이디가 정해지도록 먼저 반영한 뒤 변경을 알린다.
+        productRepository.flush();
+
+        for (int i = 0; i < written.size(); i++) {
+            Product product = written.get(i);
+            boolean isCreated = writtenCreated.get(i);
+            results.add(isCreated
+                ? BulkProductItemResult.created(writtenIndices.get(i), product.getId())
+                : BulkProductItemResult.updated(writtenIndices.get(i), product.getId()));
+
+            ProductSnapshot snapshot = productMapper.toSnapshot(product);
+            eventPublisher.publishEvent(isCreated
+                ? ProductChangedEvent.created(snapshot)
+                : ProductChangedEvent.updated(snapshot));
+        }
+        return results;
+    }
+
+    /**
+     * 저장하지 못한 상품의 사유. 데이터베이스 예외의 메시지에는 SQL 과 제약 조건 이름이 담기므로
+     * 정해진 문구만 돌려주고 예외는 로그에 남긴다.
+     */
+    private String failureMessage(int index, RuntimeException exception) {
+        if (exception instanceof DataIntegrityViolationException) {
+            log.warn("Bulk item {} violates a data constraint", index, exception);
+            return CONSTRAINT_VIOLATION_MESSAGE;
+        }
+        log.error("Failed to save bulk item {}", index, exception);
+        return SAVE_FAILED_MESSAGE;
+    }
+
+    private String violationMessage(Set<ConstraintViolation<ProductRequestData>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
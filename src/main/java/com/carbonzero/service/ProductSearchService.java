@@ -1,30 +1,55 @@
 package com.carbonzero.service;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.criteria.Subquery;
 
 import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.CategoryClosure;
 import com.carbonzero.domain.Product;
+import com.carbonzero.dto.CursorPage;
 import com.carbonzero.dto.ProductResponseData;
 import com.carbonzero.dto.ProductSearchRequest;
-import com.carbonzero.repository.ProductRepository;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.dto.SearchPage;
+import com.carbonzero.repository.ProductQueryRepository;
+import com.carbonzero.search.CountStrategy;
+import com.carbonzero.search.Facet;
+import com.carbonzero.search.FacetAccumulator;
+import com.carbonzero.search.IndexSearchResult;
+import com.carbonzero.search.ParallelCounter;
+import com.carbonzero.search.ProductColumns;
+import com.carbonzero.search.ProductCursor;
+import com.carbonzero.search.ProductSearchIndex;
+import com.carbonzero.search.SearchCountCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,22 +57,375 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProductSearchService {
 
-    private final ProductRepository productRepository;
+    private final ProductQueryRepository productQueryRepository;
+    private final ObjectProvider<ProductSearchIndex> productSearchIndex;
+    private final ObjectProvider<ProductColumns> productColumns;
+    private final SearchCountCache searchCountCache;
+    private final ParallelCounter parallelCounter;
     @PersistenceContext EntityManager entityManager;
 
+    @Value("${carbonzero.search.count-strategy:exact}")
+    private CountStrategy countStrategy;
+
+    @Value("${carbonzero.search.count-cap:1000}")
+    private int countCap;
+
+    @Value("${carbonzero.search.facets.price-buckets:10000,30000,50000,100000}")
+    private long[] priceBuckets;
+
+    @Value("${carbonzero.search.facets.brand-size:10}")
+    private int brandFacetSize;
+
+    /**
+     * 가격대 경계가 잘못되었으면 첫 패싯 요청이 아니라 시작할 때 실패한다.
+     */
+    @PostConstruct
+    void checkPriceBuckets() {
+        FacetAccumulator.checkPriceBounds(priceBuckets);
+    }
+
 
     /**
      * 검색엔진
+     * 검색어 없이 가격, 카테고리, 판매 여부, 친환경 여부로 거르고 아이디, 가격, 탄소 배출량, 등록일로 정렬하면
+     * 열 스냅샷에서 찾고 패싯도 스냅샷에서 센다. 스냅샷을 아직 만들고 있으면 아래 경로로 찾는다.
+     * 그 밖에는 carbonzero.search.engine 이 index 이면 인메모리 검색 인덱스로 조건을 평가하고,
+     * 그렇지 않거나 인덱스를 아직 만들고 있으면 데이터베이스에서 LIKE 검색을 수행한다.
+     * 데이터베이스 검색의 전체 건수는 carbonzero.search.count-strategy 또는 요청의 countStrategy 에 따라 구한다.
+     * 요청에 facets 가 있으면 패싯별 상품 수도 함께 반환한다.
      * @param productSearchRequest
      * @return
      */
     @Transactional(readOnly = true)
     public Page<ProductResponseData> search(ProductSearchRequest productSearchRequest) {
+        ProductColumns columns = productColumns.getIfAvailable();
+        if (columns != null && columns.isReady()
+            && columns.supports(productSearchRequest, sortOrder(productSearchRequest))) {
+            return searchColumns(columns, productSearchRequest);
+        }
+        ProductSearchIndex index = productSearchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return searchIndex(index, productSearchRequest);
+        }
+        return searchDatabase(productSearchRequest);
+    }
+
+    /**
+     * 인메모리 인덱스에서 페이지에 해당하는 상품 아이디를 찾고, 그 상품들만 데이터베이스에서 불러온다.
+     */
+    private Page<ProductResponseData> searchIndex(ProductSearchIndex index, ProductSearchRequest productSearchRequest) {
+        Sort.Order order = sortOrder(productSearchRequest);
+        PageRequest pageRequest = pageRequest(productSearchRequest, order);
+
+        FacetAccumulator facets = facetAccumulator(productSearchRequest);
+        IndexSearchResult result = index.search(productSearchRequest, order,
+            pageRequest.getOffset(), pageRequest.getPageSize(), facets);
+
+        return new SearchPage<>(productQueryRepository.findAllById(result.getProductIds()), pageRequest,
+            result.getTotal(), false, facets != null ? facets.toFacets(brandFacetSize) : null);
+    }
+
+    /**
+     * 열 스냅샷에서 페이지에 해당하는 상품 아이디, 전체 건수, 패싯을 구하고, 그 상품들만 데이터베이스에서 불러온다.
+     */
+    private Page<ProductResponseData> searchColumns(ProductColumns columns, ProductSearchRequest productSearchRequest) {
+        Sort.Order order = sortOrder(productSearchRequest);
+        PageRequest pageRequest = pageRequest(productSearchRequest, order);
+
+        FacetAccumulator facets = facetAccumulator(productSearchRequest);
+        IndexSearchResult result = columns.search(productSearchRequest, order,
+            pageRequest.getOffset(), pageRequest.getPageSize(), facets);
+
+        return new SearchPage<>(productQueryRepository.findAllById(result.getProductIds()), pageRequest,
+            result.getTotal(), false, facets != null ? facets.toFacets(brandFacetSize) : null);
+    }
+
+    private Page<ProductResponseData> searchDatabase(ProductSearchRequest productSearchRequest) {
 
         // Criteria Builder 사용
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Product> query = builder.createQuery(Product.class);
+        CriteriaQuery<ProductResponseData> query = builder.createQuery(ProductResponseData.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(ProductQueryRepository.selection(builder, root));
+        List<Predicate> predicates = predicates(builder, query, root, productSearchRequest);
+
+        query.where(predicates.toArray(new Predicate[predicates.size()]));
+
+        // 정렬
+        Sort.Order order = sortOrder(productSearchRequest);
+        PageRequest pageRequest = pageRequest(productSearchRequest, order);
+
+        // 패싯 집계가 건수도 세므로 패싯을 요청하면 count 쿼리를 실행하지 않는다.
+        FacetAccumulator facets = facetAccumulator(productSearchRequest);
+
+        // 병렬로 셀 때는 페이지 쿼리보다 먼저 다른 커넥션에서 세기 시작한다.
+        CountStrategy strategy = productSearchRequest.getCountStrategy() != null
+            ? productSearchRequest.getCountStrategy() : countStrategy;
+        ParallelCounter.Count parallelCount = facets == null && strategy == CountStrategy.PARALLEL
+            ? parallelCounter.submit(() -> count(productSearchRequest))
+            : null;
+
+        // order by
+        if(order.isAscending()){
+            query.orderBy(builder.asc(root.get(order.getProperty())));
+        } else {
+            query.orderBy(builder.desc(root.get(order.getProperty())));
+        }
+
+        // 리스트 결과
+        TypedQuery<ProductResponseData> searchedProducts = entityManager.createQuery(query)
+            .setFirstResult((int) pageRequest.getOffset())
+            .setMaxResults(pageRequest.getPageSize());
+        List<ProductResponseData> resultList = productQueryRepository.withImageLinks(searchedProducts.getResultList());
+
+        // 페이징을 위한 전체 건수
+        long total;
+        boolean totalCapped = false;
+        if (facets != null) {
+            countFacets(productSearchRequest, facets);
+            total = facets.getTotal();
+        } else {
+            switch (strategy) {
+                case CAPPED:
+                    long counted = isShortPage(pageRequest, resultList.size())
+                        ? pageRequest.getOffset() + resultList.size()
+                        : countUpTo(productSearchRequest, countCap + 1);
+                    totalCapped = counted > countCap;
+                    total = Math.min(counted, countCap);
+                    break;
+                case CACHED:
+                    total = searchCountCache.get(productSearchRequest, () -> count(productSearchRequest));
+                    break;
+                case SKIP_WHEN_SHORT:
+                    total = isShortPage(pageRequest, resultList.size())
+                        ? pageRequest.getOffset() + resultList.size()
+                        : count(productSearchRequest);
+                    break;
+                case PARALLEL:
+                    total = parallelCounter.join(parallelCount, () -> count(productSearchRequest));
+                    break;
+                default:
+                    total = count(productSearchRequest);
+            }
+        }
+
+        // 페이징 콘텐츠 dto로 변환
+        return new SearchPage<>(resultList, pageRequest, total, totalCapped,
+            facets != null ? facets.toFacets(brandFacetSize) : null);
+    }
+
+    /**
+     * @return 요청한 패싯을 셀 누산기, 패싯을 요청하지 않았으면 null
+     */
+    private FacetAccumulator facetAccumulator(ProductSearchRequest productSearchRequest) {
+        Set<Facet> facets = productSearchRequest.getFacets();
+        if (facets == null || facets.isEmpty()) {
+            return null;
+        }
+        return new FacetAccumulator(EnumSet.copyOf(facets), priceBuckets);
+    }
+
+    /**
+     * 요청한 패싯의 값으로 묶은 집계 쿼리 한 번으로 검색된 상품을 센다.
+     * 열 스냅샷을 쓸 수 없는 검색만 이 경로로 오므로, 패싯마다 쿼리를 따로 실행하지 않고 한 쿼리에 묶는다.
+     */
+    private void countFacets(ProductSearchRequest productSearchRequest, FacetAccumulator facets) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
         Root<Product> root = query.from(Product.class);
+
+        List<Expression<?>> groups = new ArrayList<>();
+        if (facets.contains(Facet.CATEGORY)) {
+            Join<Product, Category> category = root.join("category", JoinType.LEFT);
+            groups.add(category.get("id"));
+            groups.add(category.get("name"));
+        }
+        if (facets.contains(Facet.BRAND)) {
+            groups.add(root.get("brand"));
+        }
+        if (facets.contains(Facet.PRICE)) {
+            groups.add(priceBucket(builder, root.get("price"), facets.getPriceBounds()));
+        }
+        if (facets.contains(Facet.ECO_FRIENDLY)) {
+            groups.add(root.get("isEcoFriendly"));
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(builder.count(root));
+        List<Predicate> predicates = predicates(builder, query, root, productSearchRequest);
+        query.multiselect(selections)
+            .where(predicates.toArray(new Predicate[predicates.size()]))
+            .groupBy(groups);
+
+        // 행은 요청한 패싯 순서대로 묶은 값과 마지막 열의 상품 수이다.
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            long count = (Long) row[row.length - 1];
+            facets.addTotal(count);
+            int column = 0;
+            if (facets.contains(Facet.CATEGORY)) {
+                facets.addCategory((Long) row[column], (String) row[column + 1], count);
+                column += 2;
+            }
+            if (facets.contains(Facet.BRAND)) {
+                facets.addBrand((String) row[column++], count);
+            }
+            if (facets.contains(Facet.PRICE)) {
+                int bucket = ((Number) row[column++]).intValue();
+                facets.addPrice(bucket < 0 ? null : bucket, count);
+            }
+            if (facets.contains(Facet.ECO_FRIENDLY)) {
+                facets.addEcoFriendly((Boolean) row[column], count);
+            }
+        }
+    }
+
+    /**
+     * 가격이 속한 가격대 번호. 가격이 없으면 -1 이다.
+     */
+    private Expression<Integer> priceBucket(CriteriaBuilder builder, Path<Long> price, long[] bounds) {
+        CriteriaBuilder.Case<Integer> bucket = builder.<Integer>selectCase().when(builder.isNull(price), -1);
+        for (int i = 0; i < bounds.length; i++) {
+            bucket = bucket.when(builder.lessThan(price, bounds[i]), i);
+        }
+        return bucket.otherwise(bounds.length);
+    }
+
+    /**
+     * 페이지가 가득 차지 않았다면 마지막 페이지이므로 건수를 세지 않아도 된다.
+     * 단, 범위를 벗어난 빈 페이지는 앞에 몇 건이 있는지 알 수 없다.
+     */
+    private boolean isShortPage(PageRequest pageRequest, int contentSize) {
+        return contentSize < pageRequest.getPageSize() && (contentSize > 0 || pageRequest.getOffset() == 0);
+    }
+
+    // 페이징을 위한 카운트 쿼리 추출
+    private long count(ProductSearchRequest productSearchRequest) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
+        Root<Product> productRootCount = countQuery.from(Product.class);
+        List<Predicate> countPredicates = predicates(builder, countQuery, productRootCount, productSearchRequest);
+        countQuery.select(builder.count(productRootCount)).where(builder.and(countPredicates.toArray(new Predicate[countPredicates.size()])));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    /**
+     * 최대 limit 건까지만 센다. 아이디만 limit 건 읽고 멈추므로 결과가 많아도 비용이 제한된다.
+     */
+    private long countUpTo(ProductSearchRequest productSearchRequest, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> idQuery = builder.createQuery(Long.class);
+        Root<Product> root = idQuery.from(Product.class);
+        List<Predicate> predicates = predicates(builder, idQuery, root, productSearchRequest);
+        idQuery.select(root.get("id")).where(predicates.toArray(new Predicate[predicates.size()]));
+        return entityManager.createQuery(idQuery).setMaxResults(limit).getResultList().size();
+    }
+
+    /**
+     * 커서 기반 검색
+     * 정렬 필드와 아이디를 키로 이전 페이지의 마지막 상품 다음부터 조회하므로, 페이지 깊이와 상관없이 비용이 일정하다.
+     * 전체 건수는 세지 않고 다음 페이지 커서를 반환한다.
+     * @param productSearchRequest 검색 조건, cursor 가 있으면 커서에 담긴 정렬 조건을 따른다.
+     * @return 상품 목록과 다음 페이지 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponseData> scroll(ProductSearchRequest productSearchRequest) {
+        ProductCursor cursor = null;
+        if(productSearchRequest.getCursor() != null && !Strings.isBlank(productSearchRequest.getCursor())) {
+            cursor = ProductCursor.decode(productSearchRequest.getCursor());
+        }
+        Sort.Order order = cursor != null ? cursor.getOrder() : sortOrder(productSearchRequest);
+        ProductCursor.checkSortField(order.getProperty());
+        int size = Math.max(1, productSearchRequest.getPageSize());
+
+        // 한 건을 더 읽어서 다음 페이지가 있는지 확인한다.
+        ProductSearchIndex index = productSearchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return scrollIndex(index, productSearchRequest, cursor, order, size);
+        }
+
+        List<ProductResponseData> rows = productQueryRepository.withImageLinks(
+            scrollDatabase(productSearchRequest, cursor, order, size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = ProductCursor.of(order, rows.get(size - 1)).encode();
+        }
+        return new CursorPage<>(rows, nextCursor, rows.size());
+    }
+
+    /**
+     * 인덱스에서 커서 다음의 상품을 찾아 데이터베이스에서 응답을 만든다.
+     * 인덱스에 반영되기 전에 삭제된 상품은 응답에서 빠지므로, 다음 페이지 여부와 커서는 빠지기 전의 인덱스 결과로 정한다.
+     * 이때 페이지는 size 보다 짧을 수 있지만 다음 페이지는 건너뛰지 않는다.
+     */
+    private CursorPage<ProductResponseData> scrollIndex(ProductSearchIndex index,
+        ProductSearchRequest productSearchRequest, ProductCursor cursor, Sort.Order order, int size) {
+        List<ProductSnapshot> snapshots = index.scroll(productSearchRequest, cursor, order, size + 1);
+        String nextCursor = null;
+        if (snapshots.size() > size) {
+            snapshots = snapshots.subList(0, size);
+            nextCursor = ProductCursor.of(order, snapshots.get(size - 1)).encode();
+        }
+
+        List<ProductResponseData> rows = productQueryRepository.findAllById(snapshots.stream()
+            .map(ProductSnapshot::getId)
+            .collect(Collectors.toList()));
+        return new CursorPage<>(rows, nextCursor, rows.size());
+    }
+
+    private List<ProductResponseData> scrollDatabase(ProductSearchRequest productSearchRequest, ProductCursor cursor,
+        Sort.Order order, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseData> query = builder.createQuery(ProductResponseData.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(ProductQueryRepository.selection(builder, root));
+        List<Predicate> predicates = predicates(builder, query, root, productSearchRequest);
+        if (cursor != null) {
+            predicates.add(keysetPredicate(builder, root, cursor, order));
+        }
+        query.where(predicates.toArray(new Predicate[predicates.size()]));
+
+        // order by 정렬 필드, 아이디
+        if (order.isAscending()) {
+            query.orderBy(builder.asc(root.get(order.getProperty())), builder.asc(root.get("id")));
+        } else {
+            query.orderBy(builder.desc(root.get(order.getProperty())), builder.desc(root.get("id")));
+        }
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    /**
+     * (정렬 값, 아이디) 가 커서보다 뒤에 있는 행을 고르는 조건.
+     * null 은 오름차순에서 가장 앞, 내림차순에서 가장 뒤에 온다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate keysetPredicate(CriteriaBuilder builder, Root<Product> root, ProductCursor cursor,
+        Sort.Order order) {
+        Path<Comparable> field = root.get(order.getProperty());
+        Path<Long> id = root.get("id");
+        Comparable value = cursor.getValue();
+
+        Predicate idAfter = order.isAscending()
+            ? builder.greaterThan(id, cursor.getId())
+            : builder.lessThan(id, cursor.getId());
+
+        if (value == null) {
+            Predicate sameNull = builder.and(builder.isNull(field), idAfter);
+            return order.isAscending() ? builder.or(sameNull, builder.isNotNull(field)) : sameNull;
+        }
+
+        Predicate sameValue = builder.and(builder.equal(field, value), idAfter);
+        if (order.isAscending()) {
+            return builder.or(builder.greaterThan(field, value), sameValue);
+        }
+        return builder.or(builder.lessThan(field, value), sameValue, builder.isNull(field));
+    }
+
+    private List<Predicate> predicates(CriteriaBuilder builder, AbstractQuery<?> query, Root<Product> root,
+        ProductSearchRequest productSearchRequest) {
         List<Predicate> predicates = new ArrayList<>();
 
         // where 절
@@ -77,48 +455,48 @@ public class ProductSearchService {
             predicates.add(builder.like(builder.lower(root.get("description")),"%" + productSearchRequest.getDescription().toLowerCase(Locale.ROOT) + "%"));
         }
 
-        // 카테고리 검색(추후에 enum으로 관리)
-//        if(productSearchRequest.getCategoryId() != null) {
-//            predicates.add(builder.equal(root.get("category_id").as(Long.class),productSearchRequest.getCategoryId()));
-//        }
+        // 카테고리 검색, 클로저 테이블로 하위 카테고리의 상품까지 찾는다.
+        if(productSearchRequest.getCategoryId() != null) {
+            Subquery<Long> subtree = query.subquery(Long.class);
+            Root<CategoryClosure> closure = subtree.from(CategoryClosure.class);
+            subtree.select(closure.get("descendantId"))
+                .where(builder.equal(closure.get("ancestorId"), productSearchRequest.getCategoryId()));
+            predicates.add(root.get("category").get("id").in(subtree));
+        }
 
-        // 가격 검색(하한, 상한 설정)
-        if(productSearchRequest.getPriceTo() != null || productSearchRequest.getPriceFrom() != null) {
-            predicates.add(
-                    builder.and(builder.greaterThanOrEqualTo(root.get("price").as(Long.class), productSearchRequest.getPriceFrom())
-                            ,builder.lessThanOrEqualTo(root.get("price").as(Long.class), productSearchRequest.getPriceTo())));
+        // 판매 여부, 친환경 여부
+        if(productSearchRequest.getIsActive() != null) {
+            predicates.add(builder.equal(root.get("isActive"), productSearchRequest.getIsActive()));
+        }
+        if(productSearchRequest.getIsEcoFriendly() != null) {
+            predicates.add(builder.equal(root.get("isEcoFriendly"), productSearchRequest.getIsEcoFriendly()));
         }
 
-        query.where(predicates.toArray(new Predicate[predicates.size()]));
+        // 가격 검색(하한, 상한 설정), 컬럼을 형변환하지 않아야 가격 인덱스를 쓴다.
+        if(productSearchRequest.getPriceFrom() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(root.get("price"), productSearchRequest.getPriceFrom()));
+        }
+        if(productSearchRequest.getPriceTo() != null) {
+            predicates.add(builder.lessThanOrEqualTo(root.get("price"), productSearchRequest.getPriceTo()));
+        }
 
-        // 정렬
+        return predicates;
+    }
+
+    /**
+     * "필드,방향" 형식의 정렬 조건을 해석한다. 방향이 asc 가 아니면 내림차순으로 정렬한다.
+     */
+    private Sort.Order sortOrder(ProductSearchRequest productSearchRequest) {
         String sortField = productSearchRequest.getSort().split(",")[0];
         String sortDirectionStr = productSearchRequest.getSort().split(",")[1];
         Sort.Direction sortDirection = Sort.Direction.DESC;
         if(sortDirectionStr.toLowerCase(Locale.ROOT).equals("asc")){
             sortDirection = Sort.Direction.ASC;
         }
-
-        // order by
-        if(sortDirection.isAscending()){
-            query.orderBy(builder.asc(root.get(sortField)));
-        } else {
-            query.orderBy(builder.desc(root.get(sortField)));
-        }
-
-        // 리스트 결과
-        TypedQuery<Product> searchedProducts = entityManager.createQuery(query).setFirstResult(productSearchRequest.getPageNumber()).setMaxResults(productSearchRequest.getPageSize());
-        List<Product> resultList = searchedProducts.getResultList();
-
-        // 페이징을 위한 카운트 쿼리 추출
-        CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
-        Root<Product> productRootCount = countQuery.from(Product.class);
-        countQuery.select(builder.count(productRootCount)).where(builder.and(predicates.toArray(new Predicate[predicates.size()])));
-        Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-        // 페이징 콘텐츠 dto로 변환
-        return new PageImpl<>(resultList.stream().map(ProductResponseData::convertToProductResponseData).collect(Collectors.toList())
-                ,PageRequest.of(productSearchRequest.getPageNumber(), productSearchRequest.getPageSize(), sortDirection,sortField),count);
+        return new Sort.Order(sortDirection, sortField);
     }
 
+    private PageRequest pageRequest(ProductSearchRequest productSearchRequest, Sort.Order order) {
+        return PageRequest.of(productSearchRequest.getPageNumber(), productSearchRequest.getPageSize(), Sort.by(order));
+    }
 }
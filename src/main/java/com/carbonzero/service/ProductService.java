@@ -13,6 +13,8 @@ public interface ProductService {
 
     Product getProduct(Long id);
 
+    ProductResponseData getProductDetail(Long id);
+
     Product createProduct(ProductRequestData productRequestData);
 
     Product updateProduct(Long id, ProductRequestData source);
@@ -1,43 +1,52 @@
 package com.carbonzero.service;
 
-import static com.carbonzero.dto.CategoryResponseData.convertToCategoryResponseData;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.carbonzero.category.CategoryClosures;
 import com.carbonzero.domain.Category;
 import com.carbonzero.domain.Product;
 import com.carbonzero.dto.CategoryRequest;
 import com.carbonzero.dto.CategoryResponseData;
 import com.carbonzero.dto.ProductRequestData;
 import com.carbonzero.dto.ProductResponseData;
-import com.carbonzero.error.CategoryNotFoundException;
 import com.carbonzero.error.ProductNotFoundException;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.mapper.CategoryMapper;
+import com.carbonzero.mapper.ProductMapper;
 import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductQueryRepository;
 import com.carbonzero.repository.ProductRepository;
-import com.github.dozermapper.core.Mapper;
 
 @Transactional
 @Service
 public class ProductServiceImpl implements ProductService {
 
-    private final Mapper mapper;
+    private final ProductMapper productMapper;
+    private final CategoryMapper categoryMapper;
     private final ProductRepository productRepository;
+    private final ProductQueryRepository productQueryRepository;
     private final CategoryRepository categoryRepository;
     private final CategoryService categoryService;
-
-    public ProductServiceImpl(Mapper mapper, ProductRepository productRepository, CategoryRepository categoryRepository,
-        CategoryService categoryService) {
-        this.mapper = mapper;
+    private final CategoryClosures categoryClosures;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductServiceImpl(ProductMapper productMapper, CategoryMapper categoryMapper,
+        ProductRepository productRepository, ProductQueryRepository productQueryRepository,
+        CategoryRepository categoryRepository,
+        CategoryService categoryService, CategoryClosures categoryClosures, ApplicationEventPublisher eventPublisher) {
+        this.productMapper = productMapper;
+        this.categoryMapper = categoryMapper;
         this.productRepository = productRepository;
+        this.productQueryRepository = productQueryRepository;
         this.categoryRepository = categoryRepository;
         this.categoryService = categoryService;
+        this.categoryClosures = categoryClosures;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -52,19 +61,12 @@ public class ProductServiceImpl implements ProductService {
         Long categoryId = productRequestData.getCategoryId();
         Category category = categoryService.getCategory(categoryId);
 
-        Product product = Product.builder()
-            .brand(productRequestData.getBrand())
-            .carbonEmissions(productRequestData.getCarbonEmissions())
-            .description(productRequestData.getDescription())
-            .imageLink(productRequestData.getImageLink())
-            .name(productRequestData.getName())
-            .price(productRequestData.getPrice())
-            .isEcoFriendly(productRequestData.getIsEcoFriendly())
-            .isActive(true)
-            .category(category)
-            .build();
-
-        return productRepository.save(product);
+        Product product = productMapper.toEntity(productRequestData, category);
+
+        Product createdProduct = productRepository.save(product);
+        productRepository.flush();
+        eventPublisher.publishEvent(ProductChangedEvent.created(productMapper.toSnapshot(createdProduct)));
+        return createdProduct;
     }
 
     /**
@@ -72,10 +74,9 @@ public class ProductServiceImpl implements ProductService {
      * @return 상품 목록
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<ProductResponseData> getProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findAll(pageable);
-
-        return products.map((product) -> ProductResponseData.convertToProductResponseData(product));
+        return productQueryRepository.findAll(pageable);
     }
 
     /**
@@ -84,10 +85,23 @@ public class ProductServiceImpl implements ProductService {
      * @return 조회할 상품
      */
     @Override
+    @Transactional(readOnly = true)
     public Product getProduct(Long id) {
         return findProduct(id);
     }
 
+    /**
+     * 특정 상품의 상세 정보를 반환한다. 엔티티를 불러오지 않고 응답 dto 로 바로 조회한다.
+     * @param id 상품 아이디
+     * @return 상품 상세 정보
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductResponseData getProductDetail(Long id) {
+        return productQueryRepository.findById(id)
+            .orElseThrow(() -> new ProductNotFoundException(id));
+    }
+
     /**
      *  상품을 업데이트한다.
      * @param id,productRequestData
@@ -100,19 +114,14 @@ public class ProductServiceImpl implements ProductService {
 
         Category category = categoryService.getCategory(categoryId);
 
-        Product updatedProduct = Product.builder()
-            .name(productRequestData.getName())
-            .brand(productRequestData.getBrand())
-            .price(productRequestData.getPrice())
-            .description(productRequestData.getDescription())
-            .imageLink(productRequestData.getImageLink())
-            .category(category)
-            .isEcoFriendly(productRequestData.getIsEcoFriendly())
-            .carbonEmissions(productRequestData.getCarbonEmissions())
-            .build();
+        Product updatedProduct = productMapper.toEntity(productRequestData, category);
 
         Product originalProduct = findProduct(id);
         originalProduct.changeWith(updatedProduct);
+
+        // 수정 시각이 기록되도록 먼저 반영한 뒤 변경을 알린다.
+        productRepository.flush();
+        eventPublisher.publishEvent(ProductChangedEvent.updated(productMapper.toSnapshot(originalProduct)));
         return originalProduct;
     }
 
@@ -124,6 +133,7 @@ public class ProductServiceImpl implements ProductService {
     public Product deleteProduct(Long id) {
         Product product = findProduct(id);
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(productMapper.toSnapshot(product)));
         return product;
     }
 
@@ -137,27 +147,6 @@ public class ProductServiceImpl implements ProductService {
             .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
-    public List<ProductResponseData> recommend(Long id) {
-        Product product = productRepository.findById(id).orElseThrow(
-                () -> new ProductNotFoundException(id));
-
-        Category category = categoryRepository.findByIdAndIsActive(product.getCategory().getId(), true).orElseThrow(
-                () -> new CategoryNotFoundException(product.getCategory().getId()));
-
-
-        List<Product> productList = productRepository.findTop5ByIsActiveAndCategoryIdAndIsEcoFriendlyOrderByCarbonEmissionsAsc(true, category.getId(), true);
-
-        return productList.stream().map(ProductResponseData::convertToProductResponseData).collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<CategoryResponseData> getCategories() {
-        List<Category> categories = categoryRepository.findAllByIsActive(true);
-        List<Category> list = categories.stream().filter(category -> category.getParentCategory() == null)
-                .collect(Collectors.toList());
-        return list.stream().map(CategoryResponseData::convertToCategoryResponseData).collect(Collectors.toList());
-    }
-
     @Transactional
     public CategoryResponseData createCategory(CategoryRequest categoryRequest){
         Category parent = null;
@@ -165,15 +154,12 @@ public class ProductServiceImpl implements ProductService {
             parent = categoryRepository.findById(categoryRequest.getParentId()).orElseThrow();
         }
 
-        Category category = categoryRepository.save(Category.builder()
-                .isActive(true)
-                .name(categoryRequest.getName())
-                .parentCategory(parent)
-                .subCategoryList(new ArrayList<>())
-                .build());
+        Category category = categoryRepository.save(categoryMapper.toEntity(categoryRequest, parent));
 
         if(parent != null) parent.getSubCategoryList().add(category);
+        categoryClosures.add(category.getId(), categoryRequest.getParentId());
 
-        return convertToCategoryResponseData(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return categoryMapper.toResponseData(category);
     }
 }
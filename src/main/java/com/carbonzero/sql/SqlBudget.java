@@ -0,0 +1,22 @@
+package com.carbonzero.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 요청 하나가 실행할 수 있는 최대 SQL 문 수.
+ * 핸들러 메서드에 붙이면 SqlBudgetFilter 가 요청을 처리하는 동안 실행된 SQL 문을 세어 예산과 비교한다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /**
+     * 허용하는 SQL 문 수
+     */
+    int value();
+}
@@ -0,0 +1,79 @@
+package com.carbonzero.sql;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.carbonzero.error.SqlBudgetExceededException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청을 처리하는 동안 실행된 SQL 문을 세어 핸들러의 @SqlBudget 과 비교한다.
+ * 뷰 렌더링이나 응답 직렬화 중의 지연 로딩까지 세도록 DispatcherServlet 바깥에서 센다.
+ * 예산을 넘으면 실행된 SQL 문과 함께 경고를 남기고, fail-on-exceed 이면 예외를 던져 테스트를 실패시킨다.
+ */
+@Slf4j
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final boolean failOnExceed;
+    private final int maxLoggedStatements;
+
+    public SqlBudgetFilter(@Value("${carbonzero.sql-budget.fail-on-exceed:false}") boolean failOnExceed,
+        @Value("${carbonzero.sql-budget.max-logged-statements:50}") int maxLoggedStatements) {
+        this.failOnExceed = failOnExceed;
+        this.maxLoggedStatements = maxLoggedStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.start(maxLoggedStatements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementRecorder.stop();
+        }
+
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        SqlBudget budget = ((HandlerMethod) handler).getMethodAnnotation(SqlBudget.class);
+        if (budget == null || recording.getCount() <= budget.value()) {
+            return;
+        }
+
+        String message = message((HandlerMethod) handler, budget, recording);
+        if (failOnExceed) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private String message(HandlerMethod handler, SqlBudget budget, SqlStatementRecorder.Recording recording) {
+        StringBuilder message = new StringBuilder()
+            .append(handler.getShortLogMessage())
+            .append(" executed ").append(recording.getCount())
+            .append(" SQL statements, budget: ").append(budget.value());
+        List<String> statements = recording.getStatements();
+        for (int i = 0; i < statements.size(); i++) {
+            message.append('\n').append(i + 1).append(". ").append(statements.get(i));
+        }
+        if (recording.getCount() > statements.size()) {
+            message.append("\n... ").append(recording.getCount() - statements.size()).append(" more");
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.carbonzero.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비하는 SQL 문을 현재 스레드의 기록에 남긴다.
+ * hibernate.session_factory.statement_inspector 로 등록하며, 기록 중이 아닌 스레드에서는 아무 일도 하지 않는다.
+ * 배치로 보내는 INSERT/UPDATE 는 배치마다 한 번만 준비되므로 한 문으로 센다.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    /**
+     * 현재 스레드에서 SQL 문 기록을 시작한다.
+     * @param maxStatements SQL 문을 보관할 최대 개수, 넘치는 문은 세기만 한다.
+     */
+    public static Recording start(int maxStatements) {
+        Recording recording = new Recording(maxStatements);
+        RECORDING.set(recording);
+        return recording;
+    }
+
+    /**
+     * 현재 스레드의 SQL 문 기록을 끝낸다.
+     */
+    public static void stop() {
+        RECORDING.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.record(sql);
+        }
+        return sql;
+    }
+
+    public static class Recording {
+        private final int maxStatements;
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        private Recording(int maxStatements) {
+            this.maxStatements = maxStatements;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (statements.size() < maxStatements) {
+                statements.add(sql);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<String> getStatements() {
+            return Collections.unmodifiableList(statements);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * 상품 아이디 시퀀스가 없으면 만든다.
+ * V1 을 기준선으로 건너뛴 데이터베이스에는 시퀀스가 없고, 상품 아이디는 IDENTITY 로 채워져 있다.
+ * Hibernate 는 시퀀스 값에서 할당 크기만큼 앞의 아이디부터 쓰므로, 기존 최대 아이디에 할당 크기를 더한 값에서 시작한다.
+ */
+public class V4__Create_product_sequence extends BaseJavaMigration {
+
+    // Product 의 @SequenceGenerator allocationSize 와 같아야 한다.
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from product")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            statement.execute("create sequence if not exists product_seq start with " + (maxId + ALLOCATION_SIZE)
+                + " increment by " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * 상품의 카테고리 아이디에 걸린 유일 제약 조건을 지운다.
+ * 상품의 카테고리가 @OneToOne 이던 때 ddl-auto 가 이름이 정해지지 않은(UK_...) 유일 제약 조건을 만들었다.
+ * 지금은 @ManyToOne 이라 한 카테고리에 상품이 여러 개 있어야 하므로, V1 을 기준선으로 건너뛴 데이터베이스에서만 지운다.
+ * 외래 키가 쓸 인덱스는 V3 의 idx_product_category_active_eco_emissions 가 있다.
+ */
+public class V5__Drop_product_category_unique extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean h2 = "H2".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            if (h2) {
+                // H2 는 유일 제약 조건만 지우면 그 인덱스를 외래 키가 넘겨받아 유일성이 남으므로 외래 키도 다시 만든다.
+                List<String> uniques = names(statement, constraintsOnCategoryId("UNIQUE"));
+                if (uniques.isEmpty()) {
+                    return;
+                }
+                for (String name : names(statement, constraintsOnCategoryId("REFERENTIAL"))) {
+                    statement.execute("alter table product drop constraint " + name);
+                }
+                for (String name : uniques) {
+                    statement.execute("alter table product drop constraint " + name);
+                }
+                statement.execute("alter table product add constraint fk_product_category "
+                    + "foreign key (category_id) references category (id)");
+            } else {
+                for (String name : names(statement, "select index_name from information_schema.statistics "
+                    + "where table_schema = database() and table_name = 'product' and non_unique = 0 "
+                    + "group by index_name having count(*) = 1 and max(column_name) = 'category_id'")) {
+                    statement.execute("alter table product drop index " + name);
+                }
+            }
+        }
+    }
+
+    private static String constraintsOnCategoryId(String type) {
+        return "select constraint_name from information_schema.constraints where table_schema = schema() "
+            + "and table_name = 'PRODUCT' and constraint_type = '" + type + "' and column_list = 'CATEGORY_ID'";
+    }
+
+    private static List<String> names(Statement statement, String sql) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(1));
+            }
+        }
+        return names;
+    }
+}
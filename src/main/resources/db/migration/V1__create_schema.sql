@@ -0,0 +1,40 @@
+-- 엔티티가 쓰는 스키마. 상품과 카테고리는 다대일이라 product.category_id 에 유일 제약 조건을 두지 않는다.
+-- 이미 테이블이 있는 데이터베이스는 이 버전을 기준선으로 삼고 건너뛴다. 그런 데이터베이스와 다른 점은 V4, V5 가 맞춘다.
+
+create table category (
+    id bigint not null auto_increment,
+    create_at datetime(6),
+    update_at datetime(6),
+    is_active bit,
+    name varchar(255) not null,
+    parent_id bigint,
+    primary key (id)
+);
+
+create table product (
+    id bigint not null,
+    create_at datetime(6),
+    update_at datetime(6),
+    brand varchar(255) not null,
+    carbon_emissions integer,
+    description varchar(255),
+    is_active bit,
+    is_eco_friendly bit,
+    name varchar(255) not null,
+    price bigint not null,
+    category_id bigint,
+    primary key (id)
+);
+
+create table product_image_link (
+    product_id bigint not null,
+    image_link varchar(1000)
+);
+
+create sequence product_seq start with 1 increment by 50;
+
+alter table category add constraint fk_category_parent foreign key (parent_id) references category (id);
+
+alter table product add constraint fk_product_category foreign key (category_id) references category (id);
+
+alter table product_image_link add constraint fk_product_image_link_product foreign key (product_id) references product (id);
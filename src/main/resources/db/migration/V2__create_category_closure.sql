@@ -0,0 +1,11 @@
+-- 카테고리 계층의 클로저 테이블. 하위 카테고리 검색은 기본 키 (ancestor_id, descendant_id) 범위로 찾는다.
+-- ddl-auto 가 먼저 만들었을 수 있으므로 없을 때만 만든다. 기존 카테고리의 행은 애플리케이션이 시작할 때 채운다.
+
+create table if not exists category_closure (
+    ancestor_id bigint not null,
+    descendant_id bigint not null,
+    depth integer not null,
+    primary key (ancestor_id, descendant_id)
+);
+
+create index if not exists idx_category_closure_descendant on category_closure (descendant_id);
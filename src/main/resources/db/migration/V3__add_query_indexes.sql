@@ -0,0 +1,12 @@
+-- 저장소 메서드의 조건과 정렬 순서에 맞춘 인덱스. 등호 조건 열을 앞에, 정렬 열을 뒤에 둔다.
+
+-- 추천의 ProductQueryRepository.findGreenest: 세 등호 조건으로 좁힌 뒤 (탄소 배출량, 아이디) 순서로 필요한 만큼만 읽는다.
+create index if not exists idx_product_category_active_eco_emissions
+    on product (category_id, is_active, is_eco_friendly, carbon_emissions, id);
+
+-- 상품 목록의 기본 정렬(createAt 내림차순)과 커서 목록(createAt, id 내림차순): 앞에서부터 한 페이지만 읽고 정렬하지 않는다.
+-- 역방향으로 읽지 못하는 데이터베이스가 있어서 내림차순으로 만든다.
+create index if not exists idx_product_create_at on product (create_at desc, id desc);
+
+-- findAllByIsActive: 활성 카테고리만 읽는다.
+create index if not exists idx_category_active on category (is_active, id);
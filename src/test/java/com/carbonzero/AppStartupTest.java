@@ -0,0 +1,194 @@
+package com.carbonzero;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.carbonzero.category.CategoryClosures;
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.repository.CategoryClosureRepository;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * 인메모리 색인은 ApplicationReadyEvent 에서 만들어지므로, 그 전에 들어온 요청도 저장소의 데이터로 답하는지 확인한다.
+ * ApplicationReadyEvent 를 가장 먼저 받는 리스너가 색인보다 먼저 상품을 넣고 요청을 보내 응답을 남긴다.
+ */
+@DisplayName("애플리케이션 시작 테스트")
+@SpringBootTest(properties = {"carbonzero.search.engine=index", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+@Import(AppStartupTest.BeforeIndexes.class)
+class AppStartupTest {
+
+    @Autowired
+    private BeforeIndexes beforeIndexes;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryClosureRepository.deleteAllInBatch();
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("색인을 만들기 전에 검색하면 데이터베이스에서 찾는다.")
+    @Test
+    void searchBeforeIndexes() throws Exception {
+        assertThat(beforeIndexes.json("search", "$.total_elements", Integer.class)).isEqualTo(2);
+        assertThat(beforeIndexes.json("scroll", "$.content.length()", Integer.class)).isEqualTo(2);
+        assertThat(beforeIndexes.json("filter", "$.total_elements", Integer.class)).isEqualTo(2);
+    }
+
+    @DisplayName("카테고리 트리를 만들기 전에 조회하면 그 자리에서 만든다.")
+    @Test
+    void categoriesBeforeIndexes() throws Exception {
+        assertThat(beforeIndexes.strings("categories", "$[*].name")).containsExactly("샴푸");
+    }
+
+    @DisplayName("추천 엔진을 만들기 전에 추천하면 기준 상품의 카테고리를 데이터베이스에서 찾는다.")
+    @Test
+    void recommendBeforeIndexes() throws Exception {
+        assertThat(beforeIndexes.strings("recommend", "$[*].name"))
+            .containsExactly("헤드앤숄더 시트러스 레몬 샴푸", "케라시스 샴푸");
+    }
+
+    @DisplayName("자동 완성 사전을 만들기 전에 요청하면 상태 코드 503을 반환한다.")
+    @Test
+    void suggestBeforeIndexes() {
+        assertThat(beforeIndexes.status("suggest")).isEqualTo(503);
+    }
+
+    @DisplayName("배출량 통계를 만들기 전에 요청하면 데이터베이스의 상품으로 요약한다.")
+    @Test
+    void emissionsStatsBeforeIndexes() throws Exception {
+        assertThat(beforeIndexes.json("emissions", "$.carbon_emissions.count", Integer.class)).isEqualTo(2);
+        assertThat(beforeIndexes.json("emissions", "$.carbon_emissions.mean", Double.class)).isEqualTo(150.0);
+    }
+
+    /**
+     * 색인보다 먼저 ApplicationReadyEvent 를 받아 요청을 보낸다.
+     */
+    @TestConfiguration
+    static class BeforeIndexes {
+
+        private final Map<String, MockHttpServletResponse> responses = new HashMap<>();
+        private final List<Long> productIds = new ArrayList<>();
+        private Long categoryId;
+
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        @EventListener(ApplicationReadyEvent.class)
+        public void onApplicationReady(ApplicationReadyEvent event) throws Exception {
+            ApplicationContext context = event.getApplicationContext();
+            new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> seed(context));
+
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+            perform(mockMvc, "search", post("/products/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"search_keyword\":\"샴푸\"}"));
+            perform(mockMvc, "scroll", post("/products/search/scroll")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"search_keyword\":\"샴푸\"}"));
+            perform(mockMvc, "filter", post("/products/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"is_eco_friendly\":true}"));
+            perform(mockMvc, "categories", get("/products/categories"));
+            perform(mockMvc, "suggest", get("/products/suggest").param("q", "샴푸"));
+            perform(mockMvc, "emissions", get("/products/categories/" + categoryId + "/emissions-stats"));
+            perform(mockMvc, "recommend", get("/products/recommend/" + productIds.get(0)));
+        }
+
+        <T> T json(String name, String path, Class<T> type) throws Exception {
+            return JsonPath.parse(content(name)).read(path, type);
+        }
+
+        List<String> strings(String name, String path) throws Exception {
+            List<String> values = JsonPath.parse(content(name)).read(path);
+            return values;
+        }
+
+        private String content(String name) throws Exception {
+            MockHttpServletResponse response = responses.get(name);
+            assertThat(response).as(name).isNotNull();
+            assertThat(response.getStatus()).as(name).isEqualTo(200);
+            return response.getContentAsString(StandardCharsets.UTF_8);
+        }
+
+        int status(String name) {
+            MockHttpServletResponse response = responses.get(name);
+            assertThat(response).as(name).isNotNull();
+            return response.getStatus();
+        }
+
+        private void perform(MockMvc mockMvc, String name, RequestBuilder request) throws Exception {
+            responses.put(name, mockMvc.perform(request).andReturn().getResponse());
+        }
+
+        /**
+         * 시작하기 전부터 데이터베이스에 있던 카테고리와 상품. 변경 이벤트 없이 저장소에 바로 넣는다.
+         */
+        private void seed(ApplicationContext context) {
+            Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("샴푸")
+                .isActive(true)
+                .build());
+            context.getBean(CategoryClosures.class).add(category.getId(), null);
+            categoryId = category.getId();
+
+            context.getBean(ProductRepository.class).saveAll(List.of(
+                product("헤드앤숄더 시트러스 레몬 샴푸", category, 100),
+                product("케라시스 샴푸", category, 200)))
+                .forEach(product -> productIds.add(product.getId()));
+        }
+
+        private static Product product(String name, Category category, int carbonEmissions) {
+            return Product.builder()
+                .name(name)
+                .brand("P&G")
+                .price(10000L)
+                .category(category)
+                .isActive(true)
+                .isEcoFriendly(true)
+                .carbonEmissions(carbonEmissions)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.carbonzero.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("근사 LRU 맵 테스트")
+class ConcurrentLruMapTest {
+
+    @DisplayName("최대 크기를 넘으면 넘친 수보다 최대 크기의 1/16 만큼 더, 가장 오래 쓰지 않은 항목부터 내보낸다.")
+    @Test
+    void evictLeastRecentlyUsed() throws Exception {
+        ConcurrentLruMap<Integer, String> map = new ConcurrentLruMap<>(32);
+        for (int key = 0; key < 32; key++) {
+            map.put(key, "값 " + key);
+        }
+        // 사용 시각이 넣은 시각보다 확실히 늦도록 기다린다.
+        Thread.sleep(1);
+        map.get(0);
+        map.get(1);
+
+        map.put(32, "값 32");
+
+        assertThat(map.size()).isEqualTo(30);
+        assertThat(map.getEvictionCount()).isEqualTo(3);
+        assertThat(map.get(0)).isEqualTo("값 0");
+        assertThat(map.get(1)).isEqualTo("값 1");
+        assertThat(map.get(32)).isEqualTo("값 32");
+    }
+
+    @DisplayName("여러 스레드가 동시에 넣고 읽어도 크기는 최대 크기 근처에 머문다.")
+    @Test
+    void putConcurrently() throws Exception {
+        ConcurrentLruMap<Integer, Integer> map = new ConcurrentLruMap<>(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 100_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        map.put(offset + i, i);
+                        map.get(offset + i / 2);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(map.size()).isLessThanOrEqualTo(1100);
+        assertThat(map.getEvictionCount()).isEqualTo(8 * 20_000 - map.size());
+    }
+}
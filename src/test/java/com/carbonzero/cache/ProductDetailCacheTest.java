@@ -0,0 +1,112 @@
+package com.carbonzero.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.carbonzero.dto.CacheStats;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+
+@DisplayName("상품 상세 캐시 테스트")
+class ProductDetailCacheTest {
+
+    private ProductDetailCache cache;
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .propertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE)
+        .build();
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductDetailCache(objectMapper, 2);
+    }
+
+    @DisplayName("한 번 불러온 상품은 다시 불러오지 않고, 직렬화해 둔 JSON 을 그대로 반환한다.")
+    @Test
+    void getWithCachedProduct() throws Exception {
+        EncodedProduct detail = cache.get(1L, this::load);
+        assertThat(cache.get(1L, this::load)).isSameAs(detail);
+        assertThat(detail.getJson()).isEqualTo(objectMapper.writeValueAsBytes(product(1L)));
+
+        CacheStats stats = cache.getStats();
+        assertThat(loadCount).hasValue(1);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 오래 조회하지 않은 상품을 내보낸다.")
+    @Test
+    void getWithFullCache() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        CacheStats stats = cache.getStats();
+        assertThat(loadCount).hasValue(4);
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getEvictionCount()).isEqualTo(2);
+    }
+
+    @DisplayName("상품이 수정되면 해당 상품을 다시 불러온다.")
+    @Test
+    void getAfterUpdated() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.onProductChanged(ProductChangedEvent.updated(ProductSnapshot.builder().id(1L).build()));
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        assertThat(loadCount).hasValue(3);
+    }
+
+    @DisplayName("카테고리가 바뀌면 모든 상품을 다시 불러온다.")
+    @Test
+    void getAfterCategoryChanged() {
+        cache.get(1L, this::load);
+
+        cache.onCategoryChanged(new CategoryChangedEvent(1L));
+
+        cache.get(1L, this::load);
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @DisplayName("불러오는 동안 상품이 바뀌면 불러온 상세를 캐시하지 않는다.")
+    @Test
+    void getWithChangeDuringLoad() {
+        cache.get(1L, id -> {
+            cache.onProductChanged(ProductChangedEvent.updated(ProductSnapshot.builder().id(id).build()));
+            return load(id);
+        });
+
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+
+    private ProductResponseData load(Long id) {
+        loadCount.incrementAndGet();
+        return product(id);
+    }
+
+    private static ProductResponseData product(Long id) {
+        return ProductResponseData.builder()
+            .id(id)
+            .name("샴푸 " + id)
+            .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.carbonzero.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.carbonzero.dto.CacheStats;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+
+@DisplayName("상품 응답 JSON 캐시 테스트")
+class ProductJsonCacheTest {
+
+    private static final LocalDateTime UPDATE_AT = LocalDateTime.of(2021, 6, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .propertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE)
+        .build();
+
+    private ProductJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductJsonCache(objectMapper, 2);
+    }
+
+    @DisplayName("수정 시각이 같으면 다시 직렬화하지 않고 보관한 JSON 을 반환한다.")
+    @Test
+    void jsonWithSameUpdateAt() throws Exception {
+        ProductResponseData product = product(1L, "샴푸", UPDATE_AT);
+
+        byte[] json = cache.json(product);
+        product.setName("바뀐 샴푸");
+
+        assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(product(1L, "샴푸", UPDATE_AT)));
+        assertThat(cache.json(product)).isSameAs(json);
+
+        CacheStats stats = cache.getStats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    @DisplayName("수정 시각이 바뀌거나 상품 변경이 커밋되면 다시 직렬화한다.")
+    @Test
+    void jsonWithChangedProduct() throws Exception {
+        cache.json(product(1L, "샴푸", UPDATE_AT));
+
+        ProductResponseData updated = product(1L, "바뀐 샴푸", UPDATE_AT.plusSeconds(1));
+        assertThat(cache.json(updated)).isEqualTo(objectMapper.writeValueAsBytes(updated));
+
+        cache.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.builder().id(1L).build()));
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+
+    @DisplayName("카테고리가 바뀌면 카테고리 이름이 담긴 JSON 을 모두 비운다.")
+    @Test
+    void jsonAfterCategoryChanged() {
+        cache.json(product(1L, "샴푸", UPDATE_AT));
+        cache.json(product(2L, "린스", UPDATE_AT));
+
+        cache.onCategoryChanged(new CategoryChangedEvent(1L));
+
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 오래 쓰지 않은 상품을 내보낸다.")
+    @Test
+    void jsonWithFullCache() {
+        ProductResponseData first = product(1L, "샴푸", UPDATE_AT);
+        byte[] json = cache.json(first);
+        cache.json(product(2L, "린스", UPDATE_AT));
+        cache.json(first);
+        cache.json(product(3L, "비누", UPDATE_AT));
+
+        assertThat(cache.json(first)).isSameAs(json);
+        CacheStats stats = cache.getStats();
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getEvictionCount()).isEqualTo(1);
+    }
+
+    @DisplayName("상품 목록은 상품마다 JSON 을 이어 붙여 목록을 직렬화한 것과 같은 배열을 만든다.")
+    @Test
+    void jsonArray() throws Exception {
+        List<ProductResponseData> products = List.of(
+            product(1L, "샴푸", UPDATE_AT),
+            product(2L, "린스", UPDATE_AT),
+            product(3L, "비누", null));
+
+        assertThat(cache.jsonArray(products)).isEqualTo(objectMapper.writeValueAsBytes(products));
+        assertThat(cache.jsonArray(products)).isEqualTo(objectMapper.writeValueAsBytes(products));
+        assertThat(cache.jsonArray(List.of())).isEqualTo(objectMapper.writeValueAsBytes(List.of()));
+
+        CacheStats stats = cache.getStats();
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getHitCount()).isEqualTo(2);
+    }
+
+    private static ProductResponseData product(Long id, String name, LocalDateTime updateAt) {
+        return ProductResponseData.builder()
+            .id(id)
+            .createAt(UPDATE_AT.minusDays(1))
+            .updateAt(updateAt)
+            .isActive(true)
+            .name(name)
+            .brand("P&G")
+            .price(17500L)
+            .imageLink(List.of("https://example.com/" + id + ".png"))
+            .category("헤어")
+            .isEcoFriendly(true)
+            .carbonEmissions(100)
+            .build();
+    }
+}
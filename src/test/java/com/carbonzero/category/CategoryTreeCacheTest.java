@@ -0,0 +1,67 @@
+package com.carbonzero.category;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.dto.CategoryResponseData;
+
+@DisplayName("카테고리 트리 캐시 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(CategoryTreeCache.class)
+class CategoryTreeCacheTest {
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Category living = entityManager.persist(Category.builder().name("생활용품").isActive(true).build());
+        Category hair = entityManager.persist(Category.builder().name("헤어/바디/세안").isActive(true)
+            .parentCategory(living).build());
+        entityManager.persist(Category.builder().name("샴푸/린스").isActive(true).parentCategory(hair).build());
+        entityManager.persist(Category.builder().name("식품").isActive(true).build());
+        entityManager.persist(Category.builder().name("폐지된 카테고리").isActive(false).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @DisplayName("활성화된 최상위 카테고리부터 하위 카테고리까지 트리를 만든다.")
+    @Test
+    void rebuild() {
+        categoryTreeCache.rebuild();
+
+        List<CategoryResponseData> categories = categoryTreeCache.getCategories();
+        assertThat(categories).extracting(CategoryResponseData::getName).containsExactly("생활용품", "식품");
+        assertThat(categories.get(0).getSubCategoryList().get(0).getSubCategoryList())
+            .extracting(CategoryResponseData::getName).containsExactly("샴푸/린스");
+        assertThat(new String(categoryTreeCache.getCategoriesJson(), StandardCharsets.UTF_8))
+            .contains("\"sub_category_list\"", "샴푸/린스");
+    }
+
+    @DisplayName("스냅샷을 만들기 전에 조회하면 그 자리에서 만든다.")
+    @Test
+    void getCategoriesBeforeRebuild() {
+        assertThat(categoryTreeCache.getCategories()).extracting(CategoryResponseData::getName)
+            .containsExactly("생활용품", "식품");
+        assertThat(categoryTreeCache.getTree().isActive(categoryTreeCache.getCategories().get(0).getId())).isTrue();
+    }
+}
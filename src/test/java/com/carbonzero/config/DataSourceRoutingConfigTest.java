@@ -0,0 +1,139 @@
+package com.carbonzero.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.carbonzero.datasource.ReplicaRoutingDataSource;
+import com.carbonzero.domain.Category;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("복제본 라우팅 설정 테스트")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(DataSourceRoutingConfigTest.ReadThenWriteController.class)
+@TestPropertySource(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.datasource.url=jdbc:h2:mem:primarydb",
+    "carbonzero.datasource.routing-enabled=true",
+    "carbonzero.datasource.replicas[0].jdbc-url=jdbc:h2:mem:replicadb",
+    "carbonzero.datasource.replicas[0].username=sa"
+})
+class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * 복제본 H2 는 비어 있으므로 기동을 마치고 캐시를 채우기 전에 primary 의 스키마와 데이터를 복사한다.
+     */
+    @TestConfiguration
+    static class ReplicaCopy {
+
+        @EventListener(ContextRefreshedEvent.class)
+        public void copy(ContextRefreshedEvent event) {
+            ReplicaRoutingDataSource dataSource = event.getApplicationContext().getBean(ReplicaRoutingDataSource.class);
+            JdbcTemplate replica = new JdbcTemplate(dataSource.getReplicas().get(0).getDataSource());
+            new JdbcTemplate(dataSource).queryForList("SCRIPT", String.class)
+                .forEach(replica::execute);
+        }
+    }
+
+    /**
+     * 한 요청에서 읽기 전용 트랜잭션으로 읽은 뒤 읽기-쓰기 트랜잭션으로 쓴다.
+     */
+    @RestController
+    static class ReadThenWriteController {
+
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+        private final EntityManager entityManager;
+        private final CategoryRepository categoryRepository;
+
+        ReadThenWriteController(PlatformTransactionManager transactionManager, EntityManager entityManager,
+            CategoryRepository categoryRepository) {
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+            this.entityManager = entityManager;
+            this.categoryRepository = categoryRepository;
+        }
+
+        @PostMapping("/test/read-then-write")
+        public String readThenWrite() {
+            readOnly.executeWithoutResult(status -> categoryRepository.count());
+            return readWrite.execute(status -> {
+                categoryRepository.save(Category.builder().name("읽은 뒤 쓴 카테고리").isActive(true).build());
+                return (String)entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult();
+            });
+        }
+    }
+
+    @DisplayName("한 요청에서 복제본에서 읽은 뒤 쓰면 쓰기는 primary H2 에서 실행한다.")
+    @Test
+    void readThenWriteInOneRequest() throws Exception {
+        mockMvc.perform(post("/test/read-then-write"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("PRIMARYDB"));
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        List<Category> categories = readWrite.execute(status -> categoryRepository.findAll());
+        assertThat(categories).extracting(Category::getName).contains("읽은 뒤 쓴 카테고리");
+    }
+
+    @DisplayName("JPA 읽기 전용 트랜잭션은 복제본 H2 에서, 읽기-쓰기 트랜잭션은 primary H2 에서 실행한다.")
+    @Test
+    void routeJpaTransactions() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String readOnlyDatabase = readOnly.execute(status -> database());
+        String readWriteDatabase = readWrite.execute(status -> database());
+
+        assertThat(readOnlyDatabase).isEqualTo("REPLICADB");
+        assertThat(readWriteDatabase).isEqualTo("PRIMARYDB");
+        assertThat(productRepository.count()).isNotNegative();
+    }
+
+    private String database() {
+        return (String)entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult();
+    }
+}
@@ -0,0 +1,54 @@
+package com.carbonzero.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@DisplayName("지표 테스트")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Prometheus 엔드포인트는 요청, 커넥션 풀, Hibernate, JVM, 캐시 지표를 내보낸다.")
+    @Test
+    void prometheus() throws Exception {
+        mockMvc.perform(get("/products"))
+            .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(scrape)
+            .contains("http_server_requests_seconds_bucket{application=\"carbon-zero\"")
+            .contains("uri=\"/products\"")
+            .contains("hikaricp_connections_active{")
+            .contains("hikaricp_connections_idle{")
+            .contains("hikaricp_connections_pending{")
+            .contains("hikaricp_connections_acquire_seconds_bucket{")
+            .contains("hibernate_query_executions_total{")
+            .contains("hibernate_entities_loads_total{")
+            .contains("hibernate_flushes_total{")
+            .contains("jvm_gc_memory_allocated_bytes_total{")
+            .contains("jvm_gc_live_data_size_bytes{")
+            .contains("cache_gets_total{application=\"carbon-zero\",cache=\"product-detail\",result=\"hit\",}")
+            .contains("cache_size{application=\"carbon-zero\",cache=\"product-detail\",}")
+            .contains("cache_size{application=\"carbon-zero\",cache=\"product-json\",}");
+    }
+}
@@ -1,17 +1,28 @@
 package com.carbonzero.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,25 +31,55 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.carbonzero.cache.ProductDetailCache;
+import com.carbonzero.cache.ProductJsonCache;
+import com.carbonzero.category.CategoryTreeCache;
 import com.carbonzero.domain.Category;
 import com.carbonzero.domain.Product;
+import com.carbonzero.dto.BulkProductItemResult;
+import com.carbonzero.dto.BulkProductResponseData;
+import com.carbonzero.dto.CursorPage;
+import com.carbonzero.dto.EmissionsStats;
+import com.carbonzero.dto.EmissionsStatsResponseData;
 import com.carbonzero.dto.ProductRequestData;
 import com.carbonzero.dto.ProductResponseData;
 import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.SuggestionResponseData;
+import com.carbonzero.emissions.CategoryEmissions;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.error.IndexNotReadyException;
 import com.carbonzero.error.ProductNotFoundException;
+import com.carbonzero.export.ExportFormat;
+import com.carbonzero.export.ProductExporter;
+import com.carbonzero.ingest.ImportJob;
+import com.carbonzero.ingest.ProductImporter;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.mapper.ProductMapperImpl;
+import com.carbonzero.recommend.ProductRecommender;
+import com.carbonzero.search.ProductSuggester;
+import com.carbonzero.search.SuggestionType;
 import com.carbonzero.service.CategoryService;
+import com.carbonzero.service.ProductBulkService;
 import com.carbonzero.service.ProductSearchService;
 import com.carbonzero.service.ProductServiceImpl;
 
 @DisplayName("상품 컨트롤러 테스트")
 @WebMvcTest(ProductController.class)
 @MockBean(JpaMetamodelMappingContext.class)
+@Import({ProductDetailCache.class, ProductJsonCache.class, ProductMapperImpl.class})
+@TestPropertySource(properties = {"carbonzero.bulk.max-items=2", "carbonzero.export.timeout-millis=60000"})
 class ProductControllerTest {
 
     @Autowired
@@ -53,8 +94,40 @@ class ProductControllerTest {
     @MockBean
     private ProductSearchService productSearchService;
 
+    @MockBean
+    private ProductBulkService productBulkService;
+
+    @MockBean
+    private ProductExporter productExporter;
+
+    @MockBean
+    private ProductImporter productImporter;
+
+    @MockBean
+    private CategoryTreeCache categoryTreeCache;
+
+    @MockBean
+    private ProductRecommender productRecommender;
+
+    @MockBean
+    private ProductSuggester productSuggester;
+
+    @MockBean
+    private CategoryEmissions categoryEmissions;
+
+    @Autowired
+    private ProductDetailCache productDetailCache;
+
+    @Autowired
+    private ProductJsonCache productJsonCache;
+
+    @Autowired
+    private ProductMapper productMapper;
+
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
+        productDetailCache.invalidateAll();
+        productJsonCache.invalidateAll();
 
         Category category = Category.builder()
             .id(1L)
@@ -78,17 +151,30 @@ class ProductControllerTest {
 
         given(productService.createProduct(any(ProductRequestData.class))).willReturn(product);
 
-        ProductResponseData responseData = ProductResponseData.convertToProductResponseData(product);
+        ProductResponseData responseData = productMapper.toResponseData(product);
         given(productService.getProducts(any(Pageable.class))).willReturn(new PageImpl<>(List.of(responseData)));
 
-        given(productService.getProduct(1L)).willReturn(product);
+        given(productService.getProductDetail(1L)).willReturn(responseData);
 
-        given(productService.getProduct(1000L))
+        ProductResponseData recommendation = productMapper.toResponseData(product);
+        recommendation.setId(2L);
+        recommendation.setUpdateAt(LocalDateTime.of(2021, 6, 1, 12, 0));
+        given(productRecommender.recommend(1L)).willReturn(List.of(recommendation));
+
+        ProductResponseData modifiedResponseData = productMapper.toResponseData(product);
+        modifiedResponseData.setId(2L);
+        modifiedResponseData.setUpdateAt(LocalDateTime.of(2021, 6, 1, 12, 0));
+        given(productService.getProductDetail(2L)).willReturn(modifiedResponseData);
+
+        given(productService.getProductDetail(1000L))
             .willThrow(new ProductNotFoundException(1000L));
 
         given(productSearchService.search(any(ProductSearchRequest.class)))
             .willReturn(new PageImpl<>(List.of(responseData)));
 
+        given(productSearchService.scroll(any(ProductSearchRequest.class)))
+            .willReturn(new CursorPage<>(List.of(responseData), "next", 1));
+
         given(productService.updateProduct(eq(1L), any(ProductRequestData.class)))
             .will(invocation -> {
                 Long id = invocation.getArgument(0);
@@ -108,8 +194,19 @@ class ProductControllerTest {
         given(productService.updateProduct(eq(1000L), any(ProductRequestData.class)))
             .willThrow(new ProductNotFoundException(1000L));
 
+        given(productBulkService.upsert(any())).willReturn(BulkProductResponseData.of(List.of(
+            BulkProductItemResult.created(0, 1L),
+            BulkProductItemResult.failed(1, "name: 공백일 수 없습니다")
+        )));
+
+        given(productImporter.submit(any(ExportFormat.class), any(MultipartFile.class)))
+            .will(invocation -> new ImportJob(invocation.getArgument(0), 100, 10));
+
         given(productService.deleteProduct(1000L))
             .willThrow(new ProductNotFoundException(1000L));
+
+        given(categoryTreeCache.getCategoriesJson())
+            .willReturn("[{\"id\":1,\"name\":\"샴푸\",\"sub_category_list\":[]}]".getBytes(StandardCharsets.UTF_8));
     }
 
     @DisplayName("유효한 형식으로 상품 생성을 요청하면, 상태코드 201을 반환한다.")
@@ -160,6 +257,96 @@ class ProductControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    @DisplayName("상품 일괄 등록을 요청하면, 상태 코드 200과 상품별 처리 결과를 반환한다.")
+    @Test
+    void bulk() throws Exception {
+        mockMvc.perform(
+            post("/products/bulk")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": \"헤드앤숄더 시트러스 레몬 샴푸\", \"brand\": \"P&G\", \"price\": 17500, \"category_id\": 1},"
+                    + " {\"brand\": \"P&G\", \"price\": 17500, \"category_id\": 1}]")
+        )
+            .andExpect(status().isOk())
+            .andExpect(content().string(
+                containsString("\"status\":\"FAILED\"")
+            ));
+
+        verify(productBulkService).upsert(any());
+    }
+
+    @DisplayName("일괄 등록할 상품이 최대 상품 수보다 많으면, 상태 코드 413을 반환한다.")
+    @Test
+    void bulkWithTooManyProducts() throws Exception {
+        String item = "{\"name\": \"샴푸\", \"brand\": \"P&G\", \"price\": 17500, \"category_id\": 1}";
+        mockMvc.perform(
+            post("/products/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", item, item, item) + "]")
+        )
+            .andExpect(status().isPayloadTooLarge());
+
+        verify(productBulkService, times(0)).upsert(any());
+    }
+
+    @DisplayName("상품을 CSV 로 내보내면, 상태 코드 200과 CSV 본문을 반환한다.")
+    @Test
+    void export() throws Exception {
+        willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id,name\r\n1,샴푸\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(productExporter).export(eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/products/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString("text/csv")))
+            .andExpect(content().string(containsString("1,샴푸")));
+    }
+
+    @DisplayName("상품을 내보내면, 이 요청에만 내보내기 시간 제한을 적용한다.")
+    @Test
+    void exportWithTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/products/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(60000L);
+    }
+
+    @DisplayName("지원하지 않는 형식으로 내보내면, 상태 코드 400을 반환한다.")
+    @Test
+    void exportWithUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/products/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("상품 파일 가져오기를 요청하면, 상태 코드 202와 작업 진행 상황을 조회할 위치를 반환한다.")
+    @Test
+    void importProducts() throws Exception {
+        mockMvc.perform(
+            multipart("/products/import")
+                .file(new MockMultipartFile("file", "products.csv", "text/csv",
+                    "name,brand,price,category_id\r\n샴푸,P&G,1000,1\r\n".getBytes(StandardCharsets.UTF_8)))
+                .param("format", "csv")
+        )
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, containsString("/products/import/")))
+            .andExpect(content().string(containsString("\"status\":\"QUEUED\"")));
+
+        verify(productImporter).submit(eq(ExportFormat.CSV), any(MultipartFile.class));
+    }
+
+    @DisplayName("존재하지 않는 가져오기 작업을 조회하면, 상태 코드 404를 반환한다.")
+    @Test
+    void importJobWithNotExistedJob() throws Exception {
+        mockMvc.perform(get("/products/import/unknown"))
+            .andExpect(status().isNotFound());
+    }
+
     @DisplayName("상품 리스트를 조회하였을 때, 상태 코드 200 및 상품 리스트를 반환한다.")
     @Test
     void list() throws Exception {
@@ -176,6 +363,22 @@ class ProductControllerTest {
         verify(productService).getProducts(any(Pageable.class));
     }
 
+    @DisplayName("상품 리스트를 커서로 조회하였을 때, 상태 코드 200 및 다음 페이지 커서를 반환한다.")
+    @Test
+    void scroll() throws Exception {
+        mockMvc.perform(
+            get("/products/scroll")
+                .param("size", "1")
+                .accept(MediaType.APPLICATION_JSON)
+        )
+            .andExpect(status().isOk())
+            .andExpect(content().string(
+                containsString("\"next_cursor\":\"next\"")
+            ));
+
+        verify(productSearchService).scroll(any(ProductSearchRequest.class));
+    }
+
     @DisplayName("존재하는 상품에 대해서 상품 상세 조회를 하면 상태 코드 200을 반환한다.")
     @Test
     void detailWithExistedProduct() throws Exception {
@@ -189,7 +392,53 @@ class ProductControllerTest {
                 containsString("\"brand\":\"P&G\"")
             ));
 
-        verify(productService).getProduct(any(Long.class));
+        verify(productService).getProductDetail(any(Long.class));
+    }
+
+    @DisplayName("상품 상세 조회 응답에는 ETag 가 담기고, 같은 ETag 로 다시 조회하면 상태 코드 304를 반환한다.")
+    @Test
+    void detailWithETag() throws Exception {
+        String eTag = mockMvc.perform(get("/products/2"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/products/2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(productService, times(1)).getProductDetail(2L);
+    }
+
+    @DisplayName("상품 상세 캐시 통계를 조회하면, 적중과 실패 횟수를 반환한다.")
+    @Test
+    void detailCacheStats() throws Exception {
+        mockMvc.perform(get("/products/1"));
+        mockMvc.perform(get("/products/1"));
+
+        mockMvc.perform(get("/products/detail-cache/stats"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"size\":1")));
+    }
+
+    @DisplayName("추천 상품을 조회하면, 상품마다 미리 직렬화한 JSON 을 이어 붙인 배열을 반환한다.")
+    @Test
+    void recommend() throws Exception {
+        long hitCount = productJsonCache.getStats().getHitCount();
+
+        mockMvc.perform(get("/products/recommend/1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(2))
+            .andExpect(jsonPath("$[0].brand").value("P&G"));
+
+        mockMvc.perform(get("/products/recommend/1"))
+            .andExpect(status().isOk());
+
+        assertThat(productJsonCache.getStats().getHitCount()).isEqualTo(hitCount + 1);
     }
 
     @DisplayName("존재하지 않은 상품을 조회하면, 상태 코드 404를 반환한다.")
@@ -321,4 +570,59 @@ class ProductControllerTest {
 
         verify(productService).deleteProduct(1000L);
     }
+
+    @DisplayName("카테고리 목록을 조회하면, 미리 직렬화된 카테고리 트리를 반환한다.")
+    @Test
+    void categories() throws Exception {
+        mockMvc.perform(get("/products/categories"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(containsString("\"sub_category_list\":[]")));
+
+        verify(categoryTreeCache).getCategoriesJson();
+    }
+
+    @DisplayName("자동 완성을 요청하면, 상태 코드 200과 후보 목록을 반환한다.")
+    @Test
+    void suggest() throws Exception {
+        given(productSuggester.suggest("헤드", 5))
+            .willReturn(List.of(new SuggestionResponseData("헤드앤숄더 시트러스 레몬 샴푸", SuggestionType.NAME, 1)));
+
+        mockMvc.perform(get("/products/suggest").param("q", "헤드").param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"type\":\"NAME\",\"count\":1")));
+
+        verify(productSuggester).suggest("헤드", 5);
+    }
+
+    @DisplayName("자동 완성 사전을 만들고 있을 때 요청하면, 상태 코드 503을 반환한다.")
+    @Test
+    void suggestBeforeReady() throws Exception {
+        given(productSuggester.suggest("헤드")).willThrow(new IndexNotReadyException("suggest"));
+
+        mockMvc.perform(get("/products/suggest").param("q", "헤드"))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @DisplayName("카테고리의 탄소 배출량 통계를 요청하면, 상태 코드 200과 통계를 반환한다.")
+    @Test
+    void emissionsStats() throws Exception {
+        given(categoryEmissions.stats(1L)).willReturn(new EmissionsStatsResponseData(1L, 10000,
+            new EmissionsStats(2, 200.0, 100.0, 300.0, 100.0, 300.0, 300.0),
+            new EmissionsStats(0, null, null, null, null, null, null)));
+
+        mockMvc.perform(get("/products/categories/1/emissions-stats"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"carbon_emissions\":{\"count\":2,\"mean\":200.0")))
+            .andExpect(content().string(containsString("\"carbon_emissions_per_price_unit\":{\"count\":0}")));
+    }
+
+    @DisplayName("없는 카테고리의 탄소 배출량 통계를 요청하면, 상태 코드 404를 반환한다.")
+    @Test
+    void emissionsStatsOfUnknownCategory() throws Exception {
+        given(categoryEmissions.stats(99L)).willThrow(new CategoryNotFoundException(99L));
+
+        mockMvc.perform(get("/products/categories/99/emissions-stats"))
+            .andExpect(status().isNotFound());
+    }
 }
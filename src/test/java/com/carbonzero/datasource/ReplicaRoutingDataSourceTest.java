@@ -0,0 +1,118 @@
+package com.carbonzero.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DisplayName("복제본 라우팅 데이터 소스 테스트")
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    void tearDown() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 복제본에서, 나머지는 primary 에서 실행한다.")
+    @Test
+    void routeByReadOnly() {
+        setUp(h2("route_replica"), 0);
+
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTE_REPLICA");
+        assertThat(readWriteDatabase()).isEqualTo("ROUTE_PRIMARY");
+        assertThat(database()).isEqualTo("ROUTE_PRIMARY");
+    }
+
+    @DisplayName("쓰기가 커밋되면 고정 시간 동안 읽기 전용 트랜잭션도 primary 에서 실행한다.")
+    @Test
+    void stickToPrimaryAfterWrite() {
+        setUp(h2("sticky_replica"), 60_000);
+
+        assertThat(readOnlyDatabase()).isEqualTo("STICKY_REPLICA");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("insert into written (id) values (1)"));
+
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTE_PRIMARY");
+    }
+
+    @DisplayName("읽기-쓰기 트랜잭션이라도 변경 문 없이 커밋하거나 롤백하면 복제본에서 계속 읽는다.")
+    @Test
+    void stayOnReplicaWithoutWrite() {
+        setUp(h2("unwritten_replica"), 60_000);
+
+        readWriteDatabase();
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into written (id) values (2)");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyDatabase()).isEqualTo("UNWRITTEN_REPLICA");
+    }
+
+    @DisplayName("앞의 주석을 건너뛰고 첫 단어로 변경 문인지 판단한다.")
+    @Test
+    void isWrite() {
+        assertThat(ReplicaRoutingDataSource.isWrite("/* insert Product */ insert into product (id) values (?)"))
+            .isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("  UPDATE product set name=? where id=?")).isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("select p.id from product p for update")).isFalse();
+        assertThat(ReplicaRoutingDataSource.isWrite("call next value for product_seq")).isFalse();
+        assertThat(ReplicaRoutingDataSource.isWrite(null)).isFalse();
+    }
+
+    @DisplayName("연결할 수 없는 복제본은 건너뛰고 primary 에서 읽는다.")
+    @Test
+    void skipUnhealthyReplica() {
+        setUp(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", ""), 0);
+
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTE_PRIMARY");
+        assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+    }
+
+    private void setUp(DataSource replica, long stickyMillis) {
+        routingDataSource = new ReplicaRoutingDataSource(h2("route_primary"),
+            List.of(new ReplicaRoutingDataSource.Replica("replica-0", replica)), stickyMillis, 0, 1);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        jdbcTemplate.execute("create table if not exists written (id bigint)");
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String readWriteDatabase() {
+        return readWrite.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
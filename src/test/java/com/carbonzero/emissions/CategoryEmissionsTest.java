@@ -0,0 +1,227 @@
+package com.carbonzero.emissions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.carbonzero.category.CategoryTree;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.EmissionsStats;
+import com.carbonzero.dto.EmissionsStatsResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.CategoryRow;
+import com.carbonzero.repository.ProductColumnRow;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("카테고리별 탄소 배출량 통계 테스트")
+class CategoryEmissionsTest {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+
+    private CategoryEmissions emissions;
+
+    @BeforeEach
+    void setUp() {
+        // 1 생활용품 > 2 욕실용품 > 3 샴푸, 4 세제는 최상위
+        given(categoryRepository.findAllRows()).willReturn(List.of(
+            category(1L, null), category(2L, 1L), category(3L, 2L), category(4L, null)));
+        given(categoryTreeCache.getTree()).willReturn(new CategoryTree(List.of(), new byte[0], Set.of(1L, 2L, 3L, 4L),
+            Map.of(), Map.of()));
+        given(productRepository.findAllColumnRows()).willReturn(List.of(
+            row(1L, 3L, 100, 10000L, true),
+            row(2L, 3L, 300, 20000L, true),
+            row(3L, 2L, 200, 40000L, true),
+            row(4L, 2L, 900, 10000L, false),
+            row(5L, 4L, 50, null, true),
+            row(6L, 1L, null, 10000L, true)
+        ));
+
+        emissions = new CategoryEmissions(productRepository, categoryRepository, categoryTreeCache,
+            RELATIVE_ACCURACY, 10000);
+        emissions.rebuild();
+    }
+
+    @DisplayName("하위 카테고리까지 판매 중인 상품의 배출량과 가격 단위당 배출량을 요약한다.")
+    @Test
+    void statsOfSubtree() {
+        EmissionsStatsResponseData root = emissions.stats(1L);
+        assertStats(root.getCarbonEmissions(), 3, 200, 100, 300);
+        assertStats(root.getCarbonEmissionsPerPriceUnit(), 3, 100, 50, 150);
+        assertThat(root.getPriceUnit()).isEqualTo(10000);
+
+        assertStats(emissions.stats(3L).getCarbonEmissions(), 2, 200, 100, 300);
+        assertStats(emissions.stats(4L).getCarbonEmissions(), 1, 50, 50, 50);
+        assertThat(emissions.stats(4L).getCarbonEmissionsPerPriceUnit().getCount()).isZero();
+        assertThat(emissions.stats(4L).getCarbonEmissionsPerPriceUnit().getMean()).isNull();
+    }
+
+    @DisplayName("상품 변경이 커밋되면 상품의 카테고리와 상위 카테고리의 통계에 반영한다.")
+    @Test
+    void statsAfterProductChanged() {
+        emissions.onProductChanged(ProductChangedEvent.updated(product(1L, 4L, 150, 10000L, true)));
+        emissions.onProductChanged(ProductChangedEvent.created(product(7L, 3L, 500, 10000L, true)));
+        emissions.onProductChanged(ProductChangedEvent.deleted(product(3L, 2L, 200, 40000L, true)));
+
+        assertStats(emissions.stats(1L).getCarbonEmissions(), 2, 400, 300, 500);
+        assertStats(emissions.stats(2L).getCarbonEmissions(), 2, 400, 300, 500);
+        assertStats(emissions.stats(4L).getCarbonEmissions(), 2, 100, 50, 150);
+    }
+
+    @DisplayName("카테고리의 상위 카테고리가 바뀌면 새 상위 카테고리로 다시 합친다.")
+    @Test
+    void statsAfterCategoryMoved() {
+        given(categoryRepository.findAllRows()).willReturn(List.of(
+            category(1L, null), category(2L, 4L), category(3L, 2L), category(4L, null)));
+        emissions.onCategoryChanged(new CategoryChangedEvent(2L));
+
+        assertThat(emissions.stats(1L).getCarbonEmissions().getCount()).isZero();
+        assertStats(emissions.stats(4L).getCarbonEmissions(), 4, 162.5, 50, 300);
+    }
+
+    @DisplayName("처음 스케치를 만들기 전에는 하위 카테고리까지 상품을 저장소에서 읽어 요약한다.")
+    @Test
+    void statsBeforeRebuild() {
+        given(categoryTreeCache.getTree()).willReturn(new CategoryTree(List.of(), new byte[0], Set.of(1L, 2L, 3L, 4L),
+            Map.of(2L, Set.of(2L, 3L)), Map.of()));
+        given(productRepository.findColumnRowsByCategoryIdIn(Set.of(2L, 3L))).willReturn(List.of(
+            row(1L, 3L, 100, 10000L, true),
+            row(2L, 3L, 300, 20000L, true),
+            row(3L, 2L, 200, 40000L, true),
+            row(4L, 2L, 900, 10000L, false)));
+        CategoryEmissions empty = new CategoryEmissions(productRepository, categoryRepository, categoryTreeCache,
+            RELATIVE_ACCURACY, 10000);
+
+        assertThat(empty.isReady()).isFalse();
+        assertStats(empty.stats(2L).getCarbonEmissions(), 3, 200, 100, 300);
+        assertStats(empty.stats(2L).getCarbonEmissionsPerPriceUnit(), 3, 100, 50, 150);
+    }
+
+    @DisplayName("다시 만드는 동안 커밋된 상품 변경은 새 스케치에도 반영한다.")
+    @Test
+    void rebuildWithConcurrentChanges() {
+        given(productRepository.findAllColumnRows()).will(invocation -> {
+            // 상품을 읽은 뒤에 커밋된 변경
+            emissions.onProductChanged(ProductChangedEvent.created(product(7L, 3L, 500, 10000L, true)));
+            emissions.onProductChanged(ProductChangedEvent.deleted(product(2L, 3L, 300, 20000L, true)));
+            return List.of(
+                row(1L, 3L, 100, 10000L, true),
+                row(2L, 3L, 300, 20000L, true));
+        });
+
+        emissions.rebuild();
+
+        assertStats(emissions.stats(1L).getCarbonEmissions(), 2, 300, 100, 500);
+    }
+
+    @DisplayName("없거나 비활성인 카테고리는 찾을 수 없다.")
+    @Test
+    void statsOfUnknownCategory() {
+        assertThatThrownBy(() -> emissions.stats(99L)).isInstanceOf(CategoryNotFoundException.class);
+    }
+
+    private static void assertStats(EmissionsStats stats, long count, double mean, double min, double max) {
+        assertThat(stats.getCount()).isEqualTo(count);
+        assertThat(stats.getMean()).isCloseTo(mean, within(1e-9));
+        assertThat(stats.getMin()).isCloseTo(min, within(min * RELATIVE_ACCURACY));
+        assertThat(stats.getMax()).isCloseTo(max, within(max * RELATIVE_ACCURACY));
+    }
+
+    private static ProductSnapshot product(Long id, Long categoryId, Integer carbonEmissions, Long price,
+        boolean active) {
+        return ProductSnapshot.builder()
+            .id(id)
+            .categoryId(categoryId)
+            .carbonEmissions(carbonEmissions)
+            .price(price)
+            .isActive(active)
+            .build();
+    }
+
+    private static CategoryRow category(Long id, Long parentId) {
+        return new CategoryRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "카테고리 " + id;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return true;
+            }
+
+            @Override
+            public Long getParentId() {
+                return parentId;
+            }
+        };
+    }
+
+    private static ProductColumnRow row(Long id, Long categoryId, Integer carbonEmissions, Long price,
+        boolean active) {
+        return new ProductColumnRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getBrand() {
+                return null;
+            }
+
+            @Override
+            public Long getPrice() {
+                return price;
+            }
+
+            @Override
+            public Integer getCarbonEmissions() {
+                return carbonEmissions;
+            }
+
+            @Override
+            public LocalDateTime getCreateAt() {
+                return null;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return active;
+            }
+
+            @Override
+            public Boolean getIsEcoFriendly() {
+                return true;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.carbonzero.emissions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("분위수 스케치 테스트")
+class QuantileSketchTest {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0, 0.5, 0.9, 0.99, 1};
+
+    @DisplayName("분위수 추정치는 정렬한 값의 분위수와 상대 오차 이내로 같다.")
+    @Test
+    void quantileWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        QuantileSketch sketch = new QuantileSketch(RELATIVE_ACCURACY);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            double value = Math.exp(random.nextGaussian() * 2) * (random.nextInt(20) == 0 ? -1 : 1);
+            if (random.nextInt(50) == 0) {
+                value = 0;
+            }
+            values.add(value);
+            sketch.add(value);
+        }
+
+        assertQuantiles(sketch, values);
+        assertThat(sketch.getCount()).isEqualTo(values.size());
+        assertThat(sketch.getSum()).isCloseTo(values.stream().mapToDouble(Double::doubleValue).sum(), within(1e-6));
+    }
+
+    @DisplayName("나누어 센 스케치를 합치거나 값을 빼도 남은 값만 센 것과 같다.")
+    @Test
+    void mergeAndRemove() {
+        Random random = new Random(7);
+        QuantileSketch left = new QuantileSketch(RELATIVE_ACCURACY);
+        QuantileSketch right = new QuantileSketch(RELATIVE_ACCURACY);
+        List<Double> values = new ArrayList<>();
+        List<Double> removed = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            double value = 1 + random.nextInt(i < 2500 ? 100 : 100000);
+            (i % 2 == 0 ? left : right).add(value);
+            (i % 3 == 0 ? removed : values).add(value);
+        }
+
+        QuantileSketch merged = left.copy();
+        merged.merge(right);
+        for (double value : removed) {
+            merged.remove(value);
+        }
+
+        assertQuantiles(merged, values);
+        assertThat(left.getCount() + right.getCount()).isEqualTo(5000);
+    }
+
+    @DisplayName("비어 있으면 분위수가 없다.")
+    @Test
+    void empty() {
+        QuantileSketch sketch = new QuantileSketch(RELATIVE_ACCURACY);
+        sketch.add(3);
+        sketch.remove(3);
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isNaN();
+    }
+
+    private static void assertQuantiles(QuantileSketch sketch, List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        sorted.sort(Double::compare);
+        for (double q : QUANTILES) {
+            double expected = sorted.get((int) Math.floor(q * (sorted.size() - 1)));
+            assertThat(sketch.quantile(q)).isCloseTo(expected, within(Math.abs(expected) * RELATIVE_ACCURACY + 1e-9));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.carbonzero.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.repository.ProductQueryRepository;
+
+@DisplayName("상품 내보내기 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "carbonzero.export.fetch-size=2")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductExporter.class, ProductQueryRepository.class})
+class ProductExporterTest {
+
+    @Autowired
+    private ProductExporter productExporter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(Category.builder()
+            .name("샴푸")
+            .isActive(true)
+            .build());
+
+        entityManager.persist(Product.builder()
+            .name("헤드앤숄더 시트러스 레몬 샴푸")
+            .brand("P&G")
+            .price(17500L)
+            .description("두피 유분을 \"깔끔하게\", 제거합니다.")
+            .category(category)
+            .isEcoFriendly(true)
+            .carbonEmissions(100)
+            .imageLink(List.of("https://image/1/1", "https://image/1/2"))
+            .build());
+        for (int i = 2; i <= 5; i++) {
+            entityManager.persist(Product.builder()
+                .name("샴푸 " + i)
+                .brand("P&G")
+                .price(1000L * i)
+                .category(category)
+                .imageLink(List.of())
+                .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @DisplayName("NDJSON 으로 내보내면 한 줄에 상품 하나씩 이미지 링크와 함께 쓴다.")
+    @Test
+    void exportWithNdjson() throws Exception {
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0])
+            .contains("\"name\":\"헤드앤숄더 시트러스 레몬 샴푸\"")
+            .contains("\"image_link\":[")
+            .contains("https://image/1/1")
+            .contains("https://image/1/2");
+        assertThat(lines[4]).contains("\"name\":\"샴푸 5\"");
+    }
+
+    @DisplayName("CSV 로 내보내면 헤더 다음에 상품을 한 줄씩 쓰고, 구분자가 포함된 값은 따옴표로 감싼다.")
+    @Test
+    void exportWithCsv() throws Exception {
+        String[] lines = export(ExportFormat.CSV).split("\r\n");
+
+        assertThat(lines).hasSize(6);
+        assertThat(lines[0]).isEqualTo(String.join(",", CsvProductWriter.HEADER));
+        assertThat(lines[1])
+            .contains(",\"두피 유분을 \"\"깔끔하게\"\", 제거합니다.\",")
+            .containsPattern("https://image/1/\\d\\|https://image/1/\\d");
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        productExporter.export(format, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package com.carbonzero.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.export.ExportFormat;
+import com.carbonzero.mapper.ProductMapperImpl;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+import com.carbonzero.service.ProductBulkService;
+
+@DisplayName("상품 가져오기 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "carbonzero.import.chunk-size=2")
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({ProductImporter.class, ProductBulkService.class, ProductMapperImpl.class})
+class ProductImporterTest {
+
+    @Autowired
+    private ProductImporter productImporter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder()
+            .name("샴푸")
+            .isActive(true)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("CSV 파일을 가져오면 올바른 행은 저장하고 잘못된 행은 행 번호와 사유를 남긴다.")
+    @Test
+    void runWithCsv() throws Exception {
+        ImportJob job = run(ExportFormat.CSV, String.join("\r\n",
+            "name,brand,price,description,category_id,is_eco_friendly,carbon_emissions,image_link",
+            "샴푸 1,P&G,1000,\"줄바꿈이\n있는, 설명\"," + category.getId() + ",true,100,https://image/1|https://image/2",
+            "샴푸 2,P&G,비쌈,," + category.getId() + ",true,100,",
+            "샴푸 3,P&G,3000,,1000,true,100,",
+            ",P&G,4000,," + category.getId() + ",true,100,",
+            "샴푸 5,P&G,5000,," + category.getId() + ",false,200,",
+            ""));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(job.getSucceededRows()).hasValue(2);
+        assertThat(job.getFailedRows()).hasValue(3);
+        assertThat(job.getErrors()).extracting(ImportJob.RowError::getRow).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(job.getReadBytes().get()).isEqualTo(job.getTotalBytes());
+
+        List<Product> products = productRepository.findAll();
+        assertThat(products).extracting(Product::getName).containsExactlyInAnyOrder("샴푸 1", "샴푸 5");
+        assertThat(products).extracting(Product::getDescription).contains("줄바꿈이\n있는, 설명");
+    }
+
+    @DisplayName("NDJSON 파일을 가져오면 해석할 수 없는 줄을 건너뛰고 나머지 줄을 저장한다.")
+    @Test
+    void runWithNdjson() throws Exception {
+        ImportJob job = run(ExportFormat.NDJSON, String.join("\n",
+            "{\"name\": \"샴푸 1\", \"brand\": \"P&G\", \"price\": 1000, \"category_id\": " + category.getId() + "}",
+            "{\"name\": \"샴푸 2\", \"brand\": ",
+            "",
+            "{\"name\": \"샴푸 4\", \"brand\": \"P&G\", \"price\": 4000, \"category_id\": " + category.getId() + "}"));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(job.getSucceededRows()).hasValue(2);
+        assertThat(job.getErrors()).extracting(ImportJob.RowError::getRow).containsExactly(2L);
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    private ImportJob run(ExportFormat format, String content) throws Exception {
+        Path path = Files.createTempFile("product-import-test-", "." + format.getExtension());
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+
+        ImportJob job = new ImportJob(format, Files.size(path), 100);
+        productImporter.run(job, path);
+
+        assertThat(path).doesNotExist();
+        return job;
+    }
+}
@@ -0,0 +1,65 @@
+package com.carbonzero.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.dto.CategoryRequest;
+import com.carbonzero.dto.CategoryResponseData;
+
+@DisplayName("카테고리 매퍼 테스트")
+class CategoryMapperTest {
+
+    private final CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
+
+    @DisplayName("카테고리를 하위 카테고리까지 응답 dto 로 바꾼다.")
+    @Test
+    void toResponseData() {
+        Category child = Category.builder()
+            .id(2L)
+            .name("샴푸/린스")
+            .isActive(true)
+            .subCategoryList(new ArrayList<>())
+            .build();
+        Category root = Category.builder()
+            .id(1L)
+            .name("생활용품")
+            .isActive(true)
+            .subCategoryList(List.of(child))
+            .build();
+
+        CategoryResponseData response = categoryMapper.toResponseData(root);
+
+        assertThat(response.getCodeName()).isEqualTo("생활용품");
+        assertThat(response.getSubCategoryList())
+            .extracting(CategoryResponseData::getName).containsExactly("샴푸/린스");
+        assertThat(response.getSubCategoryList().get(0).getSubCategoryList()).isEmpty();
+    }
+
+    @DisplayName("요청으로 만든 카테고리는 상위 카테고리 아래의 활성 카테고리이다.")
+    @Test
+    void toEntity() {
+        Category parent = Category.builder()
+            .id(1L)
+            .name("생활용품")
+            .isActive(true)
+            .build();
+        CategoryRequest request = new CategoryRequest();
+        request.setName("샴푸/린스");
+        request.setParentId(1L);
+
+        Category category = categoryMapper.toEntity(request, parent);
+
+        assertThat(category.getId()).isNull();
+        assertThat(category.getName()).isEqualTo("샴푸/린스");
+        assertThat(category.getIsActive()).isTrue();
+        assertThat(category.getParentCategory()).isSameAs(parent);
+        assertThat(category.getSubCategoryList()).isEmpty();
+    }
+}
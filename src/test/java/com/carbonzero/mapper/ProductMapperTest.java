@@ -0,0 +1,96 @@
+package com.carbonzero.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductRequestData;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+
+@DisplayName("상품 매퍼 테스트")
+class ProductMapperTest {
+
+    private final ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+
+    private final Category category = Category.builder()
+        .id(1L)
+        .name("샴푸")
+        .isActive(true)
+        .build();
+
+    @DisplayName("상품을 응답 dto 로 바꾸면 카테고리는 이름으로 담긴다.")
+    @Test
+    void toResponseData() {
+        ProductResponseData response = productMapper.toResponseData(product(null));
+
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getName()).isEqualTo("헤드앤숄더 시트러스 레몬 샴푸");
+        assertThat(response.getCategory()).isEqualTo("샴푸");
+        assertThat(response.getImageLink()).containsExactly("https://image/1/1");
+        assertThat(response.isActive()).isFalse();
+        assertThat(response.getCarbonEmissions()).isEqualTo(100);
+    }
+
+    @DisplayName("사본은 카테고리 아이디와 이름을 담고, 이미지 링크를 변경할 수 없는 목록으로 복사한다.")
+    @Test
+    void toSnapshot() {
+        Product product = product(true);
+        ProductSnapshot snapshot = productMapper.toSnapshot(product);
+        product.getImageLink().add("https://image/1/2");
+
+        assertThat(snapshot.getCategoryId()).isEqualTo(1L);
+        assertThat(snapshot.getCategoryName()).isEqualTo("샴푸");
+        assertThat(snapshot.getImageLink()).containsExactly("https://image/1/1");
+        assertThatThrownBy(() -> snapshot.getImageLink().add("https://image/1/3"))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        ProductResponseData response = productMapper.toResponseData(snapshot);
+        assertThat(response.getCategory()).isEqualTo("샴푸");
+        assertThat(response.isActive()).isTrue();
+    }
+
+    @DisplayName("요청으로 만든 상품은 아이디가 없는 활성 상품이다.")
+    @Test
+    void toEntity() {
+        ProductRequestData request = ProductRequestData.builder()
+            .id(10L)
+            .name("케라시스 샴푸")
+            .brand("AK")
+            .price(3000L)
+            .imageLink(List.of("https://image/2/1"))
+            .categoryId(1L)
+            .isEcoFriendly(false)
+            .build();
+
+        Product product = productMapper.toEntity(request, category);
+
+        assertThat(product.getId()).isNull();
+        assertThat(product.getName()).isEqualTo("케라시스 샴푸");
+        assertThat(product.getCategory()).isSameAs(category);
+        assertThat(product.getIsActive()).isTrue();
+        assertThat(product.getImageLink()).containsExactly("https://image/2/1");
+    }
+
+    private Product product(Boolean isActive) {
+        return Product.builder()
+            .id(1L)
+            .name("헤드앤숄더 시트러스 레몬 샴푸")
+            .brand("P&G")
+            .price(17500L)
+            .isActive(isActive)
+            .isEcoFriendly(true)
+            .carbonEmissions(100)
+            .category(category)
+            .imageLink(new ArrayList<>(List.of("https://image/1/1")))
+            .build();
+    }
+}
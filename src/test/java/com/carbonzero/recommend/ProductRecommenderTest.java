@@ -0,0 +1,210 @@
+package com.carbonzero.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.carbonzero.category.CategoryTree;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.error.CategoryNotFoundException;
+import com.carbonzero.error.ProductNotFoundException;
+import com.carbonzero.event.CategoryChangedEvent;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.ProductQueryRepository;
+
+@DisplayName("추천 상품 엔진 테스트")
+class ProductRecommenderTest {
+
+    private static final Long CATEGORY_ID = 1L;
+
+    private final ProductQueryRepository productQueryRepository = mock(ProductQueryRepository.class);
+    private final CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+    private final CategoryTree categoryTree = mock(CategoryTree.class);
+
+    private final List<ProductResponseData> products = new ArrayList<>();
+
+    private ProductRecommender recommender;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 10; id++) {
+            products.add(product(id, (int) (100 + id * 10)));
+        }
+
+        given(productQueryRepository.findAllCategoryIds()).willReturn(products.stream()
+            .collect(Collectors.toMap(ProductResponseData::getId, product -> CATEGORY_ID)));
+        given(productQueryRepository.findGreenest(eq(CATEGORY_ID), anyInt())).willAnswer(invocation -> products.stream()
+            .sorted(GreenestProducts.GREENEST_FIRST)
+            .limit(invocation.<Integer>getArgument(1))
+            .collect(Collectors.toList()));
+        given(categoryTreeCache.getTree()).willReturn(categoryTree);
+        given(categoryTree.isActive(anyLong())).willReturn(true);
+
+        recommender = new ProductRecommender(productQueryRepository, categoryTreeCache,
+            Mappers.getMapper(ProductMapper.class), mock(PlatformTransactionManager.class), 5, false);
+        recommender.rebuild();
+    }
+
+    @DisplayName("같은 카테고리에서 배출량이 적은 순서로 추천하고, 다시 조회할 때는 저장소에 접근하지 않는다.")
+    @Test
+    void recommend() {
+        assertThat(ids(recommender.recommend(3L))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(ids(recommender.recommend(3L, true))).containsExactly(1L, 2L, 4L, 5L, 6L);
+
+        verify(productQueryRepository, times(1)).findGreenest(CATEGORY_ID, 6);
+    }
+
+    @DisplayName("더 친환경적인 상품이 등록되면 저장소에 접근하지 않고 추천에 반영한다.")
+    @Test
+    void recommendAfterCreated() {
+        recommender.recommend(1L);
+
+        recommender.onProductChanged(ProductChangedEvent.created(snapshot(11L, 50, true)));
+        recommender.onProductChanged(ProductChangedEvent.created(snapshot(12L, 60, false)));
+
+        assertThat(ids(recommender.recommend(11L))).containsExactly(11L, 1L, 2L, 3L, 4L);
+        verify(productQueryRepository, times(1)).findGreenest(CATEGORY_ID, 6);
+    }
+
+    @DisplayName("추천 목록의 상품이 삭제되면 다음 조회 때 저장소에서 다시 채운다.")
+    @Test
+    void recommendAfterDeleted() {
+        recommender.recommend(1L);
+
+        ProductResponseData deleted = products.remove(0);
+        recommender.onProductChanged(ProductChangedEvent.deleted(snapshot(deleted.getId(), 110, true)));
+
+        assertThat(ids(recommender.recommend(2L))).containsExactly(2L, 3L, 4L, 5L, 6L);
+        verify(productQueryRepository, times(2)).findGreenest(CATEGORY_ID, 6);
+        assertThatThrownBy(() -> recommender.recommend(1L)).isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @DisplayName("추천 목록 안에서 순서만 바뀌면 저장소에 다시 접근하지 않는다.")
+    @Test
+    void recommendAfterUpdated() {
+        recommender.recommend(1L);
+
+        recommender.onProductChanged(ProductChangedEvent.updated(snapshot(4L, 105, true)));
+
+        assertThat(ids(recommender.recommend(1L))).containsExactly(4L, 1L, 2L, 3L, 5L);
+        verify(productQueryRepository, times(1)).findGreenest(CATEGORY_ID, 6);
+    }
+
+    @DisplayName("추천 목록을 불러오는 동안 상품이 바뀌면 불러온 목록을 보관하지 않고 다음 조회 때 다시 불러온다.")
+    @Test
+    void recommendWithChangeDuringLoad() {
+        given(productQueryRepository.findGreenest(CATEGORY_ID, 6)).willAnswer(invocation -> {
+            List<ProductResponseData> loaded = products.stream()
+                .sorted(GreenestProducts.GREENEST_FIRST)
+                .limit(6)
+                .collect(Collectors.toList());
+            // 목록을 읽은 뒤에 커밋된 변경
+            products.set(3, product(4L, 105));
+            recommender.onProductChanged(ProductChangedEvent.updated(snapshot(4L, 105, true)));
+            return loaded;
+        });
+
+        assertThat(ids(recommender.recommend(1L))).containsExactly(1L, 2L, 3L, 4L, 5L);
+
+        given(productQueryRepository.findGreenest(CATEGORY_ID, 6)).willAnswer(invocation -> products.stream()
+            .sorted(GreenestProducts.GREENEST_FIRST)
+            .limit(6)
+            .collect(Collectors.toList()));
+        assertThat(ids(recommender.recommend(1L))).containsExactly(4L, 1L, 2L, 3L, 5L);
+        assertThat(ids(recommender.recommend(1L))).containsExactly(4L, 1L, 2L, 3L, 5L);
+        verify(productQueryRepository, times(2)).findGreenest(CATEGORY_ID, 6);
+    }
+
+    @DisplayName("카테고리가 바뀌면 다음 조회 때 저장소에서 다시 불러온다.")
+    @Test
+    void recommendAfterCategoryChanged() {
+        recommender.recommend(1L);
+
+        recommender.onCategoryChanged(new CategoryChangedEvent(CATEGORY_ID));
+
+        assertThat(ids(recommender.recommend(1L))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        verify(productQueryRepository, times(2)).findGreenest(CATEGORY_ID, 6);
+    }
+
+    @DisplayName("비활성화된 카테고리의 상품은 추천하지 않는다.")
+    @Test
+    void recommendWithInactiveCategory() {
+        given(categoryTree.isActive(CATEGORY_ID)).willReturn(false);
+
+        assertThatThrownBy(() -> recommender.recommend(1L)).isInstanceOf(CategoryNotFoundException.class);
+    }
+
+    @DisplayName("처음 불러오기 전에는 기준 상품의 카테고리를 저장소에서 조회한다.")
+    @Test
+    void recommendBeforeRebuild() {
+        ProductRecommender empty = new ProductRecommender(productQueryRepository, categoryTreeCache,
+            Mappers.getMapper(ProductMapper.class), mock(PlatformTransactionManager.class), 5, false);
+        given(productQueryRepository.findCategoryId(3L)).willReturn(Optional.of(CATEGORY_ID));
+
+        assertThat(empty.isReady()).isFalse();
+        assertThat(ids(empty.recommend(3L))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThatThrownBy(() -> empty.recommend(99L)).isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @DisplayName("다시 불러오는 동안 커밋된 상품 변경은 새 목록에도 반영한다.")
+    @Test
+    void rebuildWithConcurrentChanges() {
+        given(productQueryRepository.findAllCategoryIds()).will(invocation -> {
+            // 카테고리를 읽은 뒤에 커밋된 변경
+            recommender.onProductChanged(ProductChangedEvent.created(snapshot(11L, 50, true)));
+            recommender.onProductChanged(ProductChangedEvent.deleted(snapshot(2L, 120, true)));
+            return Map.of(1L, CATEGORY_ID, 2L, CATEGORY_ID);
+        });
+
+        recommender.rebuild();
+
+        assertThat(recommender.recommend(11L)).isNotEmpty();
+        assertThatThrownBy(() -> recommender.recommend(2L)).isInstanceOf(ProductNotFoundException.class);
+    }
+
+    private List<Long> ids(List<ProductResponseData> products) {
+        return products.stream().map(ProductResponseData::getId).collect(Collectors.toList());
+    }
+
+    private ProductResponseData product(Long id, Integer carbonEmissions) {
+        return ProductResponseData.builder()
+            .id(id)
+            .name("샴푸 " + id)
+            .isActive(true)
+            .isEcoFriendly(true)
+            .carbonEmissions(carbonEmissions)
+            .build();
+    }
+
+    private ProductSnapshot snapshot(Long id, Integer carbonEmissions, boolean isEcoFriendly) {
+        return ProductSnapshot.builder()
+            .id(id)
+            .name("샴푸 " + id)
+            .isActive(true)
+            .isEcoFriendly(isEcoFriendly)
+            .carbonEmissions(carbonEmissions)
+            .categoryId(CATEGORY_ID)
+            .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.carbonzero.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carbonzero.category.CategoryClosures;
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.search.ParallelCounter;
+import com.carbonzero.search.ProductCursor;
+import com.carbonzero.search.SearchCountCache;
+import com.carbonzero.service.ProductSearchService;
+import com.carbonzero.sql.SqlStatementRecorder;
+
+/**
+ * 자주 실행하는 쿼리가 마이그레이션에서 만든 인덱스를 쓰는지 실행 계획으로 확인한다.
+ * 저장소 메서드가 실제로 만든 SQL 을 기록해서 EXPLAIN 하므로, 쿼리 모양이나 인덱스가 바뀌어 인덱스를 못 쓰게 되면 실패한다.
+ */
+@DisplayName("쿼리 인덱스 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ProductQueryRepository.class, ProductSearchService.class, SearchCountCache.class, ParallelCounter.class,
+    CategoryClosures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryIndexTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductQueryRepository productQueryRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+
+    /**
+     * 빈 테이블에서는 모든 실행 계획의 비용이 같으므로 카테고리 몇 개에 상품을 나누어 넣고 통계를 갱신한다.
+     * ANALYZE 는 트랜잭션을 커밋하므로 테스트 트랜잭션 없이 넣고 끝나면 지운다.
+     */
+    @BeforeEach
+    void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            categories.add(categoryRepository.save(Category.builder()
+                .name("카테고리 " + i)
+                .isActive(i % 2 == 0)
+                .build()));
+        }
+        category = categories.get(0);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            products.add(Product.builder()
+                .name("상품 " + i)
+                .brand("브랜드 " + i % 10)
+                .price(1000L * (i % 50))
+                .category(categories.get(i % categories.size()))
+                .isActive(i % 3 != 0)
+                .isEcoFriendly(i % 4 != 0)
+                .carbonEmissions(i % 100)
+                .build());
+        }
+        productRepository.saveAll(products);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("카테고리의 친환경 상품을 탄소 배출량 순서로 조회하면 카테고리, 판매 여부, 친환경 여부 인덱스를 읽는다.")
+    @Test
+    void findGreenest() {
+        assertThat(plan(() -> productQueryRepository.findGreenest(category.getId(), 5)))
+            .contains("IDX_PRODUCT_CATEGORY_ACTIVE_ECO_EMISSIONS");
+    }
+
+    @DisplayName("상품 목록을 최신순으로 조회하면 정렬 없이 등록일 인덱스를 읽는다.")
+    @Test
+    void findLatest() {
+        assertThat(plan(() -> productQueryRepository.findAll(
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createAt")))))
+            .contains("IDX_PRODUCT_CREATE_AT")
+            .contains("index sorted");
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSort("createAt,desc");
+        request.setCursor(new ProductCursor(Sort.Order.desc("createAt"), LocalDateTime.of(2021, 1, 1, 0, 0), 1L)
+            .encode());
+        assertThat(plan(() -> productSearchService.scroll(request)))
+            .contains("IDX_PRODUCT_CREATE_AT")
+            .contains("index sorted");
+    }
+
+    @DisplayName("카테고리로 검색하면 클로저 테이블의 기본 키와 상품의 카테고리 아이디 인덱스를 읽는다.")
+    @Test
+    void searchWithCategory() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategoryId(1L);
+
+        assertThat(plan(() -> productSearchService.search(request)))
+            .containsPattern("PRIMARY_KEY_\\w+: ANCESTOR_ID = 1")
+            .doesNotContain("PRODUCT.tableScan");
+    }
+
+    @DisplayName("활성 카테고리를 조회하면 판매 여부 인덱스를 읽는다.")
+    @Test
+    void findAllByIsActive() {
+        assertThat(plan(() -> categoryRepository.findAllByIsActive(true)))
+            .contains("IDX_CATEGORY_ACTIVE");
+    }
+
+    /**
+     * 실행하면서 준비한 첫 SQL 문의 실행 계획. 파라미터는 모두 1 로 묶는다.
+     */
+    private String plan(Runnable query) {
+        List<String> statements;
+        try {
+            SqlStatementRecorder.Recording recording = SqlStatementRecorder.start(10);
+            query.run();
+            statements = recording.getStatements();
+        } finally {
+            SqlStatementRecorder.stop();
+        }
+        assertThat(statements).isNotEmpty();
+
+        String sql = statements.get(0);
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        Arrays.fill(parameters, 1);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
@@ -0,0 +1,50 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.carbonzero.dto.FacetCount;
+import com.carbonzero.dto.PriceFacetCount;
+import com.carbonzero.dto.SearchFacets;
+
+@DisplayName("패싯 누산기 테스트")
+class FacetAccumulatorTest {
+
+    @DisplayName("가격대 경계가 비어 있거나 엄격하게 증가하지 않으면 거부한다.")
+    @Test
+    void rejectUnorderedPriceBounds() {
+        assertThatThrownBy(() -> new FacetAccumulator(EnumSet.of(Facet.PRICE), new long[] {30000L, 10000L}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("strictly increasing");
+        assertThatThrownBy(() -> FacetAccumulator.checkPriceBounds(new long[] {10000L, 10000L}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FacetAccumulator.checkPriceBounds(new long[0]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("패싯별로 따로 더한 상품 수는 전체 건수에 더하지 않는다.")
+    @Test
+    void addEachFacet() {
+        FacetAccumulator facets = new FacetAccumulator(EnumSet.of(Facet.BRAND, Facet.PRICE), new long[] {10000L});
+
+        facets.addTotal(3);
+        facets.addBrand("P&G", 2);
+        facets.addBrand("AK", 1);
+        facets.addPrice(0, 1);
+        facets.addPrice(1, 2);
+        facets.addEcoFriendly(true, 3);
+
+        SearchFacets result = facets.toFacets(10);
+        assertThat(facets.getTotal()).isEqualTo(3);
+        assertThat(result.getBrand()).extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("P&G", 2L), tuple("AK", 1L));
+        assertThat(result.getPrice()).extracting(PriceFacetCount::getCount).containsExactly(1L, 2L);
+        assertThat(result.getEcoFriendly()).isNull();
+    }
+}
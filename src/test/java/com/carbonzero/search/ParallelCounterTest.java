@@ -0,0 +1,183 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.QueryTimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductQueryRepository;
+import com.carbonzero.repository.ProductRepository;
+import com.carbonzero.service.ProductSearchService;
+
+@DisplayName("병렬 건수 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductSearchService.class, SearchCountCache.class, ParallelCounter.class, ProductQueryRepository.class})
+class ParallelCounterTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("병렬로 센 전체 건수는 count 쿼리로 센 건수와 같다.")
+    @Test
+    void searchWithParallelCount() {
+        Category category = categoryRepository.save(Category.builder()
+            .name("샴푸")
+            .isActive(true)
+            .build());
+        for (int i = 0; i < 7; i++) {
+            productRepository.save(Product.builder()
+                .name("샴푸 " + i)
+                .brand("P&G")
+                .price(1000L * i)
+                .category(category)
+                .build());
+        }
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword("샴푸");
+        request.setPageSize(2);
+        request.setCountStrategy(CountStrategy.PARALLEL);
+
+        assertThat(productSearchService.search(request).getTotalElements()).isEqualTo(7);
+        assertThat(productSearchService.search(request).getContent()).hasSize(2);
+    }
+
+    @DisplayName("건수는 전용 스레드의 읽기 전용 트랜잭션에서 센다.")
+    @Test
+    void countOnDedicatedThread() throws InterruptedException {
+        ParallelCounter counter = new ParallelCounter(transactionManager, 1, 1, 5000);
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+
+        ParallelCounter.Count future = counter.submit(() -> {
+            thread.set(Thread.currentThread().getName());
+            started.countDown();
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? 1L : 0L;
+        });
+        started.await();
+
+        assertThat(counter.join(future, () -> -1L)).isEqualTo(1L);
+        assertThat(thread.get()).startsWith("search-count-");
+        counter.shutdown();
+    }
+
+    @DisplayName("전용 스레드가 바빠 시작하지 못한 건수는 호출한 스레드에서 센다.")
+    @Test
+    void countOnCallerWhenBusy() {
+        ParallelCounter counter = new ParallelCounter(transactionManager, 1, 1, 5000);
+        counter.submit(this::awaitRelease);
+
+        ParallelCounter.Count queued = counter.submit(() -> 1L);
+
+        assertThat(counter.join(queued, () -> 2L)).isEqualTo(2L);
+        counter.shutdown();
+    }
+
+    @DisplayName("시간 안에 끝나지 않거나 실패한 건수는 호출한 스레드에서 다시 센다.")
+    @Test
+    void countOnCallerWhenSlowOrFailed() throws InterruptedException {
+        ParallelCounter counter = new ParallelCounter(transactionManager, 2, 1, 50);
+        CountDownLatch started = new CountDownLatch(2);
+
+        ParallelCounter.Count slow = counter.submit(() -> {
+            started.countDown();
+            return awaitRelease();
+        });
+        ParallelCounter.Count failed = counter.submit(() -> {
+            started.countDown();
+            throw new IllegalStateException("no connection");
+        });
+        started.await();
+
+        assertThat(counter.join(slow, () -> 2L)).isEqualTo(2L);
+        assertThat(counter.join(failed, () -> 3L)).isEqualTo(3L);
+        counter.shutdown();
+    }
+
+    @DisplayName("시간 안에 끝나지 않은 건수는 취소하고, 실행 중인 쿼리도 트랜잭션 시간 제한으로 멈춘다.")
+    @Test
+    void cancelSlowCount() throws InterruptedException {
+        ParallelCounter counter = new ParallelCounter(transactionManager, 1, 1, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        ParallelCounter.Count slow = counter.submit(() -> {
+            started.countDown();
+            try {
+                // 취소되지 않으면 몇 분이 걸리는 쿼리
+                return ((Number) entityManager.createNativeQuery(
+                        "select count(*) from system_range(1, 100000000000) where mod(x, 7) = 3")
+                    .getSingleResult()).longValue();
+            } catch (RuntimeException exception) {
+                failure.set(exception);
+                throw exception;
+            } finally {
+                stopped.countDown();
+            }
+        });
+        started.await();
+
+        long begin = System.nanoTime();
+        assertThat(counter.join(slow, () -> 2L)).isEqualTo(2L);
+        assertThat(slow.isCancelled()).isTrue();
+
+        assertThat(stopped.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(failure.get()).isInstanceOf(QueryTimeoutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(10_000);
+        counter.shutdown();
+    }
+
+    private Long awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return 1L;
+    }
+}
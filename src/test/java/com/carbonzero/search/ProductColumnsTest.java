@@ -0,0 +1,327 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.carbonzero.category.CategoryTree;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.dto.FacetCount;
+import com.carbonzero.dto.PriceFacetCount;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.dto.SearchFacets;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.repository.ProductColumnRow;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("열 기반 상품 스냅샷 테스트")
+class ProductColumnsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private final CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+
+    // 0 번 카테고리 아래에 1 번, 1 번 아래에 3 번 카테고리가 있다.
+    private final CategoryTree tree = new CategoryTree(List.of(), new byte[0], Set.of(), Map.of(
+        0L, Set.of(0L, 1L, 3L),
+        1L, Set.of(1L, 3L),
+        2L, Set.of(2L),
+        3L, Set.of(3L)), Map.of(0L, "생활용품", 1L, "샴푸", 2L, "세제", 3L, "린스"));
+
+    @BeforeEach
+    void setUp() {
+        given(categoryTreeCache.getTree()).willReturn(tree);
+    }
+
+    @DisplayName("가격 범위, 하위 카테고리를 포함한 카테고리, 친환경 여부로 거르고 가격순으로 한 페이지를 반환한다.")
+    @Test
+    void searchWithFilters() {
+        given(productRepository.findAllColumnRows()).willReturn(List.of(
+            row(1L, 3000L, 100, 1L, true),
+            row(2L, 1000L, 300, 1L, true),
+            row(3L, 2000L, null, 1L, false),
+            row(4L, 1000L, 200, 2L, true),
+            row(5L, 5000L, 100, 1L, true),
+            row(6L, 2000L, 400, 1L, true)
+        ));
+        ProductColumns columns = new ProductColumns(productRepository, categoryTreeCache);
+        columns.rebuild();
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategoryId(1L);
+        request.setIsEcoFriendly(true);
+        request.setPriceFrom(1000L);
+        request.setPriceTo(3000L);
+
+        IndexSearchResult result = columns.search(request, Sort.Order.desc("price"), 0, 2);
+        assertThat(result.getProductIds()).containsExactly(1L, 6L);
+        assertThat(result.getTotal()).isEqualTo(3);
+
+        request.setCategoryId(0L);
+        request.setIsEcoFriendly(null);
+        IndexSearchResult subtree = columns.search(request, Sort.Order.asc("id"), 0, 10);
+        assertThat(subtree.getProductIds()).containsExactly(1L, 2L, 3L, 6L);
+
+        IndexSearchResult emissions = columns.search(new ProductSearchRequest(), Sort.Order.asc("carbonEmissions"), 1, 3);
+        assertThat(emissions.getProductIds()).containsExactly(1L, 5L, 4L);
+        assertThat(emissions.getTotal()).isEqualTo(6);
+    }
+
+    @DisplayName("일치한 상품을 카테고리, 브랜드, 가격대, 친환경 여부별로 센다.")
+    @Test
+    void searchWithFacets() {
+        given(productRepository.findAllColumnRows()).willReturn(List.of(
+            row(1L, "P&G", 3000L, 1L, true),
+            row(2L, "동구밭", 1000L, 1L, true),
+            row(3L, "P&G", 2000L, 1L, false),
+            row(4L, "P&G", 1000L, 2L, true),
+            row(5L, "동구밭", 5000L, 3L, true),
+            row(6L, "동구밭", null, 3L, true)
+        ));
+        ProductColumns columns = new ProductColumns(productRepository, categoryTreeCache);
+        columns.rebuild();
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategoryId(1L);
+        // 가격 범위가 없으면 가격이 없는 상품도 찾고, 가격대에서는 빠진다.
+        request.setPriceFrom(null);
+        request.setPriceTo(null);
+        FacetAccumulator facets = new FacetAccumulator(EnumSet.allOf(Facet.class), new long[] {2000L, 4000L});
+
+        IndexSearchResult result = columns.search(request, Sort.Order.asc("id"), 0, 2, facets);
+        SearchFacets counted = facets.toFacets(10);
+
+        assertThat(result.getProductIds()).containsExactly(1L, 2L);
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(counted.getCategory()).extracting(FacetCount::getId, FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple(1L, "샴푸", 3L), tuple(3L, "린스", 2L));
+        assertThat(counted.getBrand()).extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("동구밭", 3L), tuple("P&G", 2L));
+        assertThat(counted.getPrice()).extracting(PriceFacetCount::getCount).containsExactly(1L, 2L, 1L);
+        assertThat(counted.getEcoFriendly()).extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("true", 4L), tuple("false", 1L));
+    }
+
+    @DisplayName("문자열 검색어가 있거나 열에 없는 필드로 정렬하면 처리하지 않는다.")
+    @Test
+    void supports() {
+        ProductColumns columns = new ProductColumns(productRepository, categoryTreeCache);
+        ProductSearchRequest request = new ProductSearchRequest();
+
+        assertThat(columns.supports(request, Sort.Order.desc("id"))).isTrue();
+        assertThat(columns.supports(request, Sort.Order.asc("name"))).isFalse();
+
+        request.setFacets(EnumSet.allOf(Facet.class));
+        assertThat(columns.supports(request, Sort.Order.desc("id"))).isTrue();
+
+        request.setSearchKeyword("샴푸");
+        assertThat(columns.supports(request, Sort.Order.desc("id"))).isFalse();
+    }
+
+    @DisplayName("처음 만들기 전에는 준비되지 않은 상태이다.")
+    @Test
+    void notReadyBeforeRebuild() {
+        given(productRepository.findAllColumnRows()).willReturn(List.of());
+        ProductColumns columns = new ProductColumns(productRepository, categoryTreeCache);
+        assertThat(columns.isReady()).isFalse();
+
+        columns.rebuild();
+        assertThat(columns.isReady()).isTrue();
+    }
+
+    @DisplayName("다시 만드는 동안 커밋된 상품 변경은 새 스냅샷에도 반영한다.")
+    @Test
+    void rebuildWithConcurrentChanges() {
+        ProductColumns columns = new ProductColumns(productRepository, categoryTreeCache);
+        given(productRepository.findAllColumnRows()).will(invocation -> {
+            // 상품을 읽은 뒤에 커밋된 변경
+            columns.onProductChanged(ProductChangedEvent.created(ProductSnapshot.builder()
+                .id(4L).price(4000L).createAt(NOW).categoryId(1L).isActive(true).isEcoFriendly(true).build()));
+            columns.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.builder().id(2L).build()));
+            return List.of(
+                row(1L, 3000L, 100, 1L, true),
+                row(2L, 1000L, 300, 1L, true));
+        });
+
+        columns.rebuild();
+
+        IndexSearchResult result = columns.search(new ProductSearchRequest(), Sort.Order.asc("id"), 0, 10);
+        assertThat(result.getProductIds()).containsExactly(1L, 4L);
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @DisplayName("상품을 더하고 고치고 지워도, 모든 상품을 거르고 정렬한 것과 같은 페이지와 건수를 반환한다.")
+    @Test
+    void searchMatchesScan() {
+        Random random = new Random(42);
+        given(productRepository.findAllColumnRows()).willReturn(List.of());
+        ProductColumns columns = new ProductColumns(productRepository, categoryTreeCache);
+        columns.rebuild();
+        Map<Long, ProductSnapshot> products = new HashMap<>();
+
+        for (int step = 0; step < 4000; step++) {
+            long id = 1 + random.nextInt(300);
+            if (products.containsKey(id) && random.nextInt(4) == 0) {
+                columns.onProductChanged(ProductChangedEvent.deleted(products.remove(id)));
+            } else {
+                ProductSnapshot product = randomProduct(random, id);
+                columns.onProductChanged(products.containsKey(id)
+                    ? ProductChangedEvent.updated(product) : ProductChangedEvent.created(product));
+                products.put(id, product);
+            }
+
+            ProductSearchRequest request = randomRequest(random);
+            String property = List.of("id", "price", "carbonEmissions", "createAt").get(random.nextInt(4));
+            Sort.Order order = random.nextBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property);
+            int offset = random.nextInt(3) == 0 ? random.nextInt(100) : 0;
+            int limit = 1 + random.nextInt(20);
+
+            List<Long> scanned = scan(products, request, order);
+            IndexSearchResult result = columns.search(request, order, offset, limit);
+            assertThat(result.getTotal()).isEqualTo(scanned.size());
+            assertThat(result.getProductIds()).containsExactlyElementsOf(
+                scanned.stream().skip(offset).limit(limit).collect(Collectors.toList()));
+        }
+        assertThat(columns.size()).isEqualTo(products.size());
+    }
+
+    private List<Long> scan(Map<Long, ProductSnapshot> products, ProductSearchRequest request,
+        Sort.Order order) {
+        Comparator<ProductSnapshot> comparator = Comparator.comparing(
+            (ProductSnapshot product) -> sortValue(order.getProperty(), product),
+            Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(ProductSnapshot::getId);
+        return products.values().stream()
+            .filter(product -> matches(product, request))
+            .sorted(order.isAscending() ? comparator : comparator.reversed())
+            .map(ProductSnapshot::getId)
+            .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortValue(String property, ProductSnapshot product) {
+        return (Comparable<Object>) ProductCursor.sortValue(property, product);
+    }
+
+    private boolean matches(ProductSnapshot product, ProductSearchRequest request) {
+        Long price = product.getPrice();
+        if (request.getPriceFrom() != null && (price == null || price < request.getPriceFrom())) {
+            return false;
+        }
+        if (request.getPriceTo() != null && (price == null || price > request.getPriceTo())) {
+            return false;
+        }
+        if (request.getCategoryId() != null && (product.getCategoryId() == null
+            || !tree.subtree(request.getCategoryId()).contains(product.getCategoryId()))) {
+            return false;
+        }
+        if (request.getIsActive() != null && !request.getIsActive().equals(product.getIsActive())) {
+            return false;
+        }
+        return request.getIsEcoFriendly() == null || request.getIsEcoFriendly().equals(product.getIsEcoFriendly());
+    }
+
+    private static ProductSearchRequest randomRequest(Random random) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setPriceFrom(random.nextBoolean() ? null : (long) random.nextInt(60) * 100);
+        request.setPriceTo(random.nextBoolean() ? Long.MAX_VALUE : (long) random.nextInt(60) * 100);
+        request.setCategoryId(random.nextInt(3) == 0 ? (long) random.nextInt(4) : null);
+        request.setIsActive(randomFlag(random));
+        request.setIsEcoFriendly(randomFlag(random));
+        return request;
+    }
+
+    private static ProductSnapshot randomProduct(Random random, long id) {
+        return ProductSnapshot.builder()
+            .id(id)
+            .price(random.nextInt(10) == 0 ? null : (long) random.nextInt(50) * 100)
+            .carbonEmissions(random.nextInt(10) == 0 ? null : random.nextInt(20))
+            .createAt(NOW.plusSeconds(random.nextInt(100)))
+            .categoryId(random.nextInt(10) == 0 ? null : (long) random.nextInt(4))
+            .isActive(randomFlag(random))
+            .isEcoFriendly(randomFlag(random))
+            .build();
+    }
+
+    private static Boolean randomFlag(Random random) {
+        List<Boolean> flags = new ArrayList<>();
+        flags.add(null);
+        flags.add(true);
+        flags.add(false);
+        return flags.get(random.nextInt(flags.size()));
+    }
+
+    private ProductColumnRow row(Long id, String brand, Long price, Long categoryId, boolean isEcoFriendly) {
+        return row(id, brand, price, 100, categoryId, isEcoFriendly);
+    }
+
+    private ProductColumnRow row(Long id, Long price, Integer carbonEmissions, Long categoryId,
+        boolean isEcoFriendly) {
+        return row(id, "P&G", price, carbonEmissions, categoryId, isEcoFriendly);
+    }
+
+    private ProductColumnRow row(Long id, String brand, Long price, Integer carbonEmissions, Long categoryId,
+        boolean isEcoFriendly) {
+        return new ProductColumnRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getBrand() {
+                return brand;
+            }
+
+            @Override
+            public Long getPrice() {
+                return price;
+            }
+
+            @Override
+            public Integer getCarbonEmissions() {
+                return carbonEmissions;
+            }
+
+            @Override
+            public LocalDateTime getCreateAt() {
+                return NOW.plusDays(id);
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return true;
+            }
+
+            @Override
+            public Boolean getIsEcoFriendly() {
+                return isEcoFriendly;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.carbonzero.category.CategoryTree;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.FacetCount;
+import com.carbonzero.dto.PriceFacetCount;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.ProductIndexRow;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("상품 검색 인덱스 테스트")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private final ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+
+    private final CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+
+    private final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        given(productRepository.findAllIndexRows()).willReturn(List.of(
+            row(1L, "헤드앤숄더 시트러스 레몬 샴푸", "P&G", 17500L),
+            row(2L, "케라시스 샴푸", "AK", 3000L),
+            row(3L, "피죤 섬유유연제", "피죤", 8000L)
+        ));
+
+        given(categoryTreeCache.getTree()).willReturn(new CategoryTree(List.of(), new byte[0], Set.of(), Map.of(), Map.of()));
+        index = new ProductSearchIndex(productRepository, productMapper, categoryTreeCache);
+        index.rebuild();
+    }
+
+    @DisplayName("통합 검색어가 상품명에 포함된 상품을 찾는다.")
+    @Test
+    void searchWithKeyword() {
+        IndexSearchResult result = index.search(request("샴푸"), Sort.Order.asc("id"), 0, 20);
+
+        assertThat(result.getProductIds()).containsExactly(1L, 2L);
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @DisplayName("대소문자를 구분하지 않고 브랜드를 검색한다.")
+    @Test
+    void searchWithBrandIgnoringCase() {
+        ProductSearchRequest request = request(null);
+        request.setBrand("p&g");
+
+        IndexSearchResult result = index.search(request, Sort.Order.asc("id"), 0, 20);
+
+        assertThat(result.getProductIds()).containsExactly(1L);
+    }
+
+    @DisplayName("n-gram 보다 짧은 검색어도 원문 비교로 찾는다.")
+    @Test
+    void searchWithSingleCharacter() {
+        IndexSearchResult result = index.search(request("죤"), Sort.Order.asc("id"), 0, 20);
+
+        assertThat(result.getProductIds()).containsExactly(3L);
+    }
+
+    @DisplayName("가격 조건과 정렬, 페이지를 적용한다.")
+    @Test
+    void searchWithPriceAndSort() {
+        ProductSearchRequest request = request(null);
+        request.setPriceFrom(5000L);
+
+        IndexSearchResult result = index.search(request, Sort.Order.desc("price"), 1, 1);
+
+        assertThat(result.getProductIds()).containsExactly(3L);
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @DisplayName("앞쪽 페이지의 상품만 남겨도 페이지와 전체 건수는 정렬한 것과 같다.")
+    @Test
+    void searchWithOffset() {
+        IndexSearchResult middle = index.search(request(null), Sort.Order.asc("price"), 1, 1);
+        IndexSearchResult past = index.search(request(null), Sort.Order.asc("price"), 5, 2);
+
+        assertThat(middle.getProductIds()).containsExactly(3L);
+        assertThat(middle.getTotal()).isEqualTo(3);
+        assertThat(past.getProductIds()).isEmpty();
+        assertThat(past.getTotal()).isEqualTo(3);
+    }
+
+    @DisplayName("커서 다음의 상품부터 정렬 순서대로 반환한다.")
+    @Test
+    void scrollAfterCursor() {
+        Sort.Order order = Sort.Order.desc("price");
+        ProductCursor cursor = ProductCursor.decode(
+            new ProductCursor(order, 17500L, 1L).encode());
+
+        List<ProductSnapshot> products = index.scroll(request(null), cursor, order, 20);
+
+        assertThat(products).extracting(ProductSnapshot::getId).containsExactly(3L, 2L);
+    }
+
+    @DisplayName("일치한 상품이 limit 보다 많으면 정렬 순서대로 앞쪽 limit 개만 반환한다.")
+    @Test
+    void scrollWithLimit() {
+        List<ProductSnapshot> products = index.scroll(request(null), null, Sort.Order.asc("price"), 2);
+
+        assertThat(products).extracting(ProductSnapshot::getId).containsExactly(2L, 3L);
+    }
+
+    @DisplayName("상품이 수정되거나 삭제되면 인덱스에 반영된다.")
+    @Test
+    void applyProductChanges() {
+        index.onProductChanged(ProductChangedEvent.updated(
+            productMapper.toSnapshot(product(2L, "케라시스 린스", "AK", 3000L))));
+        index.onProductChanged(ProductChangedEvent.deleted(
+            productMapper.toSnapshot(product(1L, "헤드앤숄더 시트러스 레몬 샴푸", "P&G", 17500L))));
+
+        assertThat(index.search(request("샴푸"), Sort.Order.asc("id"), 0, 20).getProductIds()).isEmpty();
+        assertThat(index.search(request("린스"), Sort.Order.asc("id"), 0, 20).getProductIds()).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @DisplayName("일치한 상품을 브랜드와 가격대별로 센다.")
+    @Test
+    void searchWithFacets() {
+        ProductSearchRequest request = request(null);
+        request.setPriceTo(10000L);
+        FacetAccumulator facets = new FacetAccumulator(EnumSet.of(Facet.BRAND, Facet.PRICE), new long[] {5000L});
+
+        IndexSearchResult result = index.search(request, Sort.Order.asc("id"), 0, 1, facets);
+
+        assertThat(result.getProductIds()).containsExactly(2L);
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.toFacets(10).getBrand()).extracting(FacetCount::getValue)
+            .containsExactly("AK", "피죤");
+        assertThat(facets.toFacets(10).getPrice()).extracting(PriceFacetCount::getCount)
+            .containsExactly(1L, 1L);
+        assertThat(facets.toFacets(10).getCategory()).isNull();
+    }
+
+    @DisplayName("처음 만들기 전에는 준비되지 않은 상태이다.")
+    @Test
+    void notReadyBeforeRebuild() {
+        ProductSearchIndex empty = new ProductSearchIndex(productRepository, productMapper, categoryTreeCache);
+
+        assertThat(empty.isReady()).isFalse();
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @DisplayName("다시 만드는 동안 커밋된 상품 변경은 새 인덱스에도 반영한다.")
+    @Test
+    void rebuildWithConcurrentChanges() {
+        given(productRepository.findAllIndexRows()).will(invocation -> {
+            // 상품을 읽은 뒤에 커밋된 변경
+            index.onProductChanged(ProductChangedEvent.created(productMapper.toSnapshot(
+                product(4L, "려 샴푸", "아모레퍼시픽", 9000L))));
+            index.onProductChanged(ProductChangedEvent.deleted(productMapper.toSnapshot(
+                product(2L, "케라시스 샴푸", "AK", 3000L))));
+            return List.of(
+                row(1L, "헤드앤숄더 시트러스 레몬 샴푸", "P&G", 17500L),
+                row(2L, "케라시스 샴푸", "AK", 3000L));
+        });
+
+        index.rebuild();
+
+        assertThat(index.search(request("샴푸"), Sort.Order.asc("id"), 0, 20).getProductIds())
+            .containsExactly(1L, 4L);
+    }
+
+    private ProductSearchRequest request(String keyword) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword(keyword);
+        return request;
+    }
+
+    private ProductIndexRow row(Long id, String name, String brand, Long price) {
+        return projections.createProjection(ProductIndexRow.class, Map.of("id", id, "name", name, "brand", brand,
+            "price", price, "isActive", true, "isEcoFriendly", true, "carbonEmissions", 100));
+    }
+
+    private Product product(Long id, String name, String brand, Long price) {
+        return Product.builder()
+            .id(id)
+            .name(name)
+            .brand(brand)
+            .price(price)
+            .isActive(true)
+            .isEcoFriendly(true)
+            .carbonEmissions(100)
+            .build();
+    }
+}
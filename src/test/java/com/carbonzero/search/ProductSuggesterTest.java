@@ -0,0 +1,157 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.carbonzero.dto.ProductSnapshot;
+import com.carbonzero.dto.SuggestionResponseData;
+import com.carbonzero.error.IndexNotReadyException;
+import com.carbonzero.event.ProductChangedEvent;
+import com.carbonzero.repository.ProductNameRow;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("자동 완성 테스트")
+class ProductSuggesterTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        given(productRepository.findAllNameRows()).willReturn(List.of(
+            row(1L, "헤드앤숄더 시트러스 레몬 샴푸", "P&G", true),
+            row(2L, "팬틴 프로브이 샴푸", "P&G", true),
+            row(3L, "피죤 섬유유연제", "피죤", true),
+            row(4L, "피지 클렌저", "피지오겔", false)
+        ));
+
+        suggester = new ProductSuggester(productRepository, 10);
+        suggester.rebuild();
+    }
+
+    @DisplayName("접두사로 시작하는 브랜드와 상품명을 상품이 많은 순서로, 같으면 짧은 순서로 찾는다.")
+    @Test
+    void suggestByPrefix() {
+        assertThat(suggester.suggest("p"))
+            .extracting(SuggestionResponseData::getText, SuggestionResponseData::getType,
+                SuggestionResponseData::getCount)
+            .containsExactly(tuple("P&G", SuggestionType.BRAND, 2));
+        assertThat(suggester.suggest("피"))
+            .extracting(SuggestionResponseData::getText)
+            .containsExactly("피죤", "피죤 섬유유연제");
+    }
+
+    @DisplayName("상품명 중간 단어로 시작하는 검색어로도 찾는다.")
+    @Test
+    void suggestByWord() {
+        assertThat(suggester.suggest("샴"))
+            .extracting(SuggestionResponseData::getText)
+            .containsExactly("팬틴 프로브이 샴푸", "헤드앤숄더 시트러스 레몬 샴푸");
+        assertThat(suggester.suggest("레몬 샴")).extracting(SuggestionResponseData::getText)
+            .containsExactly("헤드앤숄더 시트러스 레몬 샴푸");
+        assertThat(suggester.suggest("샴푸 린스")).isEmpty();
+        assertThat(suggester.suggest(" ")).isEmpty();
+    }
+
+    @DisplayName("요청한 개수만큼만 반환한다.")
+    @Test
+    void suggestWithLimit() {
+        assertThat(suggester.suggest("샴", 1)).extracting(SuggestionResponseData::getText)
+            .containsExactly("팬틴 프로브이 샴푸");
+    }
+
+    @DisplayName("처음 사전을 만들기 전에는 자동 완성을 거절한다.")
+    @Test
+    void suggestBeforeRebuild() {
+        ProductSuggester empty = new ProductSuggester(productRepository, 10);
+
+        assertThat(empty.isReady()).isFalse();
+        assertThat(empty.suggest(" ")).isEmpty();
+        assertThatThrownBy(() -> empty.suggest("피")).isInstanceOf(IndexNotReadyException.class);
+    }
+
+    @DisplayName("다시 만드는 동안 커밋된 상품 변경은 새 사전에도 반영한다.")
+    @Test
+    void rebuildWithConcurrentChanges() {
+        given(productRepository.findAllNameRows()).will(invocation -> {
+            // 상품을 읽은 뒤에 커밋된 변경
+            suggester.onProductChanged(ProductChangedEvent.created(snapshot(5L, "피죤 리치퍼퓸", "피죤", true)));
+            suggester.onProductChanged(ProductChangedEvent.deleted(snapshot(3L, "피죤 섬유유연제", "피죤", true)));
+            return List.of(row(3L, "피죤 섬유유연제", "피죤", true));
+        });
+
+        suggester.rebuild();
+
+        assertThat(suggester.suggest("피"))
+            .extracting(SuggestionResponseData::getText, SuggestionResponseData::getCount)
+            .containsExactly(tuple("피죤", 1), tuple("피죤 리치퍼퓸", 1));
+    }
+
+    @DisplayName("상품 변경이 커밋되면 바뀐 이름과 브랜드만 사전에 반영한다.")
+    @Test
+    void suggestAfterChanged() {
+        suggester.onProductChanged(ProductChangedEvent.created(snapshot(5L, "피죤 리치퍼퓸", "피죤", true)));
+
+        assertThat(suggester.suggest("피"))
+            .extracting(SuggestionResponseData::getText, SuggestionResponseData::getCount)
+            .containsExactly(tuple("피죤", 2), tuple("피죤 리치퍼퓸", 1), tuple("피죤 섬유유연제", 1));
+
+        suggester.onProductChanged(ProductChangedEvent.updated(snapshot(3L, "AK 섬유유연제", "AK", true)));
+        suggester.onProductChanged(ProductChangedEvent.updated(snapshot(5L, "피죤 리치퍼퓸", "피죤", false)));
+
+        assertThat(suggester.suggest("피")).isEmpty();
+        assertThat(suggester.suggest("섬유")).extracting(SuggestionResponseData::getText)
+            .containsExactly("AK 섬유유연제");
+
+        suggester.onProductChanged(ProductChangedEvent.deleted(snapshot(1L, "헤드앤숄더 시트러스 레몬 샴푸", "P&G", true)));
+
+        assertThat(suggester.suggest("p"))
+            .extracting(SuggestionResponseData::getText, SuggestionResponseData::getCount)
+            .containsExactly(tuple("P&G", 1));
+        assertThat(suggester.suggest("레몬")).isEmpty();
+    }
+
+    private ProductNameRow row(Long id, String name, String brand, boolean active) {
+        return new ProductNameRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getBrand() {
+                return brand;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return active;
+            }
+        };
+    }
+
+    private ProductSnapshot snapshot(Long id, String name, String brand, boolean active) {
+        return ProductSnapshot.builder()
+            .id(id)
+            .name(name)
+            .brand(brand)
+            .price(1000L)
+            .isActive(active)
+            .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductRequestData;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+import com.carbonzero.service.ProductSearchService;
+import com.carbonzero.service.ProductServiceImpl;
+
+/**
+ * 상품 변경 이벤트는 커밋된 뒤에 전달되므로, 테스트 트랜잭션 없이 서비스를 호출해 캐시가 비워지는지 확인한다.
+ */
+@DisplayName("검색 건수 캐시 테스트")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class SearchCountCacheTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+            .name("샴푸")
+            .isActive(true)
+            .build());
+        categoryId = category.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("상품을 등록, 수정, 삭제하면 다음 검색에서 건수를 다시 센다.")
+    @Test
+    void countAfterProductChanges() {
+        Product first = productService.createProduct(request("케라시스 샴푸"));
+        assertThat(count("샴푸")).isEqualTo(1);
+
+        Product second = productService.createProduct(request("헤드앤숄더 샴푸"));
+        assertThat(count("샴푸")).isEqualTo(2);
+
+        productService.updateProduct(second.getId(), request("헤드앤숄더 린스"));
+        assertThat(count("샴푸")).isEqualTo(1);
+
+        productService.deleteProduct(first.getId());
+        assertThat(count("샴푸")).isEqualTo(0);
+    }
+
+    @DisplayName("상품이 바뀌지 않았으면 캐시된 건수를 반환한다.")
+    @Test
+    void countWithoutProductChanges() {
+        productService.createProduct(request("피죤 섬유유연제"));
+        assertThat(count("섬유유연제")).isEqualTo(1);
+
+        // 변경 이벤트 없이 저장소에 바로 넣으므로 캐시는 그대로이다.
+        productRepository.save(Product.builder()
+            .name("다우니 섬유유연제")
+            .brand("P&G")
+            .price(10000L)
+            .isActive(true)
+            .build());
+
+        assertThat(count("섬유유연제")).isEqualTo(1);
+    }
+
+    @DisplayName("판매 여부와 친환경 여부가 다른 조건은 따로 센다.")
+    @Test
+    void countWithFlags() {
+        productService.createProduct(request("케라시스 샴푸"));
+        assertThat(count("샴푸")).isEqualTo(1);
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword("샴푸");
+        request.setIsEcoFriendly(false);
+        request.setCountStrategy(CountStrategy.CACHED);
+
+        assertThat(productSearchService.search(request).getTotalElements()).isEqualTo(0);
+    }
+
+    private long count(String keyword) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword(keyword);
+        request.setCountStrategy(CountStrategy.CACHED);
+        // 마지막 페이지가 짧으면 PageImpl 이 건수를 페이지에서 다시 계산하므로, 페이지를 한 건으로 두어 캐시된 건수를 그대로 본다.
+        request.setPageSize(1);
+        return productSearchService.search(request).getTotalElements();
+    }
+
+    private ProductRequestData request(String name) {
+        return ProductRequestData.builder()
+            .name(name)
+            .brand("P&G")
+            .price(10000L)
+            .categoryId(categoryId)
+            .isEcoFriendly(true)
+            .carbonEmissions(100)
+            .build();
+    }
+}
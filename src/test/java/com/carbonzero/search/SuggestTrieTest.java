@@ -0,0 +1,65 @@
+package com.carbonzero.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("자동 완성 트라이 테스트")
+class SuggestTrieTest {
+
+    private static final int TOP_SIZE = 3;
+
+    @DisplayName("키를 더하고 빼면서 간선을 나누고 합쳐도, 접두사마다 모든 키를 훑은 것과 같은 상위 후보를 반환한다.")
+    @Test
+    void completeMatchesScan() {
+        Random random = new Random(42);
+        SuggestTrie trie = new SuggestTrie(TOP_SIZE);
+        Map<String, SuggestTerm> added = new HashMap<>();
+
+        for (int step = 0; step < 2000; step++) {
+            String key = randomKey(random);
+            SuggestTerm term = added.get(key);
+            if (term == null) {
+                term = new SuggestTerm(SuggestionType.NAME, key, key);
+                term.increment();
+                added.put(key, term);
+                trie.add(key, term);
+            } else if (random.nextBoolean()) {
+                term.increment();
+                trie.refresh(key);
+            } else {
+                added.remove(key);
+                trie.remove(key, term);
+            }
+
+            String prefix = randomKey(random).substring(0, 1 + random.nextInt(2));
+            assertThat(trie.complete(prefix)).containsExactlyElementsOf(scan(added, prefix));
+        }
+    }
+
+    private static List<SuggestTerm> scan(Map<String, SuggestTerm> added, String prefix) {
+        return added.values().stream()
+            .filter(term -> term.getKey().startsWith(prefix))
+            .sorted(SuggestTerm.RANK)
+            .limit(TOP_SIZE)
+            .collect(Collectors.toList());
+    }
+
+    private static String randomKey(Random random) {
+        List<Character> letters = new ArrayList<>(List.of('가', '나', '다'));
+        StringBuilder key = new StringBuilder();
+        int length = 2 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            key.append(letters.get(random.nextInt(letters.size())));
+        }
+        return key.toString();
+    }
+}
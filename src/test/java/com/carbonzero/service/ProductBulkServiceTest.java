@@ -0,0 +1,166 @@
+package com.carbonzero.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.BulkProductItemResult;
+import com.carbonzero.dto.BulkProductResponseData;
+import com.carbonzero.dto.ProductRequestData;
+import com.carbonzero.mapper.ProductMapperImpl;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("상품 일괄 등록 서비스 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "carbonzero.bulk.chunk-size=50"
+})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ProductBulkService.class, ProductMapperImpl.class})
+class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder()
+            .name("샴푸")
+            .isActive(true)
+            .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("상품을 묶어서 저장하므로 상품 수보다 훨씬 적은 쿼리로 일괄 등록한다.")
+    @Test
+    void upsertWithManyProducts() {
+        List<ProductRequestData> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(request(null, "샴푸 " + i, category.getId()));
+        }
+
+        BulkProductResponseData response = productBulkService.upsert(requests);
+
+        assertThat(response.getSucceeded()).isEqualTo(100);
+        assertThat(response.getResults())
+            .extracting(BulkProductItemResult::getStatus)
+            .containsOnly(BulkProductItemResult.Status.CREATED);
+        assertThat(productRepository.count()).isEqualTo(100);
+
+        // 상품 하나씩 등록하면 카테고리 조회, 상품 INSERT, 이미지 링크 INSERT 2번으로 400번이 넘는다.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @DisplayName("실패한 상품은 사유와 함께 돌려주고 나머지 상품은 저장한다.")
+    @Test
+    void upsertWithFailedProducts() {
+        Product product = productRepository.save(Product.builder()
+            .name("샴푸")
+            .brand("P&G")
+            .price(1000L)
+            .category(category)
+            .build());
+
+        BulkProductResponseData response = productBulkService.upsert(List.of(
+            request(null, "새 샴푸", category.getId()),
+            request(null, "", category.getId()),
+            request(null, "카테고리 없는 샴푸", 1000L),
+            request(product.getId(), "수정된 샴푸", category.getId()),
+            request(1000L, "없는 샴푸", category.getId())
+        ));
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults())
+            .extracting(BulkProductItemResult::getStatus)
+            .containsExactly(
+                BulkProductItemResult.Status.CREATED,
+                BulkProductItemResult.Status.FAILED,
+                BulkProductItemResult.Status.FAILED,
+                BulkProductItemResult.Status.UPDATED,
+                BulkProductItemResult.Status.FAILED);
+        assertThat(response.getResults().get(1).getMessage()).contains("name");
+        assertThat(productRepository.findById(product.getId()).get().getName()).isEqualTo("수정된 샴푸");
+    }
+
+    @DisplayName("데이터베이스 제약 조건을 어긴 상품은 SQL 을 담지 않은 정해진 사유를 돌려준다.")
+    @Test
+    void upsertWithConstraintViolation() {
+        ProductRequestData tooLong = ProductRequestData.builder()
+            .name("샴푸")
+            .brand("P&G")
+            .price(1000L)
+            .description("가".repeat(256))
+            .categoryId(category.getId())
+            .build();
+
+        BulkProductResponseData response = productBulkService.upsert(List.of(
+            request(null, "새 샴푸", category.getId()),
+            tooLong));
+
+        assertThat(response.getResults())
+            .extracting(BulkProductItemResult::getStatus)
+            .containsExactly(BulkProductItemResult.Status.CREATED, BulkProductItemResult.Status.FAILED);
+        assertThat(response.getResults().get(1).getMessage())
+            .isEqualTo(ProductBulkService.CONSTRAINT_VIOLATION_MESSAGE);
+    }
+
+    private ProductRequestData request(Long id, String name, Long categoryId) {
+        return ProductRequestData.builder()
+            .id(id)
+            .name(name)
+            .brand("P&G")
+            .price(1000L)
+            .categoryId(categoryId)
+            .isEcoFriendly(true)
+            .carbonEmissions(100)
+            .imageLink(List.of("https://image/1", "https://image/2"))
+            .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.carbonzero.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.carbonzero.category.CategoryClosures;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.SearchPage;
+import com.carbonzero.mapper.CategoryMapperImpl;
+import com.carbonzero.mapper.ProductMapperImpl;
+import com.carbonzero.repository.ProductQueryRepository;
+import com.carbonzero.search.Facet;
+import com.carbonzero.search.ParallelCounter;
+import com.carbonzero.search.ProductColumns;
+import com.carbonzero.search.SearchCountCache;
+
+@DisplayName("상품 조회 쿼리 수 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductServiceImpl.class, CategoryService.class, CategoryClosures.class, ProductSearchService.class,
+    SearchCountCache.class, ParallelCounter.class, ProductQueryRepository.class, ProductMapperImpl.class,
+    CategoryMapperImpl.class, ProductColumns.class, CategoryTreeCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProductQueryCountTest {
+
+    private static final int PRODUCT_COUNT = 30;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Autowired
+    private ProductQueryRepository productQueryRepository;
+
+    @Autowired
+    private ProductColumns productColumns;
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    private Long firstProductId;
+
+    private Long firstCategoryId;
+
+    @BeforeEach
+    void setUp() {
+        Category[] categories = new Category[3];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = entityManager.persist(Category.builder()
+                .name("카테고리 " + i)
+                .isActive(true)
+                .build());
+        }
+        firstCategoryId = categories[0].getId();
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = entityManager.persist(Product.builder()
+                .name("샴푸 " + i)
+                .brand("P&G")
+                .price(1000L + i)
+                .isActive(true)
+                .isEcoFriendly(true)
+                .carbonEmissions(100 + i)
+                .category(categories[i % categories.length])
+                .imageLink(List.of("https://image/" + i + "/1", "https://image/" + i + "/2"))
+                .build());
+            if (firstProductId == null) {
+                firstProductId = product.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // 테스트 트랜잭션에서 넣은 상품과 카테고리로 열 스냅샷과 카테고리 트리를 다시 만든다.
+        categoryTreeCache.onApplicationReady();
+        productColumns.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("상품 상세는 엔티티를 불러오지 않고 조회한다.")
+    @Test
+    void getProductDetail() {
+        assertThat(productService.getProductDetail(firstProductId).getImageLink()).hasSize(2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @DisplayName("상품 목록 한 페이지는 페이지 크기와 상관없이 고정된 수의 쿼리로 불러온다.")
+    @Test
+    void getProducts() {
+        productService.getProducts(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createAt")))
+            .forEach(product -> assertThat(product.getImageLink()).hasSize(2));
+
+        // 상품 + 카테고리, 전체 건수, 이미지 링크
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @DisplayName("상품 검색 한 페이지는 페이지 크기와 상관없이 고정된 수의 쿼리로 불러온다.")
+    @Test
+    void search() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword("샴푸");
+        request.setPageSize(20);
+
+        productSearchService.search(request)
+            .forEach(product -> assertThat(product.getImageLink()).hasSize(2));
+
+        // 상품 + 카테고리, 이미지 링크, 전체 건수
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @DisplayName("열 스냅샷으로 찾는 검색은 패싯을 요청해도 페이지의 상품만 불러온다.")
+    @Test
+    void searchColumnsWithFacets() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setFacets(EnumSet.allOf(Facet.class));
+
+        SearchPage<ProductResponseData> page = (SearchPage<ProductResponseData>) productSearchService.search(request);
+
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCT_COUNT);
+        assertThat(page.getFacets().getCategory()).hasSize(3);
+        // 상품 + 카테고리, 이미지 링크
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("데이터베이스 검색은 패싯을 모두 요청해도 집계 쿼리를 한 번만 더 실행한다.")
+    @Test
+    void searchWithFacets() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword("샴푸");
+        request.setFacets(EnumSet.allOf(Facet.class));
+
+        SearchPage<ProductResponseData> page = (SearchPage<ProductResponseData>) productSearchService.search(request);
+
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCT_COUNT);
+        assertThat(page.getFacets().getBrand()).hasSize(1);
+        // 상품 + 카테고리, 이미지 링크, 패싯 집계
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @DisplayName("추천 상품 후보는 고정된 수의 쿼리로 불러온다.")
+    @Test
+    void findGreenest() {
+        productQueryRepository.findGreenest(firstCategoryId, 6)
+            .forEach(product -> assertThat(product.getImageLink()).hasSize(2));
+
+        // 추천 상품 + 카테고리, 이미지 링크
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,289 @@
+package com.carbonzero.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carbonzero.category.CategoryClosures;
+import com.carbonzero.category.CategoryTreeCache;
+import com.carbonzero.domain.Category;
+import com.carbonzero.domain.Product;
+import com.carbonzero.dto.CursorPage;
+import com.carbonzero.dto.FacetCount;
+import com.carbonzero.dto.PriceFacetCount;
+import com.carbonzero.dto.ProductResponseData;
+import com.carbonzero.dto.ProductSearchRequest;
+import com.carbonzero.dto.SearchFacets;
+import com.carbonzero.dto.SearchPage;
+import com.carbonzero.mapper.ProductMapper;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductQueryRepository;
+import com.carbonzero.repository.ProductRepository;
+import com.carbonzero.search.CountStrategy;
+import com.carbonzero.search.Facet;
+import com.carbonzero.search.ParallelCounter;
+import com.carbonzero.search.ProductSearchIndex;
+import com.carbonzero.search.SearchCountCache;
+
+@DisplayName("상품 검색 서비스 테스트")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ProductSearchService.class, SearchCountCache.class, ParallelCounter.class, ProductQueryRepository.class,
+    CategoryClosures.class})
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryClosures categoryClosures;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+            .name("샴푸")
+            .isActive(true)
+            .build());
+        categoryClosures.add(category.getId(), null);
+
+        long[] prices = {3000L, 1000L, 2000L, 1000L, 3000L, 1000L, 2000L};
+        for (int i = 0; i < prices.length; i++) {
+            productRepository.save(Product.builder()
+                .name("샴푸 " + i)
+                .brand("P&G")
+                .price(prices[i])
+                .category(category)
+                .isActive(true)
+                .isEcoFriendly(true)
+                .carbonEmissions(100)
+                .build());
+        }
+    }
+
+    @DisplayName("커서를 따라가면 모든 상품을 정렬 순서대로 한 번씩 조회한다.")
+    @Test
+    void scrollThroughAllPages() {
+        List<ProductResponseData> scrolled = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setSearchKeyword("샴푸");
+            request.setSort("price,asc");
+            request.setPageSize(3);
+            request.setCursor(cursor);
+
+            CursorPage<ProductResponseData> page = productSearchService.scroll(request);
+            scrolled.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = productRepository.findAll().stream()
+            .sorted((left, right) -> left.getPrice().equals(right.getPrice())
+                ? left.getId().compareTo(right.getId())
+                : left.getPrice().compareTo(right.getPrice()))
+            .map(Product::getId)
+            .collect(Collectors.toList());
+
+        assertThat(scrolled).extracting(ProductResponseData::getId).containsExactlyElementsOf(expected);
+    }
+
+    @DisplayName("인덱스에 반영되기 전에 삭제된 상품이 있어도 다음 페이지를 건너뛰지 않는다.")
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollIndexWithDeletedProduct() {
+        ProductSearchIndex index = new ProductSearchIndex(productRepository,
+            Mappers.getMapper(ProductMapper.class), mock(CategoryTreeCache.class));
+        index.rebuild();
+        ObjectProvider<ProductSearchIndex> provider = mock(ObjectProvider.class);
+        given(provider.getIfAvailable()).willReturn(index);
+
+        List<Long> expected = productRepository.findAll().stream()
+            .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+            .map(Product::getId)
+            .collect(Collectors.toList());
+        // 변경 이벤트 없이 지우므로 인덱스에는 남아 있다.
+        productRepository.deleteById(expected.remove(0));
+
+        List<ProductResponseData> scrolled = new ArrayList<>();
+        Object original = ReflectionTestUtils.getField(productSearchService, "productSearchIndex");
+        ReflectionTestUtils.setField(productSearchService, "productSearchIndex", provider);
+        try {
+            String cursor = null;
+            do {
+                ProductSearchRequest request = new ProductSearchRequest();
+                request.setSort("price,asc");
+                request.setPageSize(3);
+                request.setCursor(cursor);
+
+                CursorPage<ProductResponseData> page = productSearchService.scroll(request);
+                scrolled.addAll(page.getContent());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        } finally {
+            ReflectionTestUtils.setField(productSearchService, "productSearchIndex", original);
+        }
+
+        assertThat(scrolled).extracting(ProductResponseData::getId).containsExactlyElementsOf(expected);
+    }
+
+    @DisplayName("페이지 번호만큼 건너뛰어 검색 결과를 반환한다.")
+    @Test
+    void searchWithPageNumber() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setPageSize(5);
+        request.setPageNumber(1);
+
+        assertThat(productSearchService.search(request).getContent()).hasSize(2);
+        assertThat(productSearchService.search(request).getTotalElements()).isEqualTo(7);
+    }
+
+    @DisplayName("건수 상한을 넘으면 상한까지만 세고 totalCapped 를 표시한다.")
+    @Test
+    void searchWithCappedCount() {
+        ReflectionTestUtils.setField(productSearchService, "countCap", 5);
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setPageSize(2);
+        request.setCountStrategy(CountStrategy.CAPPED);
+
+        SearchPage<ProductResponseData> page = (SearchPage<ProductResponseData>) productSearchService.search(request);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.isTotalCapped()).isTrue();
+    }
+
+    @DisplayName("마지막 페이지이면 count 쿼리 없이 전체 건수를 계산한다.")
+    @Test
+    void searchWithShortPage() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setPageSize(4);
+        request.setPageNumber(1);
+        request.setCountStrategy(CountStrategy.SKIP_WHEN_SHORT);
+
+        assertThat(productSearchService.search(request).getTotalElements()).isEqualTo(7);
+    }
+
+    @DisplayName("요청한 패싯별 상품 수와 전체 건수를 함께 반환한다.")
+    @Test
+    void searchWithFacets() {
+        productRepository.save(Product.builder()
+            .name("샴푸 바")
+            .brand("동구밭")
+            .price(9000L)
+            .isActive(true)
+            .isEcoFriendly(false)
+            .carbonEmissions(50)
+            .build());
+        ReflectionTestUtils.setField(productSearchService, "priceBuckets", new long[] {1500L, 2500L});
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSearchKeyword("샴푸");
+        request.setPageSize(2);
+        request.setFacets(EnumSet.allOf(Facet.class));
+
+        SearchPage<ProductResponseData> page = (SearchPage<ProductResponseData>) productSearchService.search(request);
+        SearchFacets facets = page.getFacets();
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(8);
+        assertThat(facets.getCategory()).extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("샴푸", 7L));
+        assertThat(facets.getBrand()).extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("P&G", 7L), tuple("동구밭", 1L));
+        assertThat(facets.getPrice()).extracting(PriceFacetCount::getFrom, PriceFacetCount::getTo,
+            PriceFacetCount::getCount)
+            .containsExactly(tuple(null, 1500L, 3L), tuple(1500L, 2500L, 2L), tuple(2500L, null, 3L));
+        assertThat(facets.getEcoFriendly()).extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("true", 7L), tuple("false", 1L));
+    }
+
+    @DisplayName("패싯을 요청하지 않으면 패싯을 세지 않는다.")
+    @Test
+    void searchWithoutFacets() {
+        SearchPage<ProductResponseData> page =
+            (SearchPage<ProductResponseData>) productSearchService.search(new ProductSearchRequest());
+
+        assertThat(page.getFacets()).isNull();
+    }
+
+    @DisplayName("가격 범위, 카테고리, 친환경 여부로 거른다.")
+    @Test
+    void searchWithFilters() {
+        Long categoryId = productRepository.findAll().get(0).getCategory().getId();
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSort("price,asc");
+        request.setPriceFrom(1000L);
+        request.setPriceTo(2000L);
+        request.setCategoryId(categoryId);
+        request.setIsEcoFriendly(true);
+
+        Page<ProductResponseData> page = productSearchService.search(request);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(ProductResponseData::getPrice)
+            .containsExactly(1000L, 1000L, 1000L, 2000L, 2000L);
+
+        request.setIsEcoFriendly(false);
+        assertThat(productSearchService.search(request).getTotalElements()).isZero();
+
+        request.setIsEcoFriendly(null);
+        request.setCategoryId(categoryId + 1);
+        assertThat(productSearchService.search(request).getTotalElements()).isZero();
+    }
+
+    @DisplayName("카테고리로 거르면 하위 카테고리의 상품도 포함한다.")
+    @Test
+    void searchWithSubcategories() {
+        Category parent = productRepository.findAll().get(0).getCategory();
+        Category child = categoryRepository.save(Category.builder()
+            .name("두피 샴푸")
+            .parentCategory(parent)
+            .isActive(true)
+            .build());
+        categoryClosures.add(child.getId(), parent.getId());
+        Category grandchild = categoryRepository.save(Category.builder()
+            .name("지성 두피 샴푸")
+            .parentCategory(child)
+            .isActive(true)
+            .build());
+        categoryClosures.add(grandchild.getId(), child.getId());
+        productRepository.save(Product.builder()
+            .name("두피 샴푸")
+            .brand("AK")
+            .price(5000L)
+            .category(grandchild)
+            .isActive(true)
+            .build());
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategoryId(parent.getId());
+        assertThat(productSearchService.search(request).getTotalElements()).isEqualTo(8);
+
+        request.setCategoryId(child.getId());
+        assertThat(productSearchService.search(request).getContent())
+            .extracting(ProductResponseData::getName)
+            .containsExactly("두피 샴푸");
+    }
+}
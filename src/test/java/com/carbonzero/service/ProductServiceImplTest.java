@@ -13,15 +13,19 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.carbonzero.category.CategoryClosures;
 import com.carbonzero.domain.Category;
 import com.carbonzero.domain.Product;
 import com.carbonzero.dto.ProductRequestData;
 import com.carbonzero.error.ProductNotFoundException;
+import com.carbonzero.mapper.CategoryMapper;
+import com.carbonzero.mapper.ProductMapper;
 import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductQueryRepository;
 import com.carbonzero.repository.ProductRepository;
-import com.github.dozermapper.core.DozerBeanMapperBuilder;
-import com.github.dozermapper.core.Mapper;
 
 @DisplayName("상품 서비스 테스트")
 class ProductServiceImplTest {
@@ -29,14 +33,16 @@ class ProductServiceImplTest {
     private ProductServiceImpl productService;
 
     private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductQueryRepository productQueryRepository = mock(ProductQueryRepository.class);
     private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
     private final CategoryService categoryService = mock(CategoryService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
 
     @BeforeEach
     void setUp() {
-        Mapper mapper = DozerBeanMapperBuilder.buildDefault();
-
-        productService = new ProductServiceImpl(mapper, productRepository, categoryRepository, categoryService);
+        productService = new ProductServiceImpl(Mappers.getMapper(ProductMapper.class),
+            Mappers.getMapper(CategoryMapper.class), productRepository, productQueryRepository, categoryRepository,
+            categoryService, mock(CategoryClosures.class), eventPublisher);
 
         Category category = Category.builder()
             .id(1L)
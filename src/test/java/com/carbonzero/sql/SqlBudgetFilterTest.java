@@ -0,0 +1,140 @@
+package com.carbonzero.sql;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.carbonzero.error.SqlBudgetExceededException;
+import com.carbonzero.repository.CategoryRepository;
+import com.carbonzero.repository.ProductRepository;
+
+@DisplayName("SQL 문 예산 테스트")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class SqlBudgetFilterTest {
+
+    private static final int PRODUCT_COUNT = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("상품 핸들러는 선언한 SQL 문 예산 안에서 요청을 처리한다.")
+    @Test
+    void productHandlersWithinBudget() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/products/category")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"카테고리 " + i + "\"}"))
+                .andExpect(status().isOk());
+        }
+        List<Long> categoryIds = List.of(
+            categoryRepository.findAll().get(0).getId(),
+            categoryRepository.findAll().get(1).getId(),
+            categoryRepository.findAll().get(2).getId());
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            mockMvc.perform(post("/products")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"샴푸 " + i + "\",\"brand\":\"P&G\",\"price\":" + (1000 + i)
+                        + ",\"category_id\":" + categoryIds.get(i % categoryIds.size())
+                        + ",\"image_link\":[\"https://image/" + i + "/1\",\"https://image/" + i + "/2\"]"
+                        + ",\"is_eco_friendly\":true,\"carbon_emissions\":" + (100 + i) + "}"))
+                .andExpect(status().isCreated());
+        }
+        Long productId = productRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/products"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/products/scroll"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/products/" + productId))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/products/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"search_keyword\":\"샴푸\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/products/search/scroll")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"search_keyword\":\"샴푸\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/products/recommend/" + productId))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/products/categories"))
+            .andExpect(status().isOk());
+        mockMvc.perform(patch("/products/" + productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"샴푸\",\"brand\":\"P&G\",\"price\":2000"
+                    + ",\"category_id\":" + categoryIds.get(1)
+                    + ",\"image_link\":[\"https://image/new\"]}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/products/" + productId))
+            .andExpect(status().isNoContent());
+    }
+
+    @DisplayName("예산을 넘으면 실행한 SQL 문과 함께 예외를 던진다.")
+    @Test
+    void handlerOverBudget() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/sql-budget-test")))
+            .isInstanceOf(SqlBudgetExceededException.class)
+            .hasMessageContaining("executed 2 SQL statements, budget: 1")
+            .hasMessageContaining("from product")
+            .hasMessageContaining("from category");
+    }
+
+    @TestConfiguration
+    @Import(OverBudgetController.class)
+    static class OverBudgetConfig {
+    }
+
+    @RestController
+    static class OverBudgetController {
+
+        private final ProductRepository productRepository;
+        private final CategoryRepository categoryRepository;
+
+        OverBudgetController(ProductRepository productRepository, CategoryRepository categoryRepository) {
+            this.productRepository = productRepository;
+            this.categoryRepository = categoryRepository;
+        }
+
+        @SqlBudget(1)
+        @GetMapping("/sql-budget-test")
+        public int overBudget() {
+            return productRepository.findAll().size() + categoryRepository.findAll().size();
+        }
+    }
+}
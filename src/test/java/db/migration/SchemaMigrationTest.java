@@ -0,0 +1,98 @@
+package db.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Flyway 를 도입하기 전에 Hibernate 가 만든 스키마와 데이터가 있는 데이터베이스를 마이그레이션한다.
+ * 설정은 application.yaml 의 spring.flyway 와 같다.
+ */
+@DisplayName("스키마 마이그레이션 테스트")
+class SchemaMigrationTest {
+
+    // 기준 커밋의 엔티티(IDENTITY 아이디, 상품의 카테고리는 @OneToOne)로 ddl-auto 가 만든 스키마
+    private static final String[] LEGACY_SCHEMA = {
+        "create table category (id bigint not null auto_increment, create_at datetime(6), update_at datetime(6), "
+            + "is_active bit, name varchar(255) not null, parent_id bigint, primary key (id))",
+        "create table product (id bigint not null auto_increment, create_at datetime(6), update_at datetime(6), "
+            + "brand varchar(255) not null, carbon_emissions integer, description varchar(255), is_active bit, "
+            + "is_eco_friendly bit, name varchar(255) not null, price bigint not null, category_id bigint, "
+            + "primary key (id))",
+        "create table product_image_link (product_id bigint not null, image_link varchar(1000))",
+        "alter table product add constraint UK_kbi4b8rvg2x2aoh6q8hycsx1m unique (category_id)",
+        "alter table category add constraint FK_category_parent foreign key (parent_id) references category (id)",
+        "alter table product add constraint FK_product_category foreign key (category_id) references category (id)",
+        "alter table product_image_link add constraint FK_product_image_link_product "
+            + "foreign key (product_id) references product (id)",
+    };
+
+    private JdbcTemplate jdbcTemplate;
+    private Flyway flyway;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:legacy_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway = Flyway.configure()
+            .dataSource(dataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load();
+    }
+
+    @DisplayName("기존 데이터베이스는 V1 을 건너뛰고, 기존 최대 아이디 다음부터 쓰는 상품 아이디 시퀀스를 만든다.")
+    @Test
+    void createProductSequenceAfterExistingIds() {
+        createLegacySchema();
+        jdbcTemplate.update("insert into category (id, name, is_active) values (1, '샴푸', true)");
+        for (long id = 1; id <= 137; id++) {
+            jdbcTemplate.update("insert into product (id, name, brand, price, category_id) values (?, ?, 'P&G', 1000, ?)",
+                id, "상품 " + id, id == 1 ? 1L : null);
+        }
+
+        flyway.migrate();
+
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("5");
+        long value = jdbcTemplate.queryForObject("select next value for product_seq", Long.class);
+        // Hibernate 는 시퀀스 값 v 를 받으면 v - 49 부터 v 까지 쓴다.
+        assertThat(value - 49).isGreaterThan(137);
+        assertThat(jdbcTemplate.queryForObject("select next value for product_seq", Long.class))
+            .isEqualTo(value + 50);
+    }
+
+    @DisplayName("기존 데이터베이스의 카테고리 아이디 유일 제약 조건을 지워 한 카테고리에 상품을 여러 개 둘 수 있다.")
+    @Test
+    void dropCategoryUnique() {
+        createLegacySchema();
+        jdbcTemplate.update("insert into category (id, name, is_active) values (1, '샴푸', true)");
+        jdbcTemplate.update("insert into product (id, name, brand, price, category_id) values (1, '샴푸', 'P&G', 1000, 1)");
+
+        flyway.migrate();
+
+        jdbcTemplate.update("insert into product (id, name, brand, price, category_id) values (2, '린스', 'P&G', 1000, 1)");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from product where category_id = 1", Integer.class))
+            .isEqualTo(2);
+    }
+
+    @DisplayName("빈 데이터베이스는 V1 부터 적용하고 상품 아이디 시퀀스는 1 부터 시작한다.")
+    @Test
+    void migrateEmptyDatabase() {
+        flyway.migrate();
+
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("5");
+        assertThat(jdbcTemplate.queryForObject("select next value for product_seq", Long.class)).isEqualTo(1);
+    }
+
+    private void createLegacySchema() {
+        for (String statement : LEGACY_SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+}